@@ -11,18 +11,16 @@ package org.openhab.tools.analysis.checkstyle;
 import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.commons.io.IOUtils;
-import org.eclipse.pde.core.build.IBuild;
-import org.eclipse.pde.core.build.IBuildEntry;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.BinIncludes;
+import org.openhab.tools.analysis.checkstyle.api.RemoteResourceCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,9 +43,18 @@ public class AboutHtmlCheck extends AbstractStaticCheck {
     private static final String PARAGRAPH_TAG = "p";
     private static final String HEADER_3_TAG = "h3";
 
+    private static final String DEFAULT_ABOUT_HTML_FILE_URL = "https://raw.githubusercontent.com/openhab/openhab2-addons/master/src/etc/about.html";
+    private static final String BUNDLED_ABOUT_HTML_FILE = "/reference/about.html";
+
+    /**
+     * The normalized license paragraph of the valid about.html files by URL. It is computed once per build, unless the
+     * valid about.html file is not available.
+     */
+    private static final Map<String, String> LICENSE_PARAGRAPHS = new ConcurrentHashMap<>();
+
     private final Logger logger = LoggerFactory.getLogger(AboutHtmlCheck.class);
 
-    private String validAboutHtmlFileContent;
+    private String validLicenseParagraph;
 
     private String validAboutHtmlFileURL;
 
@@ -62,37 +69,50 @@ public class AboutHtmlCheck extends AbstractStaticCheck {
 
     @Override
     public void beginProcessing(String charset) {
-        InputStream validAboutHtmlInputStream = null;
-        try {
-            URL url = new URL(validAboutHtmlFileURL);
-            validAboutHtmlInputStream = url.openStream();
-            // get the content of a valid about.html file,
-            // so that we can compare the processed about.html
-            // files with it
-            validAboutHtmlFileContent = IOUtils.toString(validAboutHtmlInputStream);
-        } catch (IOException e) {
-            logger.error("An exception was thrown, while trying to read the about.html url: {}. {} {}",
-                    validAboutHtmlFileURL, SUSPEND_CHECKS_MSG, e.getMessage());
-        } finally {
-            IOUtils.closeQuietly(validAboutHtmlInputStream);
+        if (validAboutHtmlFileURL == null) {
+            logger.error("The url of a valid about.html file is not configured. {}", SUSPEND_CHECKS_MSG);
+            return;
+        }
+        // get the license paragraph of a valid about.html file,
+        // so that we can compare the processed about.html
+        // files with it
+        validLicenseParagraph = LICENSE_PARAGRAPHS.computeIfAbsent(validAboutHtmlFileURL, this::readLicenseParagraph);
+    }
+
+    private String readLicenseParagraph(String url) {
+        String bundledFile = DEFAULT_ABOUT_HTML_FILE_URL.equals(url) ? BUNDLED_ABOUT_HTML_FILE : null;
+        String validAboutHtmlFileContent = RemoteResourceCache.getContent(getClass().getSimpleName(), url,
+                bundledFile, getFetchTimeout());
+        if (validAboutHtmlFileContent == null) {
+            logger.error("Unable to read the about.html url: {}. {}", url, SUSPEND_CHECKS_MSG);
+            return null;
+        }
+
+        Elements validAboutHtmlFileParagraphTags = Jsoup.parse(validAboutHtmlFileContent)
+                .getElementsByTag(PARAGRAPH_TAG);
+        // the paragraph with index 1 in the valid about.html file
+        // is the license paragraph
+        if (validAboutHtmlFileParagraphTags.size() < 2) {
+            logger.error("The about.html file {} does not contain a license paragraph. {}", url, SUSPEND_CHECKS_MSG);
+            return null;
         }
+        return removeWhitespace(validAboutHtmlFileParagraphTags.get(1).html());
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         String fileName = file.getName();
 
         if (BUILD_PROPERTIES_FILE_NAME.equals(fileName)) {
             // The check will not log an error if build properties file is missing at all
             // We have other check for this case - RequiredFilesCheck
-            boolean isAboutHtmlIncluded = checkBuildPropertiesFile(file, BIN_INCLUDES_PROPERTY_NAME,
-                    ABOUT_HTML_FILE_NAME);
+            boolean isAboutHtmlIncluded = checkBuildPropertiesFile(fileText, ABOUT_HTML_FILE_NAME);
             if (!isAboutHtmlIncluded) {
                 log(0, MISSING_ABOUT_HTML_IN_BUILD_PROPERTIES_MSG, file.getPath());
             }
-        } else if (validAboutHtmlFileContent != null && ABOUT_HTML_FILE_NAME.equals(fileName)) {
-            if (!isEmpty(file)) {
-                Document fileDocument = parseHTMLDocumentFromFile(file);
+        } else if (validLicenseParagraph != null && ABOUT_HTML_FILE_NAME.equals(fileName)) {
+            if (!isEmpty(fileText)) {
+                Document fileDocument = parseHTMLDocumentFromFile(fileText);
                 checkLicenseHeader(fileDocument);
                 checkLicenseParagraph(fileDocument);
             } else {
@@ -101,13 +121,10 @@ public class AboutHtmlCheck extends AbstractStaticCheck {
         }
     }
 
-    private boolean checkBuildPropertiesFile(File file, String property, String value) throws CheckstyleException {
-        if (!isEmpty(file)) {
+    private boolean checkBuildPropertiesFile(FileText fileText, String relativePath) throws CheckstyleException {
+        if (!isEmpty(fileText)) {
             try {
-                IBuild buildPropertiesFile = parseBuildProperties(file);
-                IBuildEntry binIncludes = buildPropertiesFile.getEntry(property);
-
-                return binIncludes != null && binIncludes.contains(value);
+                return BinIncludes.compile(parseBuildProperties(fileText)).isIncluded(relativePath);
 
             } catch (CheckstyleException e) {
                 logger.error("Error occured while processing {} file", BUILD_PROPERTIES_FILE_NAME, e);
@@ -125,28 +142,80 @@ public class AboutHtmlCheck extends AbstractStaticCheck {
     }
 
     private void checkLicenseParagraph(Document processedAboutHtmlFileDocument) {
-        Document validAboutHtmlFileDocument = Jsoup.parse(validAboutHtmlFileContent);
-
-        Elements validAboutHtmlFileParagraphTags = validAboutHtmlFileDocument.getElementsByTag(PARAGRAPH_TAG);
-        // the paragraph with index 1 in the valid about.html file
-        // is the license paragraph
-        Element validAboutHtmlFileLicenseParagraph = validAboutHtmlFileParagraphTags.get(1);
-        String validAboutHtmlFileLicenseParagraphContent = validAboutHtmlFileLicenseParagraph.html();
         Elements processedFileParagraphTags = processedAboutHtmlFileDocument.getElementsByTag(PARAGRAPH_TAG);
 
-        if (!isElementProvided(processedFileParagraphTags, validAboutHtmlFileLicenseParagraphContent)) {
+        if (!isElementProvided(processedFileParagraphTags, validLicenseParagraph)) {
             log(0, "Invalid or missing license paragraph in the about.html file. " + VALID_ABOUT_HTML_FILE_LINK_MSG
                     + validAboutHtmlFileURL);
         }
     }
 
-    private boolean isElementProvided(Elements elements, String searchedElement) {
+    /**
+     * Checks if the content of one of the elements is equal to the searched content, ignoring whitespace. The hash code
+     * of the content without whitespace is computed without copying it and compared first, so the content of most
+     * elements is not compared at all.
+     *
+     * @param elements - the elements to search in
+     * @param searchedContent - the searched content without whitespace
+     */
+    private boolean isElementProvided(Elements elements, String searchedContent) {
+        int searchedHash = searchedContent.hashCode();
         for (Element element : elements) {
             String elementContent = element.html();
-            if (elementContent.replaceAll("\\s", "").equals(searchedElement.replaceAll("\\s", ""))) {
+            if (hashCodeWithoutWhitespace(elementContent) == searchedHash
+                    && equalsWithoutWhitespace(elementContent, searchedContent)) {
                 return true;
             }
         }
         return false;
     }
+
+    /**
+     * Computes the {@link String#hashCode()} of the content without the whitespace characters
+     */
+    private static int hashCodeWithoutWhitespace(String content) {
+        int hash = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!isWhitespace(c)) {
+                hash = 31 * hash + c;
+            }
+        }
+        return hash;
+    }
+
+    private static boolean equalsWithoutWhitespace(String content, String searchedContent) {
+        int searchedIndex = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!isWhitespace(c)) {
+                if (searchedIndex == searchedContent.length() || searchedContent.charAt(searchedIndex) != c) {
+                    return false;
+                }
+                searchedIndex++;
+            }
+        }
+        return searchedIndex == searchedContent.length();
+    }
+
+    /**
+     * Removes the whitespace characters
+     */
+    private static String removeWhitespace(String content) {
+        StringBuilder result = new StringBuilder(content.length());
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!isWhitespace(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Checks if a character is matched by the \s regular expression
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 }
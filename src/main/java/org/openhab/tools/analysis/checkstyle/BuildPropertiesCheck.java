@@ -19,9 +19,9 @@ import java.util.ListIterator;
 import java.util.function.BiPredicate;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.eclipse.pde.core.build.IBuild;
-import org.eclipse.pde.core.build.IBuildEntry;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.BuildProperties;
+import org.openhab.tools.analysis.checkstyle.api.BundleIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -97,27 +97,25 @@ public class BuildPropertiesCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         String fileName = file.getName();
         if (fileName.equals(BUILD_PROPERTIES_FILE_NAME)) {
-            if (!isEmpty(file)) {
-                processBuildProperties(file, fileText.toLinesArray());
+            if (!isEmpty(fileText)) {
+                processBuildProperties(file, fileText);
             } else {
                 log(0, EMPTY_FILE_MSG);
             }
         }
     }
 
-    private void processBuildProperties(File file, String[] lines) throws CheckstyleException {
-        // We ignore the exceptions thrown by the parseBuildProperties() method. A corrupt build.properties file will
-        // fail the Maven build in the compile phase, so we should not care about this case in the validate phase
-        IBuild buildPropertiesFile = parseBuildProperties(file);
+    private void processBuildProperties(File file, FileText fileText) throws CheckstyleException {
+        BuildProperties buildPropertiesFile = parseBuildProperties(fileText);
 
-        IBuildEntry binIncludesValue = buildPropertiesFile.getEntry(BIN_INCLUDES_PROPERTY_NAME);
+        BuildProperties.Entry binIncludesValue = buildPropertiesFile.getEntry(BIN_INCLUDES_PROPERTY_NAME);
         if (binIncludesValue != null) {
             List<String> missingValues = findMissingValues(binIncludesValue, expectedBinIncludesValues, true,
                     (a, b) -> a.containsAll(b));
-            logMissingValues(lines, BIN_INCLUDES_PROPERTY_NAME, missingValues, MISSING_BIN_INCLUDES_VALUE_MSG);
+            logMissingValues(binIncludesValue, missingValues, MISSING_BIN_INCLUDES_VALUE_MSG);
         } else {
             // bin.includes property is the single required property
             log(0, MISSING_BIN_INCLUDES_PROPERTY_MSG);
@@ -125,7 +123,7 @@ public class BuildPropertiesCheck extends AbstractStaticCheck {
 
         // some bundles don't contain any source code (only include some library),
         // so the source and output properties are not required
-        IBuildEntry outputPropertyValue = buildPropertiesFile.getEntry(OUTPUT_PROPERTY_NAME);
+        BuildProperties.Entry outputPropertyValue = buildPropertiesFile.getEntry(OUTPUT_PROPERTY_NAME);
         if (outputPropertyValue != null) {
             List<String> possibleMissingValues = findMissingValues(outputPropertyValue, possibleOutputValues, false,
                     (a, b) -> CollectionUtils.containsAny(a, b));
@@ -134,19 +132,19 @@ public class BuildPropertiesCheck extends AbstractStaticCheck {
             if (!possibleMissingValues.isEmpty()) {
                 List<String> valuesToLog = new ArrayList<String>();
                 valuesToLog.add("Any of " + possibleOutputValues.toString());
-                logMissingValues(lines, OUTPUT_PROPERTY_NAME, valuesToLog, MISSING_OUTPUT_VALUE_MSG);
+                logMissingValues(outputPropertyValue, valuesToLog, MISSING_OUTPUT_VALUE_MSG);
             }
 
         }
 
-        IBuildEntry sourcePropertyValue = buildPropertiesFile.getEntry(SOURCE_PROPERTY_NAME);
+        BuildProperties.Entry sourcePropertyValue = buildPropertiesFile.getEntry(SOURCE_PROPERTY_NAME);
         if (sourcePropertyValue != null) {
             // the build properties file is located directly in the base directory of the bundle
             File bundleBaseDir = file.getParentFile();
             removeNonExistingSourceDirs(bundleBaseDir);
             List<String> missingValues = findMissingValues(sourcePropertyValue, possibleSourceValues, false,
                     (a, b) -> a.containsAll(b));
-            logMissingValues(lines, SOURCE_PROPERTY_NAME, missingValues, MISSING_SRC_VALUE_MSG);
+            logMissingValues(sourcePropertyValue, missingValues, MISSING_SRC_VALUE_MSG);
         }
     }
 
@@ -157,7 +155,7 @@ public class BuildPropertiesCheck extends AbstractStaticCheck {
      * @param expectedPropertyValues - expected values
      * @param strictSyntax - if set to true, the values should end with "/", otherwise they could end with
      */
-    private List<String> findMissingValues(IBuildEntry propertyValue, List<String> expectedPropertyValues,
+    private List<String> findMissingValues(BuildProperties.Entry propertyValue, List<String> expectedPropertyValues,
             boolean strictSyntax, BiPredicate<List<String>, List<String>> condition) {
         List<String> values = Arrays.asList(propertyValue.getTokens());
 
@@ -179,9 +177,9 @@ public class BuildPropertiesCheck extends AbstractStaticCheck {
      * @param missingValueMessage - message to be used, when a value is missing
      *
      */
-    private void logMissingValues(String[] lines, String property, List<String> missingValues, String messsage) {
+    private void logMissingValues(BuildProperties.Entry property, List<String> missingValues, String messsage) {
         for (String missingValue : missingValues) {
-            log(findLineNumber(lines, property, 0), messsage + missingValue);
+            log(property.getLine(), messsage + missingValue);
 
         }
     }
@@ -197,10 +195,10 @@ public class BuildPropertiesCheck extends AbstractStaticCheck {
     }
 
     private void removeNonExistingSourceDirs(File bundleBaseDir) {
+        BundleIndex bundleIndex = BundleIndex.get(bundleBaseDir);
         for (Iterator<String> iterator = possibleSourceValues.iterator(); iterator.hasNext();) {
             String relativePath = iterator.next();
-            File file = new File(bundleBaseDir, relativePath);
-            if (!file.exists()) {
+            if (!bundleIndex.exists(relativePath)) {
                 iterator.remove();
             }
         }
@@ -10,15 +10,13 @@ package org.openhab.tools.analysis.checkstyle;
 import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import org.eclipse.pde.core.build.IBuildEntry;
 import org.openhab.tools.analysis.checkstyle.api.AbstractExternalLibrariesCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.openhab.tools.analysis.checkstyle.api.BuildProperties;
+import org.openhab.tools.analysis.checkstyle.api.BundleIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -32,42 +30,30 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  *
  */
 public class BuildPropertiesExternalLibrariesCheck extends AbstractExternalLibrariesCheck {
-    private static final String BIN_INCLUDES = "bin.includes";
     private static final String FILES_NEED_TO_BE_IN_A_LIB_FOLDER = "All jar files need to be placed inside a lib folder.";
     private static final String JAR_PRESENT_IN_BUILD_PROPERTIES_NOT_IN_LIB = "The file %s is present in the build properties but not in the lib folder.";
     private static final String JAR_PRESENT_IN_LIB_NOT_IN_BUILD_PROPERTIES = "The jar file %s is present in the lib folder but is not present in the build properties";
-    private static final Logger logger = LoggerFactory.getLogger(BuildPropertiesExternalLibrariesCheck.class);
 
     public BuildPropertiesExternalLibrariesCheck() {
         // build.properties will not be explicitly processed by the check.
         setFileExtensions(PROPERTIES_EXTENSION);
     }
 
-    private List<String> getBuildPropertiesJarFiles(File buildProperties) {
+    private List<String> getBuildPropertiesJarFiles(String[] binIncludesTokens) {
         List<String> buildPropertiesJarFiles = new ArrayList<>();
-        try {
-            for (String token : getBinIncludesTokens(buildProperties)) {
-                if (token.contains(JAR_FILE_EXTENSION)) {
-                    // Trimming in case there is a space at the end of the entry
-                    buildPropertiesJarFiles.add(token.trim());
-                }
+        for (String token : binIncludesTokens) {
+            if (token.contains(JAR_FILE_EXTENSION)) {
+                // Trimming in case there is a space at the end of the entry
+                buildPropertiesJarFiles.add(token.trim());
             }
-        } catch (IOException e) {
-            logger.error(COULD_NOT_OPEN_BUILD_PROPERTIES);
         }
 
         return buildPropertiesJarFiles;
     }
 
-    private String[] getBinIncludesTokens(File buildProperties) throws IOException {
-        IBuildEntry binIncludes = null;
-        try {
-            binIncludes = parseBuildProperties(buildProperties).getEntry(BIN_INCLUDES);
-        } catch (CheckstyleException ex) {
-            throw new IOException(COULD_NOT_OPEN_BUILD_PROPERTIES);
-        }
-
-        return binIncludes.getTokens();
+    private String[] getBinIncludesTokens(BuildProperties buildProperties) {
+        BuildProperties.Entry binIncludes = buildProperties.getEntry(BIN_INCLUDES_PROPERTY_NAME);
+        return binIncludes != null ? binIncludes.getTokens() : new String[0];
     }
 
     private boolean checkIfBuildPropertiesContainsFolder(String[] binIncludesTokens) {
@@ -77,45 +63,34 @@ public class BuildPropertiesExternalLibrariesCheck extends AbstractExternalLibra
     }
 
     private boolean checkIfLibFolderExists(File file) {
-        File rootFolder = file.getParentFile();
-        for (File bundleFile : rootFolder.listFiles()) {
-            if (LIB_FOLDER_NAME.equals(bundleFile.getName())) {
-                return true;
-            }
-        }
-
-        return false;
+        return BundleIndex.get(file.getParentFile()).exists(LIB_FOLDER_NAME);
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         if (!file.getName().equals(BUILD_PROPERTIES_FILE_NAME)) {
             return;
         }
 
         final String rootFolderPath = file.getParentFile().getAbsolutePath();
         final File libDirectory = new File(rootFolderPath + File.separator + LIB_FOLDER_NAME);
-        String[] binIncludes = null;
-        try {
-            binIncludes = getBinIncludesTokens(file);
-        } catch (IOException e) {
-            logger.error(COULD_NOT_OPEN_BUILD_PROPERTIES);
-            return;
-        }
+        // The processed build.properties file is parsed once for the included and the excluded files
+        BuildProperties buildProperties = parseBuildProperties(fileText);
+        String[] binIncludes = getBinIncludesTokens(buildProperties);
 
         boolean containsFolder = checkIfBuildPropertiesContainsFolder(binIncludes);
         boolean containsLib = checkIfLibFolderExists(file);
 
         List<String> libJarFiles = new ArrayList<>();
         if (containsLib) {
-            libJarFiles = getLibFolderJarFiles(libDirectory, file.getAbsolutePath());
+            libJarFiles = getLibFolderJarFiles(libDirectory, buildProperties);
         }
 
         if (containsFolder && containsLib) {
             return;
         }
 
-        List<String> buildPropertiesJarFiles = getBuildPropertiesJarFiles(file);
+        List<String> buildPropertiesJarFiles = getBuildPropertiesJarFiles(binIncludes);
 
         if (containsFolder || !buildPropertiesJarFiles.isEmpty()) {
             if (!containsLib) {
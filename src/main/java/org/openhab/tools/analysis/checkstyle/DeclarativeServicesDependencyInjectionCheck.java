@@ -8,11 +8,15 @@
  */
 package org.openhab.tools.analysis.checkstyle;
 
+import java.io.File;
+
+import org.openhab.tools.analysis.checkstyle.api.CompilationUnitContext;
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
-import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
-import com.puppycrawl.tools.checkstyle.utils.CheckUtils;
 
 /**
  * Checks if Declarative Service is used for dependency injection in OSGi. A message is logged if
@@ -33,6 +37,12 @@ public class DeclarativeServicesDependencyInjectionCheck extends AbstractCheck {
             + getShortName(SERVICE_CUSTOMIZER_CLASS_NAME)
             + " for dependency injection, consider using Declarative Services";
 
+    private final AnalysisCost analysisCost = AnalysisCostRecorder.createIfEnabled("checkstyle",
+            getClass().getSimpleName());
+    private File analysisCostRecordsFile;
+
+    private CompilationUnitContext context;
+
     @Override
     public int[] getDefaultTokens() {
         return new int[] { TokenTypes.VARIABLE_DEF, TokenTypes.CLASS_DEF };
@@ -48,8 +58,45 @@ public class DeclarativeServicesDependencyInjectionCheck extends AbstractCheck {
         return getDefaultTokens();
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        if (analysisCost != null) {
+            File file = new File(getFileContents().getFileName());
+            if (analysisCostRecordsFile == null) {
+                analysisCostRecordsFile = AnalysisCostRecorder.getRecordsFile(file);
+            }
+            analysisCost.countFile(file.length());
+        }
+        context = new CompilationUnitContext(rootAST);
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
+        if (analysisCost == null) {
+            checkToken(ast);
+            return;
+        }
+
+        analysisCost.begin();
+        try {
+            checkToken(ast);
+        } finally {
+            analysisCost.end();
+        }
+    }
+
+    @Override
+    public void finishTree(DetailAST rootAST) {
+        context = null;
+    }
+
+    @Override
+    public void destroy() {
+        AnalysisCostRecorder.record(analysisCostRecordsFile, analysisCost);
+        super.destroy();
+    }
+
+    private void checkToken(DetailAST ast) {
         switch (ast.getType()) {
             case TokenTypes.VARIABLE_DEF:
                 checkVariable(ast);
@@ -66,10 +113,9 @@ public class DeclarativeServicesDependencyInjectionCheck extends AbstractCheck {
      * @param astNode - the node to check
      */
     private void checkVariable(DetailAST astNode) {
-        DetailAST variableTypeNode = astNode.findFirstToken(TokenTypes.TYPE);
+        DetailAST typeName = getTypeName(astNode.findFirstToken(TokenTypes.TYPE));
 
-        String variableType = getType(variableTypeNode);
-        if (equals(variableType, SERVICE_TRACKER_CLASS_NAME)) {
+        if (typeName != null && context.isReferenceTo(typeName, SERVICE_TRACKER_CLASS_NAME)) {
             log(astNode.getLineNo(), MESSAGE_SERVICE_TRACKER_USED, SERVICE_TRACKER_CLASS_NAME);
         }
     }
@@ -83,26 +129,33 @@ public class DeclarativeServicesDependencyInjectionCheck extends AbstractCheck {
         DetailAST implementedInterfaceNode = astNode.findFirstToken(TokenTypes.IMPLEMENTS_CLAUSE);
 
         if (implementedInterfaceNode != null) {
-            String implementedInterface = getType(implementedInterfaceNode);
-            if (equals(implementedInterface, SERVICE_CUSTOMIZER_CLASS_NAME)) {
-                log(astNode.getLineNo(), MESSAGE_SERVICE_CUSTOMIZER_IMPLEMENTED, SERVICE_CUSTOMIZER_CLASS_NAME);
+            // The interfaces are separated by commas and may be followed by type arguments
+            for (DetailAST child = implementedInterfaceNode.getFirstChild(); child != null; child = child
+                    .getNextSibling()) {
+                if (context.isReferenceTo(child, SERVICE_CUSTOMIZER_CLASS_NAME)) {
+                    log(astNode.getLineNo(), MESSAGE_SERVICE_CUSTOMIZER_IMPLEMENTED, SERVICE_CUSTOMIZER_CLASS_NAME);
+                    return;
+                }
             }
         }
     }
 
-    private String getType(DetailAST classNode) {
-        FullIdent fullType = CheckUtils.createFullType(classNode);
-        return fullType.getText();
+    /**
+     * Gets the name of the type of a TYPE node, e.g. the DOT node of {@code org.osgi.util.tracker.ServiceTracker[]}
+     *
+     * @param typeNode - the TYPE node
+     * @return the IDENT or DOT node of the name, or null for a primitive type
+     */
+    private static DetailAST getTypeName(DetailAST typeNode) {
+        DetailAST name = typeNode.getFirstChild();
+        while (name != null && name.getType() == TokenTypes.ARRAY_DECLARATOR) {
+            name = name.getFirstChild();
+        }
+        return name != null && (name.getType() == TokenTypes.IDENT || name.getType() == TokenTypes.DOT) ? name
+                : null;
     }
 
     private static String getShortName(String fullName) {
         return fullName.substring(fullName.lastIndexOf('.') + 1);
     }
-
-    private boolean equals(String className, String otherClassName) {
-        String shortClassName = getShortName(className);
-        String shortOtherClassName = getShortName(otherClassName);
-        return shortClassName.equals(shortOtherClassName);
-    }
-
 }
@@ -13,17 +13,11 @@ import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-
 import org.openhab.tools.analysis.checkstyle.api.AbstractEshInfXmlCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
+import org.openhab.tools.analysis.checkstyle.api.XmlStreamDispatcher;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 
 /**
  * Check for missing bridge-type or supported bridge-type-refs in the same file.<br>
@@ -43,14 +37,28 @@ public class EshInfXmlUsageCheck extends AbstractEshInfXmlCheck {
     private static final String MESSAGE_UNUSED_URI_CONFIGURATION = "Unused configuration reference with uri - {0}";
     private static final String MESSAGE_UNUSED_BRIDGE = "Unused bridge reference with id - {0}";
 
-    private final Logger logger = LoggerFactory.getLogger(this.getClass());
-
     private Map<String, File> allConfigDescriptionRefs = new HashMap<>();
     private Map<String, File> allConfigDescriptions = new HashMap<>();
 
     private Map<String, File> allSupportedBridges = new HashMap<>();
     private Map<String, File> allBridgeTypes = new HashMap<>();
 
+    // The allowed values are described in the config description XSD
+    private final XmlStreamDispatcher configFileDispatcher = new XmlStreamDispatcher()
+            .subscribe(CONFIG_DESCRIPTION_EXPRESSION, (file, uri, line) -> allConfigDescriptions.put(uri, file));
+
+    // The allowed values are described in the binding XSD
+    private final XmlStreamDispatcher bindingFileDispatcher = new XmlStreamDispatcher()
+            .subscribe(CONFIG_DESCRIPTION_REF_EXPRESSION, (file, uri, line) -> allConfigDescriptionRefs.put(uri, file))
+            .subscribe(CONFIG_DESCRIPTION_EXPRESSION, (file, uri, line) -> allConfigDescriptions.put(uri, file));
+
+    // The allowed values are described in the thing description XSD
+    private final XmlStreamDispatcher thingTypeFileDispatcher = new XmlStreamDispatcher()
+            .subscribe(SUPPORTED_BRIDGE_TYPE_REF_EXPRESSION, (file, id, line) -> allSupportedBridges.put(id, file))
+            .subscribe(BRIDGE_TYPE_EXPRESSION, (file, id, line) -> allBridgeTypes.put(id, file))
+            .subscribe(CONFIG_DESCRIPTION_REF_EXPRESSION, (file, uri, line) -> allConfigDescriptionRefs.put(uri, file))
+            .subscribe(CONFIG_DESCRIPTION_EXPRESSION, (file, uri, line) -> allConfigDescriptions.put(uri, file));
+
     @Override
     public void finishProcessing() {
         // Check for missing supported bridge-type-refs.
@@ -71,54 +79,19 @@ public class EshInfXmlUsageCheck extends AbstractEshInfXmlCheck {
     }
 
     @Override
-    protected void checkConfigFile(File xmlFile) throws CheckstyleException {
-        // The allowed values are described in the config description XSD
-        allConfigDescriptions.putAll(evaluateExpressionOnFile(xmlFile, CONFIG_DESCRIPTION_EXPRESSION));
+    protected void checkConfigFile(File xmlFile, FileText fileText) throws CheckstyleException {
+        configFileDispatcher.process(fileText);
     }
 
     @Override
-    protected void checkBindingFile(File xmlFile) throws CheckstyleException {
-        // The allowed values are described in the binding XSD
-        allConfigDescriptionRefs.putAll(evaluateExpressionOnFile(xmlFile, CONFIG_DESCRIPTION_REF_EXPRESSION));
-        allConfigDescriptions.putAll(evaluateExpressionOnFile(xmlFile, CONFIG_DESCRIPTION_EXPRESSION));
+    protected void checkBindingFile(File xmlFile, FileText fileText) throws CheckstyleException {
+        bindingFileDispatcher.process(fileText);
     }
 
     @Override
-    protected void checkThingTypeFile(File xmlFile) throws CheckstyleException {
-        // Process the files for all nodes below,
-        // the allowed values are described in the thing description XSD
-        allSupportedBridges.putAll(evaluateExpressionOnFile(xmlFile, SUPPORTED_BRIDGE_TYPE_REF_EXPRESSION));
-        allBridgeTypes.putAll(evaluateExpressionOnFile(xmlFile, BRIDGE_TYPE_EXPRESSION));
-        allConfigDescriptionRefs.putAll(evaluateExpressionOnFile(xmlFile, CONFIG_DESCRIPTION_REF_EXPRESSION));
-        allConfigDescriptions.putAll(evaluateExpressionOnFile(xmlFile, CONFIG_DESCRIPTION_EXPRESSION));
-    }
-
-    private Map<String, File> evaluateExpressionOnFile(File xmlFile, String xPathExpression)
-            throws CheckstyleException {
-        Map<String, File> collection = new HashMap<>();
-        NodeList nodes = getNodes(xmlFile, xPathExpression);
-
-        if (nodes != null) {
-            for (int i = 0; i < nodes.getLength(); i++) {
-                collection.put(nodes.item(i).getNodeValue(), xmlFile);
-            }
-        }
-        return collection;
-    }
-
-    private NodeList getNodes(File xmlFile, String expression) throws CheckstyleException {
-        Document document = parseDomDocumentFromFile(xmlFile);
-
-        XPathExpression xpathExpression = compileXPathExpression(expression);
-
-        NodeList nodes = null;
-        try {
-            nodes = (NodeList) xpathExpression.evaluate(document, XPathConstants.NODESET);
-        } catch (XPathExpressionException e) {
-            logger.error("Problem occurred while evaluating the expression {} on the {} file.", expression,
-                    xmlFile.getName(), e);
-        }
-        return nodes;
+    protected void checkThingTypeFile(File xmlFile, FileText fileText) throws CheckstyleException {
+        // All paths are matched in a single pass over the file
+        thingTypeFileDispatcher.process(fileText);
     }
 
     private <K, V> Map<K, V> removeAll(Map<K, V> firstMap, Map<K, V> secondMap) {
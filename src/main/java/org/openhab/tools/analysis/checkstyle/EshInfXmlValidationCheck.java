@@ -12,6 +12,7 @@ import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.file.Path;
@@ -19,17 +20,21 @@ import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
-import javax.xml.XMLConstants;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
-import org.eclipse.pde.core.build.IBuild;
-import org.eclipse.pde.core.build.IBuildEntry;
 import org.openhab.tools.analysis.checkstyle.api.AbstractEshInfXmlCheck;
+import org.openhab.tools.analysis.checkstyle.api.AnalysisWatchdog;
+import org.openhab.tools.analysis.checkstyle.api.BinIncludes;
+import org.openhab.tools.analysis.checkstyle.api.BuildProperties;
+import org.openhab.tools.analysis.checkstyle.api.RemoteResourceCache;
+import org.openhab.tools.analysis.profiling.AnalysisEvent;
+import org.openhab.tools.analysis.profiling.AnalysisEvents;
+import org.openhab.tools.analysis.utils.XmlParsers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -53,7 +58,12 @@ public class EshInfXmlValidationCheck extends AbstractEshInfXmlCheck {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private Map<Path, File> eshInfFiles = new HashMap<>();
-    private IBuild buildPropertiesFile;
+
+    /**
+     * The schemas by path, the schemas that are not reachable are mapped to null
+     */
+    private final Map<String, Schema> schemas = new HashMap<>();
+    private BuildProperties buildPropertiesFile;
 
     private String thingSchema;
     private String bindingSchema;
@@ -97,30 +107,23 @@ public class EshInfXmlValidationCheck extends AbstractEshInfXmlCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         logger.debug("Processing the {}", file.getName());
 
         if (file.getName().equals(BUILD_PROPERTIES_FILE_NAME)) {
-            processBuildProperties(file);
+            processBuildProperties(fileText);
         } else {
-            super.processFiltered(file, fileText);
+            super.processFile(file, fileText);
         }
     }
 
     private void checkBuildProperties() {
         if (buildPropertiesFile != null) {
-            IBuildEntry binIncludes = buildPropertiesFile.getEntry(IBuildEntry.BIN_INCLUDES);
-            if (binIncludes != null) {
-                String[] includedTokens = binIncludes.getTokens();
-                // Exclude processed files that are included
-                for (String included : includedTokens) {
-                    // Iterator is used, as the collection will be modified
-                    for (Iterator<Entry<Path, File>> it = eshInfFiles.entrySet().iterator(); it.hasNext();) {
-                        Map.Entry<Path, File> entry = it.next();
-                        if (entry.getKey().startsWith(included)) {
-                            it.remove();
-                        }
-                    }
+            BinIncludes binIncludes = BinIncludes.compile(buildPropertiesFile);
+            // Exclude processed files that are included, iterator is used, as the collection will be modified
+            for (Iterator<Path> it = eshInfFiles.keySet().iterator(); it.hasNext();) {
+                if (binIncludes.isIncluded(it.next().toString())) {
+                    it.remove();
                 }
             }
             logMissingEntries(eshInfFiles, MESSAGE_NOT_INCLUDED_XML_FILE);
@@ -128,40 +131,39 @@ public class EshInfXmlValidationCheck extends AbstractEshInfXmlCheck {
     }
 
     @Override
-    protected void checkConfigFile(File xmlFile) throws CheckstyleException {
+    protected void checkConfigFile(File xmlFile, FileText fileText) throws CheckstyleException {
         addToEshFiles(xmlFile);
-        validateXmlAgainstSchema(xmlFile, configSchema);
+        validateXmlAgainstSchema(fileText, configSchema);
     }
 
     @Override
-    protected void checkBindingFile(File xmlFile) throws CheckstyleException {
+    protected void checkBindingFile(File xmlFile, FileText fileText) throws CheckstyleException {
         addToEshFiles(xmlFile);
-        validateXmlAgainstSchema(xmlFile, bindingSchema);
+        validateXmlAgainstSchema(fileText, bindingSchema);
     }
 
     @Override
-    protected void checkThingTypeFile(File xmlFile) throws CheckstyleException {
+    protected void checkThingTypeFile(File xmlFile, FileText fileText) throws CheckstyleException {
         addToEshFiles(xmlFile);
-        validateXmlAgainstSchema(xmlFile, thingSchema);
+        validateXmlAgainstSchema(fileText, thingSchema);
     }
 
-    private void processBuildProperties(File file) throws CheckstyleException {
+    private void processBuildProperties(FileText fileText) throws CheckstyleException {
         try {
-            buildPropertiesFile = parseBuildProperties(file);
+            buildPropertiesFile = parseBuildProperties(fileText);
         } catch (CheckstyleException e) {
-            logger.error("Problem occurred while parsing the file {}", file.getPath(), e);
+            logger.error("Problem occurred while parsing the file {}", fileText.getFile().getPath(), e);
         }
     }
 
-    private void validateXmlAgainstSchema(File xmlFile, String schemaPath) {
-        URL schemaURL = getSchemaURL(schemaPath);
-        if (schemaURL != null) {
+    private void validateXmlAgainstSchema(FileText fileText, String schemaPath) {
+        File xmlFile = fileText.getFile();
+        Schema schema = getSchema(schemaPath);
+        if (schema != null) {
             try {
-                SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-                Schema schema = schemaFactory.newSchema(schemaURL);
-
                 Validator validator = schema.newValidator();
-                validator.validate(new StreamSource(xmlFile));
+                validator.validate(new StreamSource(new StringReader(fileText.getFullText().toString()),
+                        xmlFile.toURI().toString()));
 
             } catch (SAXParseException exception) {
                 String message = exception.getMessage();
@@ -172,25 +174,56 @@ public class EshInfXmlValidationCheck extends AbstractEshInfXmlCheck {
             } catch (IOException | SAXException e) {
                 logger.error("Problem occurred while parsing the file {}", xmlFile.getName(), e);
             }
-        } else {
-            logger.warn("Unable to reach {}. XML validation will be skipped.", schemaPath);
         }
     }
 
+    private Schema getSchema(String schemaPath) {
+        // The schema is requested and compiled once, not for every validated file
+        if (!schemas.containsKey(schemaPath)) {
+            Schema schema = null;
+            URL schemaURL = getSchemaURL(schemaPath);
+            if (schemaURL != null) {
+                try {
+                    // The schema and the schemas it imports are downloaded while compiling
+                    schema = AnalysisWatchdog.fetch(() -> XmlParsers.getSchema(schemaURL), getFetchTimeout());
+                } catch (TimeoutException e) {
+                    logger.warn("Loading the schema {} skipped due to timeout after {} ms. XML validation will be "
+                            + "skipped.", schemaPath, getFetchTimeout());
+                } catch (ExecutionException e) {
+                    logger.error("Unable to load the schema {}. XML validation will be skipped.", schemaPath,
+                            e.getCause());
+                } catch (InterruptedException e) {
+                    logger.warn("Loading the schema {} interrupted. XML validation will be skipped.", schemaPath);
+                    Thread.currentThread().interrupt();
+                    // The schema is requested again for the next file
+                    return null;
+                }
+            } else {
+                logger.warn("Unable to reach {}. XML validation will be skipped.", schemaPath);
+            }
+            schemas.put(schemaPath, schema);
+        }
+        return schemas.get(schemaPath);
+    }
+
     private URL getSchemaURL(String schemaPath) {
         HttpURLConnection connection = null;
+        AnalysisEvent event = AnalysisEvents.remoteFetch(getClass().getSimpleName(), schemaPath);
         try {
             URL url = new URL(schemaPath);
-            connection = (HttpURLConnection) url.openConnection();
+            connection = (HttpURLConnection) RemoteResourceCache.openConnection(url, getFetchTimeout());
             connection.setRequestMethod("HEAD");
             int responseCode = connection.getResponseCode();
+            event.setOutcome(Integer.toString(responseCode));
             if (responseCode != 200) {
                 return null;
             }
             return url;
         } catch (IOException e) {
+            event.setOutcome(e.getClass().getSimpleName());
             return null;
         } finally {
+            event.close();
             if (connection != null) {
                 connection.disconnect();
             }
@@ -8,13 +8,12 @@
  */
 package org.openhab.tools.analysis.checkstyle;
 
-import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.MANIFEST_EXTENSION;
+import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.util.Set;
 
-import org.apache.ivy.osgi.core.BundleInfo;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -32,17 +31,15 @@ public class ExportInternalPackageCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
-        if (isEmpty(file)) {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
+        if (isEmpty(fileText)) {
             log(0, "File is empty!", 0);
             return;
         }
-        BundleInfo manifest = parseManifestFromFile(file);
-        Set<?> exports = manifest.getExports();
+        ManifestIndex manifestIndex = new ManifestIndex(fileText);
 
-        int lineNumber = findLineNumber(fileText.toLinesArray(), "Export-Package:", 0);
-        for (Object export : exports) {
-            String packageName = export.toString();
+        int lineNumber = manifestIndex.getHeaderLine(EXPORT_PACKAGE_HEADER_NAME);
+        for (String packageName : manifestIndex.getPaths(EXPORT_PACKAGE_HEADER_NAME)) {
             if (packageName.contains(".internal")) {
                 log(lineNumber, "Remove internal package export " + packageName, 0);
             }
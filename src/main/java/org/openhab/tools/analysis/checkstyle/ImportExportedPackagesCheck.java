@@ -8,20 +8,14 @@
  */
 package org.openhab.tools.analysis.checkstyle;
 
-import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.MANIFEST_EXTENSION;
+import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.io.IOException;
 import java.text.MessageFormat;
-import java.text.ParseException;
 import java.util.Set;
 
-import org.apache.ivy.osgi.core.BundleRequirement;
-import org.apache.ivy.osgi.core.ExportPackage;
-import org.apache.ivy.osgi.core.ManifestParser;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -33,49 +27,22 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  */
 public class ImportExportedPackagesCheck extends AbstractStaticCheck {
     private static final String NOT_IMPORTED_PACKAGE_MESSAGE = "The exported package `{0}` is not imported";
-    private static final String EXPORT_PACKAGES_HEADER = "Export-Package:";
-
-    private Logger logger = LoggerFactory.getLogger(this.getClass());
 
     public ImportExportedPackagesCheck() {
         setFileExtensions(MANIFEST_EXTENSION);
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
-        int lineToLog = findLineNumber(fileText.toLinesArray(), EXPORT_PACKAGES_HEADER, 0);
-
-        try {
-            Set<ExportPackage> exports = ManifestParser.parseManifest(file).getExports();
-            Set<BundleRequirement> imports = ManifestParser.parseManifest(file).getImports();
-
-            for (ExportPackage export : exports) {
-                if (!isPackageImported(imports, export)) {
-                    log(lineToLog, MessageFormat.format(NOT_IMPORTED_PACKAGE_MESSAGE, export.toString()));
-                }
-            }
-        } catch (IOException e) {
-            logger.error("An error occured while processing the file {}", file.getPath(), e);
-        } catch (ParseException e) {
-            logger.error("An error occured while trying to parse the MANIFEST {}", file.getPath(), e);
-        }
-    }
-
-    /**
-     * Checks if a particular package is imported. The default implementation of
-     * {@link Set#contains(Object)} cannot be used since an {@link ExportPackage} object
-     * is searched in a set of {link {@link BundleRequirement} objects.
-     *
-     * @param imports - set of all imported packages
-     * @param searchedPackage - the package that has to be checked
-     * @return true if the imports contains the package, false otherwise
-     */
-    private boolean isPackageImported(Set<BundleRequirement> imports, ExportPackage searchedPackage) {
-        for (Object o : imports) {
-            if ((o.toString()).equals(searchedPackage.toString())) {
-                return true;
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
+        ManifestIndex manifestIndex = new ManifestIndex(fileText);
+        int lineToLog = manifestIndex.getHeaderLine(EXPORT_PACKAGE_HEADER_NAME);
+
+        // The imported packages are a hashed set, so every export is looked up in constant time
+        Set<String> imports = manifestIndex.getPaths(IMPORT_PACKAGE_HEADER_NAME);
+        for (String export : manifestIndex.getPaths(EXPORT_PACKAGE_HEADER_NAME)) {
+            if (!imports.contains(export)) {
+                log(lineToLog, MessageFormat.format(NOT_IMPORTED_PACKAGE_MESSAGE, export));
             }
         }
-        return false;
     }
 }
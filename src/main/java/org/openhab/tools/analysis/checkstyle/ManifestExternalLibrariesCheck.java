@@ -11,14 +11,12 @@ package org.openhab.tools.analysis.checkstyle;
 import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.ivy.osgi.core.BundleInfo;
 import org.openhab.tools.analysis.checkstyle.api.AbstractExternalLibrariesCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.openhab.tools.analysis.checkstyle.api.BundleIndex;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -32,40 +30,27 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  *
  */
 public class ManifestExternalLibrariesCheck extends AbstractExternalLibrariesCheck {
-    private static final String COULD_NOT_OPEN_MANIFEST = "Could not open MANIFEST.MF";
     private static final String FILES_NEED_TO_BE_IN_A_LIB_FOLDER = "All jar files need to be placed inside a lib folder.";
     private static final String JAR_NOT_PRESENT_IN_LIB_FOLDER = "The jar file %s is not present in the lib folder";
     private static final String JAR_PRESENT_IN_LIB_NOT_IN_MANIFEST = "The jar file %s is present in the lib folder but is not present in the MANIFEST.MF file";
-    private static final Logger logger = LoggerFactory.getLogger(ManifestExternalLibrariesCheck.class);
 
     public ManifestExternalLibrariesCheck() {
         // build.properties will not be explicitly processed by the check.
         setFileExtensions(MANIFEST_EXTENSION);
     }
 
-    private List<String> getManifestJarFiles(File file) throws IOException {
-        BundleInfo manifest = null;
-        try {
-            manifest = parseManifestFromFile(file);
-        } catch (CheckstyleException ex) {
-            throw new IOException(COULD_NOT_OPEN_MANIFEST);
-        }
-
-        List<String> classpathEntries = manifest.getClasspath();
-        if (classpathEntries != null) {
-            // Spaces at the end of the bundle classpath are trimmed.
-            classpathEntries.replaceAll(String::trim);
+    private List<String> getManifestJarFiles(FileText fileText) {
+        // The paths of the bundle classpath are trimmed by the index
+        List<String> classpathEntries = new ArrayList<>(
+                new ManifestIndex(fileText).getPaths(BUNDLE_CLASSPATH_HEADER_NAME));
 
-            // Binaries, compiled from the bundle sources are excluded. We will check only external binaries.
-            classpathEntries.removeIf(x -> !x.contains(".jar"));
-            return classpathEntries;
-        } else {
-            return Collections.emptyList();
-        }
+        // Binaries, compiled from the bundle sources are excluded. We will check only external binaries.
+        classpathEntries.removeIf(x -> !x.contains(".jar"));
+        return classpathEntries;
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         if (!file.getName().equals(MANIFEST_FILE_NAME)) {
             return;
         }
@@ -74,16 +59,10 @@ public class ManifestExternalLibrariesCheck extends AbstractExternalLibrariesChe
         final String buildPropertiesPath = rootFolderPath + File.separator + "build.properties";
         final String libFolderPath = rootFolderPath + File.separator + LIB_FOLDER_NAME;
 
-        List<String> manifestJarFiles = Collections.emptyList();
-        try {
-            manifestJarFiles = getManifestJarFiles(file);
-        } catch (IOException e) {
-            logger.error(COULD_NOT_OPEN_MANIFEST);
-            return;
-        }
+        List<String> manifestJarFiles = getManifestJarFiles(fileText);
 
         File lib = new File(libFolderPath);
-        if (!lib.exists() || !lib.isDirectory()) {
+        if (!BundleIndex.get(lib.getParentFile()).isDirectory(LIB_FOLDER_NAME)) {
             if (manifestJarFiles.isEmpty()) {
                 return;
             }
@@ -8,19 +8,13 @@
  */
 package org.openhab.tools.analysis.checkstyle;
 
-import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.MANIFEST_EXTENSION;
+import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import org.apache.ivy.osgi.core.BundleInfo;
-import org.apache.ivy.osgi.core.BundleRequirement;
-import org.apache.ivy.osgi.core.ExportPackage;
+
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.GlobMatcher;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -35,11 +29,12 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
  */
 public class ManifestPackageVersionCheck extends AbstractStaticCheck {
     private static final String VERSION_USED_MSG = "The version of the package %s should not be specified";
+    private static final String VERSION_ATTRIBUTE = "version";
+    private static final String SPECIFICATION_VERSION_ATTRIBUTE = "specification-version";
+    private static final String BUNDLE_VERSION_ATTRIBUTE = "bundle-version";
 
-    private static final String PACKAGE_PATTERN = "[a-zA-Z0-9\\._-]*";
-
-    private List<String> ignoreImportedPackages;
-    private List<String> ignoreExportedPackages;
+    private GlobMatcher ignoreImportedPackages = GlobMatcher.compilePackagePatterns();
+    private GlobMatcher ignoreExportedPackages = GlobMatcher.compilePackagePatterns();
 
     public ManifestPackageVersionCheck() {
         setFileExtensions(MANIFEST_EXTENSION);
@@ -48,90 +43,61 @@ public class ManifestPackageVersionCheck extends AbstractStaticCheck {
     /**
      * Sets the configuration property for ignored imported packages.
      *
-     * @param ignoreImportedPackages imported packages that will be ignored
+     * @param ignoreImportedPackages imported packages that will be ignored, regex expressions are allowed
      */
     public void setIgnoreImportedPackages(String[] ignoreImportedPackages) {
-        this.ignoreImportedPackages = Arrays.asList(ignoreImportedPackages);
+        this.ignoreImportedPackages = GlobMatcher.compilePackagePatterns(ignoreImportedPackages);
     }
 
     /**
      * Sets the configuration property for ignored exported packages.
      *
-     * @param ignoreExportedPackages exported packages that will be ignored
+     * @param ignoreExportedPackages exported packages that will be ignored, regex expressions are allowed
      */
     public void setIgnoreExportedPackages(String[] ignoreExportedPackages) {
-        this.ignoreExportedPackages = Arrays.asList(ignoreExportedPackages);
+        this.ignoreExportedPackages = GlobMatcher.compilePackagePatterns(ignoreExportedPackages);
     }
 
     @Override
-    protected void processFiltered(File manifestFile, FileText fileText) throws CheckstyleException {
-        BundleInfo manifest = parseManifestFromFile(manifestFile);
-        String[] lines = fileText.toLinesArray();
+    protected void processFile(File manifestFile, FileText fileText) throws CheckstyleException {
+        ManifestIndex manifestIndex = new ManifestIndex(fileText);
 
-        checkVersionOfImportedPackages(manifest, lines);
+        checkVersionOfImportedPackages(manifestIndex);
 
-        checkVersionOfExportedPackages(manifest, lines);
+        checkVersionOfExportedPackages(manifestIndex);
     }
 
-    private void checkVersionOfImportedPackages(BundleInfo manifest, String[] lines) {
-        Set<BundleRequirement> requiredBundles = manifest.getRequires();
-        Set<BundleRequirement> importPackages = manifest.getImports();
-
-        int lineNumber = 0;
-        for (BundleRequirement importPackage : importPackages) {
-            String importName = importPackage.getName();
-            if (importPackage.getVersion() != null && !isIgnoredPackage(ignoreImportedPackages, importName)) {
-                lineNumber = findLineNumber(lines, importName, lineNumber);
+    private void checkVersionOfImportedPackages(ManifestIndex manifestIndex) {
+        for (String importName : manifestIndex.getPaths(IMPORT_PACKAGE_HEADER_NAME)) {
+            if (hasPackageVersion(manifestIndex.getClause(IMPORT_PACKAGE_HEADER_NAME, importName))
+                    && !ignoreImportedPackages.matches(importName)) {
+                int lineNumber = manifestIndex.getClauseLine(IMPORT_PACKAGE_HEADER_NAME, importName);
                 log(lineNumber, String.format(VERSION_USED_MSG, importName));
             }
         }
 
-        // Start again from the beginning of the file
-        lineNumber = 0;
-        for (BundleRequirement requiredBundle : requiredBundles) {
-            if (requiredBundle.getVersion() != null) {
-                String name = requiredBundle.getName();
-                lineNumber = findLineNumber(lines, name, lineNumber);
+        for (String name : manifestIndex.getPaths(REQUIRE_BUNDLE_HEADER_NAME)) {
+            ManifestIndex.Clause requiredBundle = manifestIndex.getClause(REQUIRE_BUNDLE_HEADER_NAME, name);
+            if (requiredBundle.getAttribute(BUNDLE_VERSION_ATTRIBUTE) != null) {
+                int lineNumber = manifestIndex.getClauseLine(REQUIRE_BUNDLE_HEADER_NAME, name);
                 log(lineNumber, String.format(VERSION_USED_MSG, name));
             }
         }
     }
 
-    private void checkVersionOfExportedPackages(BundleInfo manifest, String[] lines) {
-        Set<ExportPackage> exports = manifest.getExports();
-
-        int lineNumber = 0;
-        for (ExportPackage exportPackage : exports) {
-            String exportedPackageName = exportPackage.getName();
-
-            // If the package version is not with the default version of the exported packages by the ManifestParser
-            // and the package is not ignored from the configuration.
-            if (!exportPackage.getVersion().equals(BundleInfo.DEFAULT_VERSION)
-                    && !isIgnoredPackage(ignoreExportedPackages, exportedPackageName)) {
-                lineNumber = findLineNumber(lines, exportedPackageName, lineNumber);
+    private void checkVersionOfExportedPackages(ManifestIndex manifestIndex) {
+        for (String exportedPackageName : manifestIndex.getPaths(EXPORT_PACKAGE_HEADER_NAME)) {
+            if (hasPackageVersion(manifestIndex.getClause(EXPORT_PACKAGE_HEADER_NAME, exportedPackageName))
+                    && !ignoreExportedPackages.matches(exportedPackageName)) {
+                int lineNumber = manifestIndex.getClauseLine(EXPORT_PACKAGE_HEADER_NAME, exportedPackageName);
                 log(lineNumber, String.format(VERSION_USED_MSG, exportedPackageName));
             }
         }
     }
 
-    /**
-     * Checks if a package is ignored
-     *
-     * @param ignoredPackages - the packages that are ignored, regex expressions are allowed
-     * @param packageName - the package to check
-     * @return true if the package is ignored, false otherwise
-     */
-    private boolean isIgnoredPackage(List<String> ignoredPackages, String packageName) {
-        for (String packages : ignoredPackages) {
-            packages = packages.replaceAll("\\.\\*", PACKAGE_PATTERN);
-
-            Pattern pattern = Pattern.compile(packages);
-            Matcher matcher = pattern.matcher(packageName);
-
-            if (matcher.matches()) {
-                return true;
-            }
-        }
-        return false;
+    private boolean hasPackageVersion(ManifestIndex.Clause clause) {
+        // specification-version is the deprecated name of the version attribute
+        return clause.getAttribute(VERSION_ATTRIBUTE) != null
+                || clause.getAttribute(SPECIFICATION_VERSION_ATTRIBUTE) != null;
     }
 }
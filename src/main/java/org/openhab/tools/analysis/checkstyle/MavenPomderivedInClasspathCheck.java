@@ -12,15 +12,8 @@ import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.CLASSPATH
 
 import java.io.File;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
+import org.openhab.tools.analysis.checkstyle.api.XmlStreamDispatcher;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -35,41 +28,25 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
 public class MavenPomderivedInClasspathCheck extends AbstractStaticCheck {
     private static final String POMDERIVED_EXPRESSION = "/classpath/classpathentry/attributes/attribute[@name='maven.pomderived' and @value='true']/@name";
 
-    private final Logger logger = LoggerFactory.getLogger(MavenPomderivedInClasspathCheck.class);
+    private final XmlStreamDispatcher dispatcher = new XmlStreamDispatcher().subscribe(POMDERIVED_EXPRESSION,
+            (file, value, lineNumber) -> {
+                if (lineNumber != -1) {
+                    log(lineNumber, "The classpath file contains maven.pomderived attribute. "
+                            + "This attribute should be used only if you have problems downloading your maven dependencies.");
+                }
+            });
 
     public MavenPomderivedInClasspathCheck() {
         setFileExtensions(CLASSPATH_EXTENSION);
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
 
-        if (isEmpty(file)) {
+        if (isEmpty(fileText)) {
             log(0, "The .classpath file should not be empty.");
         } else {
-            Document document = parseDomDocumentFromFile(file);
-
-            XPathExpression xpathExpression = compileXPathExpression(POMDERIVED_EXPRESSION);
-
-            NodeList nodes = null;
-            try {
-                nodes = (NodeList) xpathExpression.evaluate(document, XPathConstants.NODESET);
-            } catch (XPathExpressionException e) {
-                logger.error("An error has occured while parsing the .classpath file. Check if the file is valid.", e);
-            }
-
-            if (nodes != null) {
-                int lineNumber = 0;
-                String[] lines = fileText.toLinesArray();
-
-                for (int i = 0; i < nodes.getLength(); i++) {
-                    lineNumber = findLineNumber(lines, nodes.item(i).getNodeValue(), lineNumber);
-                    if (lineNumber != -1) {
-                        log(lineNumber, "The classpath file contains maven.pomderived attribute. "
-                                + "This attribute should be used only if you have problems downloading your maven dependencies.");
-                    }
-                }
-            }
+            dispatcher.process(fileText);
         }
     }
 }
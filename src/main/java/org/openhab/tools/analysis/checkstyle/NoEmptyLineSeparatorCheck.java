@@ -8,6 +8,11 @@
  */
 package org.openhab.tools.analysis.checkstyle;
 
+import java.io.File;
+
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
@@ -68,6 +73,10 @@ public class NoEmptyLineSeparatorCheck extends AbstractCheck {
     private static final String MSG_LINE_AFTER_OPENING_BRACE_EMPTY = "Remove empty line after opening brace";
     private static final String MSG_LINE_BEFORE_CLOSING_BRACE_EMPTY = "Remove empty line before closing brace";
 
+    private final AnalysisCost analysisCost = AnalysisCostRecorder.createIfEnabled("checkstyle",
+            getClass().getSimpleName());
+    private File analysisCostRecordsFile;
+
     @Override
     public int[] getDefaultTokens() {
         return getAcceptableTokens();
@@ -105,8 +114,39 @@ public class NoEmptyLineSeparatorCheck extends AbstractCheck {
         return CommonUtils.EMPTY_INT_ARRAY;
     }
 
+    @Override
+    public void beginTree(DetailAST rootAST) {
+        if (analysisCost != null) {
+            File file = new File(getFileContents().getFileName());
+            if (analysisCostRecordsFile == null) {
+                analysisCostRecordsFile = AnalysisCostRecorder.getRecordsFile(file);
+            }
+            analysisCost.countFile(file.length());
+        }
+    }
+
     @Override
     public void visitToken(DetailAST ast) {
+        if (analysisCost == null) {
+            checkBlock(ast);
+            return;
+        }
+
+        analysisCost.begin();
+        try {
+            checkBlock(ast);
+        } finally {
+            analysisCost.end();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        AnalysisCostRecorder.record(analysisCostRecordsFile, analysisCost);
+        super.destroy();
+    }
+
+    private void checkBlock(DetailAST ast) {
         DetailAST leftCurly = findLeftCurly(ast);
         DetailAST rightCurly = findRightCurly(ast);
 
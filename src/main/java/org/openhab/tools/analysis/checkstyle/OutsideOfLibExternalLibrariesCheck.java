@@ -12,9 +12,11 @@ import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.Collections;
 import java.util.List;
 
 import org.openhab.tools.analysis.checkstyle.api.AbstractExternalLibrariesCheck;
+import org.openhab.tools.analysis.checkstyle.api.BundleIndex;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -28,7 +30,7 @@ import edu.emory.mathcs.backport.java.util.Arrays;
  *
  */
 public class OutsideOfLibExternalLibrariesCheck extends AbstractExternalLibrariesCheck {
-    private List<String> ignoredDirectories;
+    private List<String> ignoredDirectories = Collections.emptyList();
     private static final String JAR_FILES_NEED_TO_BE_PLACED_IN_A_LIB_FOLDER = "All jar files need to be placed inside a lib folder and added to MANIFEST.MF and build.properties";
 
     public OutsideOfLibExternalLibrariesCheck() {
@@ -39,12 +41,39 @@ public class OutsideOfLibExternalLibrariesCheck extends AbstractExternalLibrarie
         ignoredDirectories = Arrays.asList(values);
     }
 
-    private void checkBundleForOutOfPlaceJarFiles(File bundleDirectory, String folderToSkip) {
-        File[] files = bundleDirectory.listFiles(new FilenameFilter() {
+    private void checkBundleForOutOfPlaceJarFiles(File bundleDirectory) {
+        BundleIndex bundleIndex = BundleIndex.get(bundleDirectory);
+        for (String jarFilePath : bundleIndex.getEntriesEndingWith(JAR_FILE_EXTENSION)) {
+            if (!isInLibOrIgnoredDirectory(jarFilePath)) {
+                log(0, JAR_FILES_NEED_TO_BE_PLACED_IN_A_LIB_FOLDER);
+            }
+        }
+
+        // The content of the Maven output directory is not indexed, it is checked only if it is not ignored
+        if (bundleIndex.isDirectory(BundleIndex.PRUNED_DIRECTORY)
+                && !containsIgnoredDirectories(BundleIndex.PRUNED_DIRECTORY)) {
+            checkDirectoryForOutOfPlaceJarFiles(new File(bundleDirectory, BundleIndex.PRUNED_DIRECTORY));
+        }
+    }
+
+    private boolean isInLibOrIgnoredDirectory(String relativePath) {
+        String[] names = relativePath.split("/");
+        if (names[0].equals(LIB_FOLDER_NAME)) {
+            return true;
+        }
+        for (String name : names) {
+            if (containsIgnoredDirectories(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkDirectoryForOutOfPlaceJarFiles(File directory) {
+        File[] files = directory.listFiles(new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
-                // When build with maven a "target" folder is generated.
-                if (name.equals(folderToSkip) || containsIgnoredDirectories(name)) {
+                if (containsIgnoredDirectories(name)) {
                     return false;
                 }
 
@@ -58,7 +87,7 @@ public class OutsideOfLibExternalLibrariesCheck extends AbstractExternalLibrarie
 
         if (files != null) {
             for (File file : files) {
-                checkBundleForOutOfPlaceJarFiles(file, null);
+                checkDirectoryForOutOfPlaceJarFiles(file);
             }
         }
     }
@@ -68,12 +97,12 @@ public class OutsideOfLibExternalLibrariesCheck extends AbstractExternalLibrarie
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         if (!file.getName().equals(BUILD_PROPERTIES_FILE_NAME)) {
             return;
         }
 
         File bundleDirectory = file.getParentFile();
-        checkBundleForOutOfPlaceJarFiles(bundleDirectory, LIB_FOLDER_NAME);
+        checkBundleForOutOfPlaceJarFiles(bundleDirectory);
     }
 }
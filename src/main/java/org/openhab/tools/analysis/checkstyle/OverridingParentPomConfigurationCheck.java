@@ -12,15 +12,8 @@ import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
+import org.openhab.tools.analysis.checkstyle.api.XmlStreamDispatcher;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -34,42 +27,25 @@ import com.puppycrawl.tools.checkstyle.api.FileText;
 public class OverridingParentPomConfigurationCheck extends AbstractStaticCheck {
     private static final String POM_CONFIGURATION_EXPRESSION = "/project//*[@combine.self='override']/@combine.self";
 
-    private final Logger logger = LoggerFactory.getLogger(OverridingParentPomConfigurationCheck.class);
+    private final XmlStreamDispatcher dispatcher = new XmlStreamDispatcher()
+            .subscribe(POM_CONFIGURATION_EXPRESSION, (file, value, lineNumber) -> {
+                if (lineNumber != -1) {
+                    log(lineNumber, "Avoid overriding a configuration inherited by the parent pom.");
+                }
+            });
 
     public OverridingParentPomConfigurationCheck() {
         setFileExtensions(XML_EXTENSION);
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
 
         if (file.getName().equals(POM_XML_FILE_NAME)) {
-            if (isEmpty(file)) {
+            if (isEmpty(fileText)) {
                 log(0, "The pom.xml file should not be empty.");
             } else {
-                Document document = parseDomDocumentFromFile(file);
-
-                XPathExpression xpathExpression = compileXPathExpression(POM_CONFIGURATION_EXPRESSION);
-
-                NodeList nodes = null;
-                try {
-                    nodes = (NodeList) xpathExpression.evaluate(document, XPathConstants.NODESET);
-                } catch (XPathExpressionException e) {
-                    logger.error("An error has occured while parsing the pom.xml. Check if the file is valid.", e);
-                }
-
-                if (nodes != null) {
-                    int lineNumber = 0;
-
-                    String[] fileContent = fileText.toLinesArray();
-
-                    for (int i = 0; i < nodes.getLength(); i++) {
-                        lineNumber = findLineNumber(fileContent, nodes.item(i).getNodeValue(), lineNumber);
-                        if (lineNumber != -1) {
-                            log(lineNumber, "Avoid overriding a configuration inherited by the parent pom.");
-                        }
-                    }
-                }
+                dispatcher.process(fileText);
             }
         }
     }
@@ -16,18 +16,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-
 import org.apache.ivy.osgi.core.BundleInfo;
 import org.apache.ivy.osgi.util.Version;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.PomCoordinates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
@@ -50,10 +44,6 @@ public class PomXmlCheck extends AbstractStaticCheck {
     private static final String WRONG_PARENT_ARTIFACT_ID_MSG = "Wrong /project/parent/artifactId. Expected {0} but was {1}";
 
     private static final String DEFAULT_VERSION_REGULAR_EXPRESSION = "^\\d+[.]\\d+[.]\\d+";
-    private static final String POM_ARTIFACT_ID_XPATH_EXPRESSION = "/project/artifactId/text()";
-    private static final String POM_PARENT_ARTIFACT_ID_XPATH_EXPRESSION = "/project/parent/artifactId/text()";
-    private static String POM_PARENT_VERSION_XPATH_EXPRESSION = "/project/parent/version/text()";
-    private static String POM_VERSION_XPATH_EXPRESSION = "/project/version/text()";
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -116,17 +106,17 @@ public class PomXmlCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText lines) throws CheckstyleException {
+    protected void processFile(File file, FileText lines) throws CheckstyleException {
         String fileName = file.getName();
         if (fileName.equals(POM_XML_FILE_NAME)) {
-            processPomXmlFile(file, lines.toLinesArray());
+            processPomXmlFile(file, lines);
         } else if (fileName.equals(MANIFEST_FILE_NAME)) {
-            processManifestFile(file);
+            processManifestFile(lines);
         }
     }
 
-    private void processManifestFile(File file) throws CheckstyleException {
-        BundleInfo bundleInfo = parseManifestFromFile(file);
+    private void processManifestFile(FileText lines) throws CheckstyleException {
+        BundleInfo bundleInfo = parseManifestFromFile(lines);
 
         Version version = bundleInfo.getVersion();
         // We need this in order to filter the "qualifier" for the Snapshot versions
@@ -135,23 +125,24 @@ public class PomXmlCheck extends AbstractStaticCheck {
         manifestBundleSymbolicName = bundleInfo.getSymbolicName();
     }
 
-    private void processPomXmlFile(File file, String[] lines) throws CheckstyleException {
+    private void processPomXmlFile(File file, FileText lines) throws CheckstyleException {
         File pomDirectory = file.getParentFile();
         // the pom directory path will be used in the finalization
         pomDirectoryPath = pomDirectory.getPath();
         File parentPom = new File(pomDirectory.getParentFile(), POM_XML_FILE_NAME);
 
+        PomCoordinates pomCoordinates = PomCoordinates.read(lines);
+
         // The pom.xml must reference the correct parent pom (which is usually in the parent folder)
         if (parentPom.exists()) {
-            String parentArtifactIdValue = getNodeValue(file, POM_PARENT_ARTIFACT_ID_XPATH_EXPRESSION);
-            String parentPomArtifactIdValue = getNodeValue(parentPom, POM_ARTIFACT_ID_XPATH_EXPRESSION);
+            // The parent pom is shared by many modules, so its coordinates are cached
+            String parentPomArtifactIdValue = PomCoordinates.get(parentPom).getArtifactId();
+            String parentArtifactIdValue = pomCoordinates.getParentArtifactId();
             if (parentArtifactIdValue != null) {
                 if (!parentArtifactIdValue.equals(parentPomArtifactIdValue)) {
-                    int parentArtifactTagLine = findLineNumber(lines, "parent", 0);
-                    int parentArtifactIdLine = findLineNumber(lines, "artifactId", parentArtifactTagLine);
                     String formattedMessage = MessageFormat.format(WRONG_PARENT_ARTIFACT_ID_MSG,
                             parentPomArtifactIdValue, parentArtifactIdValue);
-                    log(parentArtifactIdLine, formattedMessage, file.getPath());
+                    log(pomCoordinates.getParentArtifactIdLine(), formattedMessage, file.getPath());
                 }
             } else {
                 log(0, MISSING_PARENT_ARTIFACT_ID_MSG, file.getPath());
@@ -159,25 +150,19 @@ public class PomXmlCheck extends AbstractStaticCheck {
         }
 
         // get the version from the pom.xml
-        String versionNodeValue = getNodeValue(file, POM_VERSION_XPATH_EXPRESSION);
-        if (versionNodeValue == null) {
-            versionNodeValue = getNodeValue(file, POM_PARENT_VERSION_XPATH_EXPRESSION);
-        }
-        pomVersion = getVersion(versionNodeValue, pomVersionPattern);
-
+        String versionValue = pomCoordinates.getVersion();
         // the version line will be preserved for finalization of the processing
-        String versionTagName = "version";
-        String versionLine = String.format("<%s>%s</%s>", versionTagName, versionNodeValue, versionTagName);
-        pomVersionLine = findLineNumber(lines, versionLine, 0);
+        pomVersionLine = pomCoordinates.getVersionLine();
+        if (versionValue == null) {
+            versionValue = pomCoordinates.getParentVersion();
+            pomVersionLine = pomCoordinates.getParentVersionLine();
+        }
+        pomVersion = getVersion(versionValue, pomVersionPattern);
 
         // get the artifactId from the pom.xml
-        String artifactIdNodeValue = getNodeValue(file, POM_ARTIFACT_ID_XPATH_EXPRESSION);
-        pomArtifactId = artifactIdNodeValue;
-
+        pomArtifactId = pomCoordinates.getArtifactId();
         // the artifact ID line will be used in the finalization as well
-        String artifactIdTagName = "artifactId";
-        String artifactIdLine = String.format("<%s>%s</%s>", artifactIdTagName, artifactIdNodeValue, artifactIdTagName);
-        pomArtifactIdLine = findLineNumber(lines, artifactIdLine, 0);
+        pomArtifactIdLine = pomCoordinates.getArtifactIdLine();
     }
 
     @Override
@@ -202,21 +187,6 @@ public class PomXmlCheck extends AbstractStaticCheck {
         }
     }
 
-    private String getNodeValue(File file, String versionExpression) throws CheckstyleException {
-        Document xmlDocument = parseDomDocumentFromFile(file);
-
-        XPathExpression xPathExpression = compileXPathExpression(versionExpression);
-        try {
-            Object result = xPathExpression.evaluate(xmlDocument, XPathConstants.NODESET);
-            NodeList nodes = (NodeList) result;
-            Node node = nodes.item(0);
-            return node != null ? node.getNodeValue() : null;
-        } catch (XPathExpressionException e) {
-            logger.error("An exception was thrown, while trying to parse the file: {}", file.getPath(), e);
-            return null;
-        }
-    }
-
     private String getVersion(String versionValue, Pattern pattern) {
         if (versionValue != null) {
             Matcher matcher = pattern.matcher(versionValue);
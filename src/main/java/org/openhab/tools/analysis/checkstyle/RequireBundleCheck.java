@@ -11,9 +11,6 @@ package org.openhab.tools.analysis.checkstyle;
 import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.jar.Attributes;
@@ -21,9 +18,11 @@ import java.util.jar.Manifest;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 
 import edu.emory.mathcs.backport.java.util.Arrays;
@@ -53,12 +52,12 @@ public class RequireBundleCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) {
+    protected void processFile(File file, FileText fileText) {
         try {
             // We use Manifest class here instead of ManifestParser,
             // because it is easier to get the content of the headers
             // in the MANIFEST.MF
-            Manifest manifest = new Manifest(new FileInputStream(file));
+            Manifest manifest = parseJarManifest(fileText);
             Attributes attributes = manifest.getMainAttributes();
 
             String fragmentHost = attributes.getValue(FRAGMENT_HOST_HEADER_NAME);
@@ -71,26 +70,23 @@ public class RequireBundleCheck extends AbstractStaticCheck {
             }
 
             String requireBundleHeaderValue = attributes.getValue(REQUIRE_BUNDLE_HEADER_NAME);
+            int requireBundleHeaderLine = new ManifestIndex(fileText).getHeaderLine(REQUIRE_BUNDLE_HEADER_NAME);
             if (requireBundleHeaderValue != null && !testBundle) {
-                log(findLineNumber(fileText.toLinesArray(), requireBundleHeaderValue, 0),
+                log(requireBundleHeaderLine,
                         "The MANIFEST.MF file must not contain any Require-Bundle entries. "
                                 + "Instead, Import-Package must be used.");
             } else if (requireBundleHeaderValue != null && testBundle) {
                 String[] bundleNames = requireBundleHeaderValue.split(",");
                 for (String bundleName : bundleNames) {
                     if (!allowedRequireBundles.contains(bundleName)) {
-                        log(findLineNumber(fileText.toLinesArray(), requireBundleHeaderValue, 0),
+                        log(requireBundleHeaderLine,
                                 "The MANIFEST.MF file of a test fragment must not contain Require-Bundle entries other than "
                                         + getAllowedBundlesString() + ".");
                         break;
                     }
                 }
             }
-        } catch (
-
-        FileNotFoundException e) {
-            logger.error("An exception was thrown while trying to open the file {}", file.getPath(), e);
-        } catch (IOException e) {
+        } catch (CheckstyleException e) {
             logger.error("An exception was thrown while trying to read the file {}", file.getPath(), e);
         }
     }
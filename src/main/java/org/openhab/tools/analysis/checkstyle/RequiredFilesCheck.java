@@ -54,7 +54,7 @@ public class RequiredFilesCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         Path absoluteFilePath = file.toPath();
         for (Path relativeRequiredPath : requiredFiles) {
             if (absoluteFilePath.endsWith(relativeRequiredPath)) {
@@ -11,14 +11,14 @@ package org.openhab.tools.analysis.checkstyle;
 import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.regex.Matcher;
@@ -26,9 +26,10 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.eclipse.pde.core.build.IBuild;
-import org.eclipse.pde.core.build.IBuildEntry;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheck;
+import org.openhab.tools.analysis.checkstyle.api.BinIncludes;
+import org.openhab.tools.analysis.checkstyle.api.BuildProperties;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,8 +51,8 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private List<String> manifestServiceComponents = new ArrayList<>();
-    private List<String> componentXmlFiles = new ArrayList<>();
+    private Set<String> manifestServiceComponents = new LinkedHashSet<>();
+    private Set<String> componentXmlFiles = new LinkedHashSet<>();
 
     private boolean loggedBestApproachMessage = false;
 
@@ -64,7 +65,7 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
      * Paths relative to the bundle base directory
      **/
     private List<Path> componentXmlRelativePaths = new ArrayList<>();
-    private IBuild buildPropertiesFile;
+    private BuildProperties buildPropertiesFile;
 
     public ServiceComponentManifestCheck() {
         logger.debug("Executing {}: Check if all the declarative services are included in the {}",
@@ -73,7 +74,7 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
 
         Path absolutePath = file.toPath();
         int osgiInfIndex = getIndex(absolutePath, OSGI_INF_DIRECTORY_NAME);
@@ -90,11 +91,11 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
         }
 
         if (file.getName().equals(MANIFEST_FILE_NAME)) {
-            verifyManifest(file, fileText.toLinesArray());
+            verifyManifest(fileText);
         }
 
         if (file.getName().equals(BUILD_PROPERTIES_FILE_NAME)) {
-            processBuildPropertiesFile(file);
+            processBuildPropertiesFile(fileText);
         }
     }
 
@@ -109,12 +110,12 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
         return result;
     }
 
-    private void processBuildPropertiesFile(File file) {
+    private void processBuildPropertiesFile(FileText fileText) {
         try {
-            buildPropertiesFile = parseBuildProperties(file);
-            buildPropertiesPath = file.getPath();
+            buildPropertiesFile = parseBuildProperties(fileText);
+            buildPropertiesPath = fileText.getFile().getPath();
         } catch (CheckstyleException e) {
-            logger.error("Problem occurred while parsing the file {}", file.getPath(), e);
+            logger.error("Problem occurred while parsing the file {}", fileText.getFile().getPath(), e);
         }
     }
 
@@ -127,17 +128,11 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
 
     private void verifyBuildPropertiesFile() {
         if (buildPropertiesPath != null) {
-            IBuildEntry binIncludes = buildPropertiesFile.getEntry(IBuildEntry.BIN_INCLUDES);
-            if (binIncludes != null) {
-                String[] includedTokens = binIncludes.getTokens();
-                // Exclude the component files that are added to the bin.includes property
-                for (String included : includedTokens) {
-                    for (Iterator<Path> iterator = componentXmlRelativePaths.iterator(); iterator.hasNext();) {
-                        Path componentXmlFile = iterator.next();
-                        if (componentXmlFile.startsWith(included)) {
-                            iterator.remove();
-                        }
-                    }
+            BinIncludes binIncludes = BinIncludes.compile(buildPropertiesFile);
+            // Exclude the component files that are added to the bin.includes property
+            for (Iterator<Path> iterator = componentXmlRelativePaths.iterator(); iterator.hasNext();) {
+                if (binIncludes.isIncluded(iterator.next().toString())) {
+                    iterator.remove();
                 }
             }
 
@@ -152,7 +147,10 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
     }
 
     private void verifyManifestWildcardDeclaredServiceComponents() {
-        // We use iterator, because we will modify the list while iterating
+        // The service components declared with a wildcard other than *.xml, they are matched all at once
+        List<String> wildcardServiceComponents = new ArrayList<>();
+
+        // We use iterator, because we will modify the set while iterating
         // through it
         Iterator<String> manifestServiceComponentsIterator = manifestServiceComponents.iterator();
 
@@ -161,6 +159,7 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
 
             if (manifestServiceComponent.equals(WILDCARD)) {
                 logBestApproachMessage();
+                matchWildcardServiceComponents(wildcardServiceComponents);
 
                 // The service component is declared as OSGI-INF/* and all the services are included. There is
                 // no need of further comparison of the two lists
@@ -183,6 +182,7 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
                                 "If you are using OSGI-INF/*.xml, do not include any of the services explicitly. "
                                         + "Otherwise they will be included more than once.");
                     }
+                    matchWildcardServiceComponents(wildcardServiceComponents);
 
                     // The service component is declared as *.xml and all the services are included. There is no need of
                     // further comparison of the two lists
@@ -192,33 +192,9 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
                 } else {
                     // Wildcard other than *.xml is used
                     logBestApproachMessage();
-                    Pattern pattern = Pattern.compile(manifestServiceComponentName);
-                    boolean matchedPattern = false;
-
-                    // we use iterator, because we will modify the list while
-                    // iterating through it
-                    Iterator<String> componentXmlFilesIterator = componentXmlFiles.iterator();
-                    while (componentXmlFilesIterator.hasNext()) {
-                        String componentXml = componentXmlFilesIterator.next();
-                        Matcher matcher = pattern.matcher(componentXml);
-                        if (matcher.find()) {
-                            // if any of the services matches the manifest
-                            // service component regex,
-                            // remove them from the list, so that we can verify
-                            // only the service components,
-                            // that are declared with their full name later
-                            componentXmlFilesIterator.remove();
-                            matchedPattern = true;
-                        }
-                    }
-
-                    if (!matchedPattern) {
-                        logMessage(serviceComponentHeaderLineNumber,
-                                String.format("The service component %s does not match any of the exisitng services.",
-                                        manifestServiceComponent));
-                    }
+                    wildcardServiceComponents.add(manifestServiceComponent);
 
-                    // remove the regex service component definition,
+                    // remove the wildcard service component definition,
                     // so that we can verify only the service components,
                     // that are declared with their full name later
                     manifestServiceComponentsIterator.remove();
@@ -228,17 +204,79 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
                 logBestApproachMessage();
             }
         }
+        matchWildcardServiceComponents(wildcardServiceComponents);
+    }
+
+    /**
+     * Removes the services that match one of the wildcard service components. All wildcards are compiled into a single
+     * pattern, so every service is matched once. A service is matched by the first wildcard in the order of the
+     * MANIFEST.MF file.
+     */
+    private void matchWildcardServiceComponents(List<String> wildcardServiceComponents) {
+        if (wildcardServiceComponents.isEmpty()) {
+            return;
+        }
+        StringBuilder regex = new StringBuilder();
+        for (String wildcardServiceComponent : wildcardServiceComponents) {
+            if (regex.length() > 0) {
+                regex.append('|');
+            }
+            regex.append('(').append(toRegex(wildcardServiceComponent)).append(')');
+        }
+        Pattern pattern = Pattern.compile(regex.toString());
+        boolean[] matchedWildcards = new boolean[wildcardServiceComponents.size()];
+
+        // we use iterator, because we will modify the set while
+        // iterating through it
+        Iterator<String> componentXmlFilesIterator = componentXmlFiles.iterator();
+        while (componentXmlFilesIterator.hasNext()) {
+            Matcher matcher = pattern.matcher(componentXmlFilesIterator.next());
+            if (matcher.matches()) {
+                // if any of the services matches a manifest service component wildcard,
+                // remove them from the set, so that we can verify only the service components,
+                // that are declared with their full name later
+                componentXmlFilesIterator.remove();
+                for (int group = 1; group <= matcher.groupCount(); group++) {
+                    if (matcher.group(group) != null) {
+                        matchedWildcards[group - 1] = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < matchedWildcards.length; i++) {
+            if (!matchedWildcards[i]) {
+                logMessage(serviceComponentHeaderLineNumber,
+                        String.format("The service component %s does not match any of the exisitng services.",
+                                wildcardServiceComponents.get(i)));
+            }
+        }
+        wildcardServiceComponents.clear();
+    }
+
+    private String toRegex(String wildcardServiceComponent) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : wildcardServiceComponent.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            if (!part.isEmpty()) {
+                regex.append(Pattern.quote(part));
+            }
+        }
+        return regex.toString();
     }
 
     private void verifyManifestExplicitlyDeclaredServices() {
-        // list in which we will store all the common elements of
-        // manifestServiceComponents and componentXmlFiles
-        List<String> intersection = new ArrayList<>(manifestServiceComponents);
-        intersection.retainAll(componentXmlFiles);
+        // The sets are hashed, so the services are compared in linear time
+        Set<String> notIncludedServices = new LinkedHashSet<>(componentXmlFiles);
+        notIncludedServices.removeAll(manifestServiceComponents);
+        Set<String> notExistingServices = new LinkedHashSet<>(manifestServiceComponents);
+        notExistingServices.removeAll(componentXmlFiles);
 
         // log a message for every not included service in the manifest
-        componentXmlFiles.removeAll(intersection);
-        for (String service : componentXmlFiles) {
+        for (String service : notIncludedServices) {
             if (serviceComponentHeaderLineNumber == -1) {
                 // if there is no Service-Component header
                 logMessage(0, String.format("The service %s is not included in the MANIFEST.MF file. "
@@ -252,21 +290,21 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
 
         // log a message for every service component definition,
         // that does not have a corresponding service
-        manifestServiceComponents.removeAll(intersection);
-        for (String service : manifestServiceComponents) {
+        for (String service : notExistingServices) {
             logMessage(serviceComponentHeaderLineNumber,
                     String.format("The service %s does not exist in the OSGI-INF folder.", service));
         }
     }
 
-    private void verifyManifest(File file, String[] lines) {
+    private void verifyManifest(FileText fileText) {
+        File file = fileText.getFile();
         manifestPath = file.getPath();
         try {
-            Manifest manifest = new Manifest(new FileInputStream(file));
+            Manifest manifest = parseJarManifest(fileText);
             Attributes attributes = manifest.getMainAttributes();
 
             serviceComponentHeaderValue = attributes.getValue(SERVICE_COMPONENT_HEADER);
-            serviceComponentHeaderLineNumber = findLineNumber(lines, SERVICE_COMPONENT_HEADER, 0);
+            serviceComponentHeaderLineNumber = new ManifestIndex(fileText).getHeaderLine(SERVICE_COMPONENT_HEADER);
 
             if (serviceComponentHeaderValue != null) {
                 List<String> serviceComponentsList = Arrays.asList(serviceComponentHeaderValue.trim().split(","));
@@ -299,7 +337,7 @@ public class ServiceComponentManifestCheck extends AbstractStaticCheck {
                     }
                 }
             }
-        } catch (IOException e) {
+        } catch (CheckstyleException e) {
             logger.error("Problem occurred while parsing the file {}", file.getPath(), e);
         }
     }
@@ -49,16 +49,16 @@ public abstract class AbstractEshInfXmlCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
         String fileName = file.getName();
 
         if (FilenameUtils.getExtension(fileName).equals(XML_EXTENSION)) {
-            processXmlFile(file);
+            processXmlFile(file, fileText);
         }
     }
 
-    private void processXmlFile(File xmlFile) throws CheckstyleException {
-        if (isEmpty(xmlFile)) {
+    private void processXmlFile(File xmlFile, FileText fileText) throws CheckstyleException {
+        if (isEmpty(fileText)) {
             log(0, MessageFormat.format(MESSAGE_EMPTY_FILE, xmlFile.getName()), xmlFile.getPath());
         } else {
 
@@ -68,15 +68,15 @@ public abstract class AbstractEshInfXmlCheck extends AbstractStaticCheck {
             if (isESHParentDirectory) {
                 switch (fileParentDirectory.getName()) {
                     case THING_DIRECTORY: {
-                        checkThingTypeFile(xmlFile);
+                        checkThingTypeFile(xmlFile, fileText);
                         break;
                     }
                     case BINDING_DIRECTORY: {
-                        checkBindingFile(xmlFile);
+                        checkBindingFile(xmlFile, fileText);
                         break;
                     }
                     case CONFIGURATION_DIRECTORY: {
-                        checkConfigFile(xmlFile);
+                        checkConfigFile(xmlFile, fileText);
                         break;
                     }
                     default:
@@ -92,24 +92,27 @@ public abstract class AbstractEshInfXmlCheck extends AbstractStaticCheck {
      * Validate a .xml file located in the ESH-INF/config directory
      *
      * @param xmlFile the file to validate
+     * @param fileText the content of the file
      * @throws CheckstyleException when exception occurred during XML processing
      */
-    protected abstract void checkConfigFile(File xmlFile) throws CheckstyleException;
+    protected abstract void checkConfigFile(File xmlFile, FileText fileText) throws CheckstyleException;
 
     /**
      * Validate a .xml file located in the ESH-INF/binding directory
      *
      * @param xmlFile the file to validate
+     * @param fileText the content of the file
      * @throws CheckstyleException when exception occurred during XML processing
      */
-    protected abstract void checkBindingFile(File xmlFile) throws CheckstyleException;
+    protected abstract void checkBindingFile(File xmlFile, FileText fileText) throws CheckstyleException;
 
     /**
      * Validate a .xml file located in the ESH-INF/thing directory
      *
      * @param xmlFile the file to validate
+     * @param fileText the content of the file
      * @throws CheckstyleException when exception occurred during XML processing
      */
-    protected abstract void checkThingTypeFile(File xmlFile) throws CheckstyleException;
+    protected abstract void checkThingTypeFile(File xmlFile, FileText fileText) throws CheckstyleException;
 
 }
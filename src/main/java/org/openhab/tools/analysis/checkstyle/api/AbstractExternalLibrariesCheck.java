@@ -8,11 +8,9 @@
 package org.openhab.tools.analysis.checkstyle.api;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.eclipse.pde.core.build.IBuildEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,23 +25,40 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 public abstract class AbstractExternalLibrariesCheck extends AbstractStaticCheck {
     protected static final String LIB_FOLDER_NAME = "lib";
     protected static final String JAR_FILE_EXTENSION = ".jar";
-    private static final String BIN_EXCLUDES = "bin.excludes";
     protected static final String COULD_NOT_OPEN_BUILD_PROPERTIES = "Could not open build properties";
     private static final Logger logger = LoggerFactory.getLogger(AbstractExternalLibrariesCheck.class);
 
+    /**
+     * Gets the jar files in the lib folder, that are not excluded in the build.properties file of the bundle
+     *
+     * @param libDirectory - the lib folder
+     * @param buildPropertiesPath - the path of the build.properties file, that is read once
+     * @return the names of the jar files
+     */
     protected List<String> getLibFolderJarFiles(File libDirectory, String buildPropertiesPath) {
-        List<String> excludedJarFiles = new ArrayList<>();
+        BuildProperties buildProperties = null;
         try {
-            excludedJarFiles = getExcludedJarFiles(buildPropertiesPath);
-        } catch (IOException e) {
+            buildProperties = parseBuildProperties(new File(buildPropertiesPath));
+        } catch (CheckstyleException e) {
             logger.error(COULD_NOT_OPEN_BUILD_PROPERTIES);
         }
+        return getLibFolderJarFiles(libDirectory, buildProperties);
+    }
+
+    /**
+     * Gets the jar files in the lib folder, that are not excluded in the build.properties file of the bundle
+     *
+     * @param libDirectory - the lib folder
+     * @param buildProperties - the parsed build.properties file, or null if it could not be read
+     * @return the names of the jar files
+     */
+    protected List<String> getLibFolderJarFiles(File libDirectory, BuildProperties buildProperties) {
+        List<String> excludedJarFiles = getExcludedJarFiles(buildProperties);
 
-        File[] files = libDirectory.listFiles();
+        BundleIndex bundleIndex = BundleIndex.get(libDirectory.getParentFile());
         List<String> libJarFiles = new ArrayList<>();
-        for (File file : files) {
-            if (!file.isDirectory() && file.getName().endsWith(JAR_FILE_EXTENSION)) {
-                String fileName = LIB_FOLDER_NAME + "/" + file.getName();
+        for (String fileName : bundleIndex.getFiles(LIB_FOLDER_NAME, false)) {
+            if (fileName.endsWith(JAR_FILE_EXTENSION)) {
                 if (!excludedJarFiles.contains(fileName)) {
                     libJarFiles.add(fileName);
                 }
@@ -53,16 +68,11 @@ public abstract class AbstractExternalLibrariesCheck extends AbstractStaticCheck
         return libJarFiles;
     }
 
-    private List<String> getExcludedJarFiles(String buildPropertiesPath) throws IOException {
-        File buildProperties = new File(buildPropertiesPath);
-        IBuildEntry binExcludesEntry = null;
-        try {
-            binExcludesEntry = parseBuildProperties(buildProperties).getEntry(BIN_EXCLUDES);
-        } catch (CheckstyleException ex) {
-            throw new IOException(COULD_NOT_OPEN_BUILD_PROPERTIES);
-        }
-
+    private List<String> getExcludedJarFiles(BuildProperties buildProperties) {
         List<String> excludedJarFiles = new ArrayList<>();
+        BuildProperties.Entry binExcludesEntry = buildProperties != null
+                ? buildProperties.getEntry(CheckConstants.BIN_EXCLUDES_PROPERTY_NAME)
+                : null;
         if (binExcludesEntry != null) {
             String[] binExcludes = binExcludesEntry.getTokens();
             for (int i = 0; i < binExcludes.length; i++) {
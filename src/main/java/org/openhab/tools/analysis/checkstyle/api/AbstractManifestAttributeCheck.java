@@ -15,6 +15,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex.Header;
+
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 
@@ -45,14 +47,15 @@ public class AbstractManifestAttributeCheck extends AbstractStaticCheck {
     }
 
     @Override
-    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
-        if (isEmpty(file)) {
+    protected void processFile(File file, FileText fileText) throws CheckstyleException {
+        if (isEmpty(fileText)) {
             // not our task to report
             return;
         }
-        String[] lines = fileText.toLinesArray();
+        ManifestIndex manifestIndex = new ManifestIndex(fileText);
 
-        List<String> bundleVendors = Arrays.stream(lines).filter(line -> line.toLowerCase().startsWith(lowerCasePrefix))
+        List<Header> bundleVendors = manifestIndex.getHeaders().stream()
+                .filter(header -> header.getText().toLowerCase().startsWith(lowerCasePrefix))
                 .collect(Collectors.toList());
 
         boolean tooMany = false;
@@ -65,9 +68,9 @@ public class AbstractManifestAttributeCheck extends AbstractStaticCheck {
             }
         }
 
-        int lineNumber = 0;
-        for (String bundleVendor : bundleVendors) {
-            lineNumber = findLineNumber(lines, bundleVendor, lineNumber);
+        for (Header header : bundleVendors) {
+            String bundleVendor = header.getText();
+            int lineNumber = header.getLine();
 
             if (tooMany) {
                 log(lineNumber, String.format("Only %d \"%s\" was expected.", maxOccurrences, attribute));
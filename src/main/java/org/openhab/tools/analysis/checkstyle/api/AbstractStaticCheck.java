@@ -8,38 +8,40 @@
  */
 package org.openhab.tools.analysis.checkstyle.api;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.jar.Manifest;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.apache.ivy.osgi.core.BundleInfo;
 import org.apache.ivy.osgi.core.ManifestParser;
-import org.eclipse.core.internal.filebuffers.SynchronizableDocument;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jface.text.IDocument;
-import org.eclipse.pde.core.build.IBuild;
-import org.eclipse.pde.internal.core.text.build.BuildModel;
 import org.jsoup.Jsoup;
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+import org.openhab.tools.analysis.profiling.AnalysisEvent;
+import org.openhab.tools.analysis.profiling.AnalysisEvents;
+import org.openhab.tools.analysis.utils.XmlParsers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
 
 /**
@@ -51,6 +53,118 @@ import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
  */
 public abstract class AbstractStaticCheck extends AbstractFileSetCheck {
 
+    private static final String CHECKSTYLE_TOOL = "checkstyle";
+    private static final String TIMEOUT_OUTCOME = "Timeout";
+
+    /**
+     * Default time budget for processing a file in milliseconds
+     */
+    public static final int DEFAULT_FILE_TIMEOUT = 60000;
+
+    /**
+     * Default time budget for fetching a remote resource in milliseconds
+     */
+    public static final int DEFAULT_FETCH_TIMEOUT = RemoteResourceCache.CONNECT_TIMEOUT
+            + RemoteResourceCache.READ_TIMEOUT;
+
+    private final Logger logger = LoggerFactory.getLogger(AbstractStaticCheck.class);
+
+    private int fileTimeout = DEFAULT_FILE_TIMEOUT;
+    private int fetchTimeout = DEFAULT_FETCH_TIMEOUT;
+
+    private final AnalysisCost analysisCost = AnalysisCostRecorder.createIfEnabled(CHECKSTYLE_TOOL,
+            getClass().getSimpleName());
+    private File analysisCostRecordsFile;
+
+    private final Map<String, XPathExpression> xpathExpressions = new HashMap<>();
+
+    /**
+     * Processes a file, that has one of the configured file extensions. The method is called by
+     * {@link #processFiltered(File, FileText)}, that records the time spent in it as analysis cost of the check, if the
+     * recording is enabled, and bounds it by the time budget of the check.
+     *
+     * @param file - the file to process
+     * @param fileText - the contents of the file
+     * @throws CheckstyleException if an error occurred while processing the file
+     */
+    protected abstract void processFile(File file, FileText fileText) throws CheckstyleException;
+
+    /**
+     * Sets the time budget for processing a file. When it is exceeded, the thread of the check is interrupted, which
+     * aborts blocking I/O, the waiting for remote resources and {@link Thread#sleep(long)}. A check, that only
+     * computes, is not stopped - it finishes the file, unless it checks {@link Thread#interrupted()} itself. The check
+     * continues with the next file in both cases.
+     *
+     * @param fileTimeout - the budget in milliseconds, 0 disables the budget
+     */
+    public void setFileTimeout(int fileTimeout) {
+        this.fileTimeout = fileTimeout;
+    }
+
+    /**
+     * Sets the time budget for fetching a remote resource
+     *
+     * @param fetchTimeout - the budget in milliseconds, 0 disables the budget
+     */
+    public void setFetchTimeout(int fetchTimeout) {
+        this.fetchTimeout = fetchTimeout;
+    }
+
+    /**
+     * @return the time budget for fetching a remote resource in milliseconds, 0 if there is no budget
+     */
+    protected int getFetchTimeout() {
+        return fetchTimeout;
+    }
+
+    @Override
+    protected void processFiltered(File file, FileText fileText) throws CheckstyleException {
+        try (AnalysisEvent event = AnalysisEvents.fileCheck(getClass().getSimpleName(), file)) {
+            AnalysisWatchdog.Watch watch = fileTimeout > 0 ? AnalysisWatchdog.watch(fileTimeout) : null;
+            try {
+                if (analysisCost == null) {
+                    processFile(file, fileText);
+                } else {
+                    measureProcessFile(file, fileText);
+                }
+            } catch (CheckstyleException | RuntimeException e) {
+                // Only an exception caused by the interruption of the check is not an error of the check
+                if (watch == null || !watch.isExpired() || !AnalysisWatchdog.isCausedByInterruption(e)) {
+                    event.setOutcome(e.getClass().getSimpleName());
+                    throw e;
+                }
+            } finally {
+                if (watch != null) {
+                    watch.close();
+                    if (watch.isExpired()) {
+                        event.setOutcome(TIMEOUT_OUTCOME);
+                        logger.warn("{} exceeded the time budget of {} ms for {}, the results for the file might be "
+                                + "incomplete", getClass().getSimpleName(), fileTimeout, file.getAbsolutePath());
+                    }
+                }
+            }
+        }
+    }
+
+    private void measureProcessFile(File file, FileText fileText) throws CheckstyleException {
+        if (analysisCostRecordsFile == null) {
+            analysisCostRecordsFile = AnalysisCostRecorder.getRecordsFile(file);
+        }
+        analysisCost.begin();
+        try {
+            processFile(file, fileText);
+        } finally {
+            analysisCost.end();
+            analysisCost.countFile(file.length());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        AnalysisCostRecorder.record(analysisCostRecordsFile, analysisCost);
+        super.destroy();
+    }
+
     /**
      * Finds the first occurrence of a text in a list of text lines representing the file content and
      * returns the line number, where the text was found
@@ -80,14 +194,24 @@ public abstract class AbstractStaticCheck extends AbstractFileSetCheck {
      * @param file - the input file
      * @return DOM Document object
      * @throws CheckstyleException - if an error occurred while trying to parse the file
+     * @deprecated use {@link #parseDomDocumentFromFile(FileText)} with the content of the processed file
      */
+    @Deprecated
     protected Document parseDomDocumentFromFile(File file) throws CheckstyleException {
-        try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-            Document document = builder.parse(file);
-            return document;
+        return parseDomDocumentFromFile(readFileText(file));
+    }
 
+    /**
+     * Parses the content of a processed file as an XML document, without reading the file again
+     *
+     * @param fileText - the content of the file
+     * @return DOM Document object
+     * @throws CheckstyleException - if an error occurred while trying to parse the file
+     */
+    protected Document parseDomDocumentFromFile(FileText fileText) throws CheckstyleException {
+        File file = fileText.getFile();
+        try {
+            return XmlParsers.getDocumentBuilder().parse(createInputSource(fileText));
         } catch (ParserConfigurationException e) {
             throw new CheckstyleException("Serious configuration error occured while creating a DocumentBuilder.", e);
         } catch (SAXException e) {
@@ -115,24 +239,68 @@ public abstract class AbstractStaticCheck extends AbstractFileSetCheck {
         }
     }
 
+    /**
+     * Parses the content of a processed Manifest file, without reading the file again
+     *
+     * @param fileText - the content of the file
+     * @return Bundle info extracted from the bundle manifest
+     * @throws CheckstyleException - if an error occurred while trying to parse the file
+     */
+    protected BundleInfo parseManifestFromFile(FileText fileText) throws CheckstyleException {
+        File file = fileText.getFile();
+        try {
+            return ManifestParser.parseManifest(toInputStream(fileText, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new CheckstyleException("Unable to read from file: " + file.getAbsolutePath(), e);
+        } catch (ParseException e) {
+            throw new CheckstyleException("Unable to parse file:" + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Parses the content of a processed Manifest file as a JAR manifest, without reading the file again. The values
+     * of the headers are easier to access in a JAR manifest, than in a {@link BundleInfo}.
+     *
+     * @param fileText - the content of the file
+     * @return the manifest
+     * @throws CheckstyleException - if an error occurred while trying to parse the file
+     */
+    protected Manifest parseJarManifest(FileText fileText) throws CheckstyleException {
+        try {
+            return new Manifest(toInputStream(fileText, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new CheckstyleException("Unable to read from file: " + fileText.getFile().getAbsolutePath(), e);
+        }
+    }
+
     /**
      * Reads a properties list from a file
      *
      * @param file - the input file
      * @return Properties object containing all the read properties
      * @throws CheckstyleException - if an error occurred while trying to parse the file
+     * @deprecated use {@link #readPropertiesFromFile(FileText)} with the content of the processed file
      */
+    @Deprecated
     protected Properties readPropertiesFromFile(File file) throws CheckstyleException {
-        String filePath = file.getAbsolutePath();
+        return readPropertiesFromFile(readFileText(file));
+    }
 
-        try (InputStream buildPropertiesInputStream = new FileInputStream(filePath)) {
+    /**
+     * Reads a properties list from a processed file, without reading the file again
+     *
+     * @param fileText - the content of the file
+     * @return Properties object containing all the read properties
+     * @throws CheckstyleException - if an error occurred while trying to parse the file
+     */
+    protected Properties readPropertiesFromFile(FileText fileText) throws CheckstyleException {
+        try {
             Properties properties = new Properties();
-            properties.load(buildPropertiesInputStream);
+            properties.load(new StringReader(fileText.getFullText().toString()));
             return properties;
-        } catch (FileNotFoundException e) {
-            throw new CheckstyleException("File: " + file.getAbsolutePath() + " does not exist.", e);
         } catch (IOException e) {
-            throw new CheckstyleException("Unable to read properties from: " + file.getAbsolutePath(), e);
+            throw new CheckstyleException("Unable to read properties from: " + fileText.getFile().getAbsolutePath(),
+                    e);
         }
     }
 
@@ -142,54 +310,66 @@ public abstract class AbstractStaticCheck extends AbstractFileSetCheck {
      * @param file - the input file
      * @return HTML Document representation of the file
      * @throws CheckstyleException - if an error occurred while trying to parse the file
+     * @deprecated use {@link #parseHTMLDocumentFromFile(FileText)} with the content of the processed file
      */
+    @Deprecated
     protected org.jsoup.nodes.Document parseHTMLDocumentFromFile(File file) throws CheckstyleException {
-        try {
-            byte[] fileByteArray = Files.readAllBytes(file.toPath());
-            String fileContent = new String(fileByteArray);
-            org.jsoup.nodes.Document fileDocument = Jsoup.parse(fileContent);
-            return fileDocument;
-        } catch (IOException e) {
-            throw new CheckstyleException("Unable to read the content of the file" + file.getAbsolutePath(), e);
-        }
+        return parseHTMLDocumentFromFile(readFileText(file));
+    }
 
+    /**
+     * Parses the content of a processed file as a HTML file, without reading the file again
+     *
+     * @param fileText - the content of the file
+     * @return HTML Document representation of the file
+     */
+    protected org.jsoup.nodes.Document parseHTMLDocumentFromFile(FileText fileText) {
+        return Jsoup.parse(fileText.getFullText().toString());
     }
 
     /**
-     * Compiles an XPathExpression
+     * Compiles an XPathExpression. Every expression is compiled once per check.
+     * <p>
+     * Consider subscribing for the paths in a {@link XmlStreamDispatcher} instead, if the expression only selects
+     * elements or attributes, as the dispatcher does not need a DOM document.
      *
      * @param expresion - the XPath expression
      * @return compiled XPath expression
      * @throws CheckstyleException if an error occurred during the compilation
      */
     protected XPathExpression compileXPathExpression(String expresion) throws CheckstyleException {
-        XPathFactory factory = XPathFactory.newInstance();
-        XPath xpath = factory.newXPath();
-        try {
-            return xpath.compile(expresion);
-        } catch (XPathExpressionException e) {
-            throw new CheckstyleException("Unable to compile the expression" + expresion, e);
+        XPathExpression xpathExpression = xpathExpressions.get(expresion);
+        if (xpathExpression == null) {
+            try {
+                xpathExpression = XmlParsers.getXPath().compile(expresion);
+            } catch (XPathExpressionException e) {
+                throw new CheckstyleException("Unable to compile the expression" + expresion, e);
+            }
+            xpathExpressions.put(expresion, xpathExpression);
         }
+        return xpathExpression;
     }
 
     /**
      * Parses the content of a given file as a build.properties file
      *
      * @param file - the input file
-     * @return IBuild representation of the file
+     * @return the entries of the file
      * @throws CheckstyleException - if an error occurred while trying to parse the file
      */
-    protected IBuild parseBuildProperties(File file) throws CheckstyleException {
-        IDocument document = new SynchronizableDocument();
-        BuildModel buildModel = new BuildModel(document, false);
-        try {
-            buildModel.load(new FileInputStream(file), true);
-            return buildModel.getBuild();
-        } catch (FileNotFoundException e) {
-            throw new CheckstyleException("File: " + file.getAbsolutePath() + " does not exist.", e);
-        } catch (CoreException e) {
-            throw new CheckstyleException("Unable to read build.properties file", e);
-        }
+    protected BuildProperties parseBuildProperties(File file) throws CheckstyleException {
+        return BuildProperties.read(file);
+    }
+
+    /**
+     * Parses the content of a processed build.properties file, without reading the file again
+     *
+     * @param fileText - the content of the file
+     * @return the entries of the file
+     * @throws CheckstyleException - if an error occurred while trying to parse the file
+     */
+    protected BuildProperties parseBuildProperties(FileText fileText) throws CheckstyleException {
+        return BuildProperties.parse(fileText);
     }
 
     /**
@@ -197,16 +377,53 @@ public abstract class AbstractStaticCheck extends AbstractFileSetCheck {
      *
      * @param file - the file to check
      * @return true if the file is empty, otherwise false
+     * @deprecated use {@link #isEmpty(FileText)} with the content of the processed file
      */
+    @Deprecated
     protected boolean isEmpty(File file) {
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(file))) {
-            if (bufferedReader.readLine() == null) {
-                return true;
-            }
-        } catch (IOException e) {
+        try {
+            return isEmpty(readFileText(file));
+        } catch (CheckstyleException e) {
             return false;
         }
-        return false;
+    }
+
+    /**
+     * Checks whether a processed file is empty
+     *
+     * @param fileText - the content of the file
+     * @return true if the file is empty, otherwise false
+     */
+    protected boolean isEmpty(FileText fileText) {
+        return fileText.getFullText().length() == 0;
+    }
+
+    /**
+     * Reads a file, that is not processed by the check, for the deprecated helpers with a {@link File} parameter
+     */
+    private static FileText readFileText(File file) throws CheckstyleException {
+        try {
+            return new FileText(file, StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            throw new CheckstyleException("Unable to read the content of the file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Creates an input source for the content of a processed file. The system id of the file is kept, so that the
+     * parser can report the file in its errors.
+     */
+    private static InputSource createInputSource(FileText fileText) {
+        InputSource source = new InputSource(new StringReader(fileText.getFullText().toString()));
+        source.setSystemId(fileText.getFile().toURI().toString());
+        return source;
+    }
+
+    /**
+     * Encodes the content of a processed file for the parsers, that accept only byte streams
+     */
+    private static InputStream toInputStream(FileText fileText, Charset charset) {
+        return new ByteArrayInputStream(fileText.getFullText().toString().getBytes(charset));
     }
 
     /**
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Enforces the time budgets of the checks.
+ * <p>
+ * A remote resource is fetched by a separate thread with {@link #fetch(Callable, long)}, so the check stops waiting
+ * for it, when its budget is exceeded. The processing of a file is watched with {@link #watch(long)} - the thread of
+ * the check is interrupted, when the budget of the file is exceeded, which aborts the blocking I/O and the waiting for
+ * fetches. The interruption does not stop a computation, so only the interruptible work of a check is bounded. The
+ * check is not moved to another thread, that could be abandoned, because a check is not thread safe and would keep
+ * logging messages for the abandoned file. The threads of the watchdog are daemon threads and are shared by all
+ * checks.
+ *
+ * @author agent - Initial contribution
+ */
+public final class AnalysisWatchdog {
+
+    private static final ScheduledExecutorService TIMER = Executors
+            .newSingleThreadScheduledExecutor(daemonThreads("analysis-watchdog"));
+    private static final ExecutorService FETCHERS = Executors.newCachedThreadPool(daemonThreads("analysis-fetch"));
+
+    private AnalysisWatchdog() {
+    }
+
+    /**
+     * Fetches a remote resource within a time budget
+     *
+     * @param fetch - fetches the resource
+     * @param budgetMillis - the time budget in milliseconds, 0 or less for no budget
+     * @return the result of the fetch
+     * @throws TimeoutException - if the budget is exceeded, the fetch is interrupted
+     * @throws InterruptedException - if the waiting thread is interrupted, the fetch is interrupted as well
+     * @throws ExecutionException - if the fetch fails, the cause is the exception thrown by the fetch
+     */
+    public static <T> T fetch(Callable<T> fetch, long budgetMillis)
+            throws TimeoutException, InterruptedException, ExecutionException {
+        Future<T> future = FETCHERS.submit(fetch);
+        try {
+            return budgetMillis > 0 ? future.get(budgetMillis, TimeUnit.MILLISECONDS) : future.get();
+        } finally {
+            // Does nothing, if the fetch is completed
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Starts watching the current thread
+     *
+     * @param budgetMillis - the time budget in milliseconds
+     * @return the watch, that has to be closed when the watched work is completed
+     */
+    public static Watch watch(long budgetMillis) {
+        return new Watch(Thread.currentThread(), budgetMillis);
+    }
+
+    /**
+     * Checks if an exception was caused by the interruption of the thread, that threw it
+     *
+     * @param exception - the exception
+     * @return true if the exception or one of its causes reports an interruption
+     */
+    public static boolean isCausedByInterruption(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            // A socket timeout is an InterruptedIOException as well, but it is not caused by an interruption
+            if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException
+                    || cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Interrupts the watched thread, when the time budget is exceeded before the watch is closed
+     */
+    public static class Watch implements AutoCloseable {
+        private final Thread thread;
+        private final ScheduledFuture<?> timer;
+        private boolean closed;
+        private boolean expired;
+
+        private Watch(Thread thread, long budgetMillis) {
+            this.thread = thread;
+            this.timer = TIMER.schedule(this::expire, budgetMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void expire() {
+            if (!closed) {
+                expired = true;
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * @return true if the budget was exceeded before the watch was closed
+         */
+        public synchronized boolean isExpired() {
+            return expired;
+        }
+
+        /**
+         * Stops the watch. The interrupted status of the watched thread is cleared, if the budget was exceeded, so
+         * the thread can continue with the next work.
+         */
+        @Override
+        public synchronized void close() {
+            closed = true;
+            timer.cancel(false);
+            if (expired && thread == Thread.currentThread()) {
+                Thread.interrupted();
+            }
+        }
+    }
+}
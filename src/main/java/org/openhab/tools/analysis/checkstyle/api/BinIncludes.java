@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides which files of a bundle are packaged according to the bin.includes and bin.excludes properties of the
+ * build.properties file.
+ * <p>
+ * The values of both properties are compiled into path trees with one level for every path segment. A value includes
+ * the file or directory it names and everything below it. The segments may contain the wildcards "*" and "?" and the
+ * segment "**" matches any number of directories. The value "." is the library built from the sources and does not
+ * include any file of the bundle. A path is matched in time proportional to the number of its segments.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinIncludes {
+
+    private static final String SEPARATOR = "/";
+    private static final String ANY_DEPTH = "**";
+    private static final String LIBRARY = ".";
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final Map<String, Node> globChildren = new LinkedHashMap<>();
+        private Node anyDepthChild;
+        private boolean anyDepth;
+        private boolean terminal;
+
+        private Node getOrCreateChild(String segment) {
+            if (ANY_DEPTH.equals(segment)) {
+                if (anyDepthChild == null) {
+                    anyDepthChild = new Node();
+                    anyDepthChild.anyDepth = true;
+                }
+                return anyDepthChild;
+            }
+            Map<String, Node> map = isGlob(segment) ? globChildren : children;
+            return map.computeIfAbsent(segment, s -> new Node());
+        }
+    }
+
+    private final Node includes = new Node();
+    private final Node excludes = new Node();
+
+    private BinIncludes(String[] includedValues, String[] excludedValues) {
+        addAll(includes, includedValues);
+        addAll(excludes, excludedValues);
+    }
+
+    /**
+     * Compiles the bin.includes and bin.excludes properties of a build.properties file
+     *
+     * @param buildProperties - the parsed build.properties file
+     * @return the compiled properties, if the bin.includes property is missing no file is included
+     */
+    public static BinIncludes compile(BuildProperties buildProperties) {
+        return new BinIncludes(getTokens(buildProperties, BIN_INCLUDES_PROPERTY_NAME),
+                getTokens(buildProperties, BIN_EXCLUDES_PROPERTY_NAME));
+    }
+
+    /**
+     * Compiles the values of the bin.includes and bin.excludes properties
+     *
+     * @param includedValues - the values of the bin.includes property
+     * @param excludedValues - the values of the bin.excludes property
+     * @return the compiled properties
+     */
+    public static BinIncludes compile(String[] includedValues, String[] excludedValues) {
+        return new BinIncludes(includedValues, excludedValues);
+    }
+
+    /**
+     * Checks if a file or a directory is packaged
+     *
+     * @param relativePath - path relative to the bundle directory, e.g. "ESH-INF/thing/thing-types.xml" or "doc"
+     * @return true if the path is included and not excluded
+     */
+    public boolean isIncluded(String relativePath) {
+        String[] segments = split(relativePath);
+        return segments.length > 0 && matches(includes, segments) && !matches(excludes, segments);
+    }
+
+    private static String[] getTokens(BuildProperties buildProperties, String property) {
+        BuildProperties.Entry entry = buildProperties.getEntry(property);
+        return entry != null ? entry.getTokens() : new String[0];
+    }
+
+    private static void addAll(Node root, String[] values) {
+        for (String value : values) {
+            String[] segments = split(value);
+            if (segments.length == 0 || (segments.length == 1 && LIBRARY.equals(segments[0]))) {
+                continue;
+            }
+            Node node = root;
+            for (String segment : segments) {
+                node = node.getOrCreateChild(segment);
+            }
+            node.terminal = true;
+        }
+    }
+
+    /**
+     * Matches the segments of a path against a tree. All nodes that match the current prefix of the path are tracked
+     * at once, so every segment is visited once.
+     */
+    private static boolean matches(Node root, String[] segments) {
+        List<Node> active = new ArrayList<>();
+        addWithAnyDepthChildren(active, root);
+        for (String segment : segments) {
+            List<Node> next = new ArrayList<>();
+            for (Node node : active) {
+                if (node.terminal) {
+                    // A parent directory of the path is included
+                    return true;
+                }
+                if (node.anyDepth) {
+                    addWithAnyDepthChildren(next, node);
+                }
+                Node child = node.children.get(segment);
+                if (child != null) {
+                    addWithAnyDepthChildren(next, child);
+                }
+                for (Map.Entry<String, Node> globChild : node.globChildren.entrySet()) {
+                    if (matchesGlob(globChild.getKey(), segment)) {
+                        addWithAnyDepthChildren(next, globChild.getValue());
+                    }
+                }
+            }
+            if (next.isEmpty()) {
+                return false;
+            }
+            active = next;
+        }
+        for (Node node : active) {
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a node and the "**" nodes below it, as they match zero directories as well
+     */
+    private static void addWithAnyDepthChildren(List<Node> nodes, Node node) {
+        for (Node current = node; current != null; current = current.anyDepthChild) {
+            if (!nodes.contains(current)) {
+                nodes.add(current);
+            }
+        }
+    }
+
+    private static String[] split(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.trim().replace('\\', '/').split(SEPARATOR)) {
+            if (!segment.isEmpty() && !(LIBRARY.equals(segment) && !segments.isEmpty())) {
+                segments.add(segment);
+            }
+        }
+        // "./META-INF" is the same as "META-INF"
+        if (segments.size() > 1 && LIBRARY.equals(segments.get(0))) {
+            segments.remove(0);
+        }
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    private static boolean isGlob(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0;
+    }
+
+    /**
+     * Matches a single path segment against a pattern with "*" and "?" wildcards
+     */
+    private static boolean matchesGlob(String pattern, String segment) {
+        int patternIndex = 0;
+        int segmentIndex = 0;
+        int starIndex = -1;
+        int starMatchIndex = 0;
+        while (segmentIndex < segment.length()) {
+            if (patternIndex < pattern.length() && (pattern.charAt(patternIndex) == '?'
+                    || pattern.charAt(patternIndex) == segment.charAt(segmentIndex))) {
+                patternIndex++;
+                segmentIndex++;
+            } else if (patternIndex < pattern.length() && pattern.charAt(patternIndex) == '*') {
+                starIndex = patternIndex++;
+                starMatchIndex = segmentIndex;
+            } else if (starIndex >= 0) {
+                // Let the last star match one more character
+                patternIndex = starIndex + 1;
+                segmentIndex = ++starMatchIndex;
+            } else {
+                return false;
+            }
+        }
+        while (patternIndex < pattern.length() && pattern.charAt(patternIndex) == '*') {
+            patternIndex++;
+        }
+        return patternIndex == pattern.length();
+    }
+}
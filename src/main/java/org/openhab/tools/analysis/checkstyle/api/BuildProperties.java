@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * The entries of a build.properties file.
+ * <p>
+ * The file is tokenized in a single pass with the syntax of {@link java.util.Properties} - comments, continuation
+ * lines and escape sequences are supported. The value of every entry is split at the commas into trimmed tokens, as
+ * the PDE build does, and every entry keeps the line where its key is written.
+ *
+ * @author agent - Initial contribution
+ */
+public class BuildProperties {
+
+    private static final char TOKEN_SEPARATOR = ',';
+    private static final char ESCAPE = '\\';
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private BuildProperties() {
+    }
+
+    /**
+     * Reads a build.properties file. The file is decoded with ISO 8859-1 like all properties files.
+     *
+     * @param file - the build.properties file
+     * @return the entries of the file
+     * @throws CheckstyleException - if the file does not exist or can not be read
+     */
+    public static BuildProperties read(File file) throws CheckstyleException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.ISO_8859_1)) {
+            return parse(reader);
+        } catch (NoSuchFileException e) {
+            throw new CheckstyleException("File: " + file.getAbsolutePath() + " does not exist.", e);
+        } catch (IOException e) {
+            throw new CheckstyleException("Unable to read build.properties file", e);
+        }
+    }
+
+    /**
+     * Parses the content of a build.properties file processed by Checkstyle
+     *
+     * @param fileText - the content of the file
+     * @return the entries of the file
+     */
+    public static BuildProperties parse(FileText fileText) {
+        try {
+            return parse(new StringReader(fileText.getFullText().toString()));
+        } catch (IOException e) {
+            // A StringReader does not throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Parses build.properties entries
+     *
+     * @param reader - reader of the entries, it is not closed
+     * @return the entries
+     * @throws IOException - if the reader fails
+     */
+    public static BuildProperties parse(Reader reader) throws IOException {
+        BuildProperties buildProperties = new BuildProperties();
+        BufferedReader lineReader = reader instanceof BufferedReader ? (BufferedReader) reader
+                : new BufferedReader(reader);
+
+        StringBuilder logicalLine = new StringBuilder();
+        boolean inEntry = false;
+        int entryLine = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            lineNumber++;
+            int start = skipWhitespace(line, 0);
+            if (!inEntry) {
+                // Comments and blank lines are recognized only outside of a continued entry
+                if (start == line.length() || line.charAt(start) == '#' || line.charAt(start) == '!') {
+                    continue;
+                }
+                inEntry = true;
+                entryLine = lineNumber;
+            }
+
+            boolean continued = isContinued(line);
+            logicalLine.append(line, start, continued ? line.length() - 1 : line.length());
+            if (!continued) {
+                buildProperties.addEntry(logicalLine, entryLine);
+                logicalLine.setLength(0);
+                inEntry = false;
+            }
+        }
+        if (inEntry) {
+            // The last line of the file ends with a backslash
+            buildProperties.addEntry(logicalLine, entryLine);
+        }
+        return buildProperties;
+    }
+
+    /**
+     * Gets an entry
+     *
+     * @param name - the name of the entry, e.g. "bin.includes"
+     * @return the entry, or null if the file does not contain it
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * @return all entries in the order they are written in the file
+     */
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    private void addEntry(CharSequence logicalLine, int line) {
+        int length = logicalLine.length();
+        int keyEnd = 0;
+        while (keyEnd < length) {
+            char c = logicalLine.charAt(keyEnd);
+            if (c == ESCAPE) {
+                keyEnd += 2;
+            } else if (c == '=' || c == ':' || isWhitespace(c)) {
+                break;
+            } else {
+                keyEnd++;
+            }
+        }
+        keyEnd = Math.min(keyEnd, length);
+
+        int valueStart = skipWhitespace(logicalLine, keyEnd);
+        if (valueStart < length && (logicalLine.charAt(valueStart) == '=' || logicalLine.charAt(valueStart) == ':')) {
+            valueStart = skipWhitespace(logicalLine, valueStart + 1);
+        }
+
+        String name = unescape(logicalLine, 0, keyEnd);
+        String value = unescape(logicalLine, valueStart, length);
+        // A repeated key replaces the previous entry, as in java.util.Properties
+        entries.remove(name);
+        entries.put(name, new Entry(name, tokenize(value), line));
+    }
+
+    private static String[] tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        while (start <= value.length()) {
+            int end = value.indexOf(TOKEN_SEPARATOR, start);
+            if (end < 0) {
+                end = value.length();
+            }
+            String token = value.substring(start, end).trim();
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+            start = end + 1;
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    /**
+     * A line is continued, if it ends with an odd number of backslashes
+     */
+    private static boolean isContinued(String line) {
+        int backslashes = 0;
+        for (int index = line.length() - 1; index >= 0 && line.charAt(index) == ESCAPE; index--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static String unescape(CharSequence text, int start, int end) {
+        StringBuilder result = new StringBuilder(end - start);
+        int index = start;
+        while (index < end) {
+            char c = text.charAt(index++);
+            if (c != ESCAPE || index == end) {
+                result.append(c);
+                continue;
+            }
+            c = text.charAt(index++);
+            switch (c) {
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'u':
+                    if (index + 4 <= end && isHexDigits(text, index, index + 4)) {
+                        result.append((char) Integer.parseInt(text.subSequence(index, index + 4).toString(), 16));
+                        index += 4;
+                    } else {
+                        // Malformed escape sequences are kept, the checks only read the file
+                        result.append(c);
+                    }
+                    break;
+                default:
+                    result.append(c);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isHexDigits(CharSequence text, int start, int end) {
+        for (int index = start; index < end; index++) {
+            if (Character.digit(text.charAt(index), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(CharSequence text, int start) {
+        int index = start;
+        while (index < text.length() && isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * An entry of a build.properties file
+     */
+    public static class Entry {
+        private final String name;
+        private final String[] tokens;
+        private final int line;
+
+        Entry(String name, String[] tokens, int line) {
+            this.name = name;
+            this.tokens = tokens;
+            this.line = line;
+        }
+
+        /**
+         * @return the name of the entry, e.g. "bin.includes"
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the comma separated values of the entry, trimmed and without empty values
+         */
+        public String[] getTokens() {
+            return tokens.clone();
+        }
+
+        /**
+         * @param token - a value
+         * @return true if the entry contains the value
+         */
+        public boolean contains(String token) {
+            for (String entryToken : tokens) {
+                if (entryToken.equals(token)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the line where the name of the entry is written
+         */
+        public int getLine() {
+            return line;
+        }
+    }
+}
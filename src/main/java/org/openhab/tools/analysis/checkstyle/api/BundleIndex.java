@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the files and directories of a bundle, that is shared by the checks that scan the bundle directory.
+ * <p>
+ * The index is built with a single walk over the bundle. The Maven output directory ({@value #PRUNED_DIRECTORY}) is
+ * recorded, but its content is not visited, so the cost of the walk does not depend on the size of the build output.
+ * The indexes of the recently used bundles are cached and are rebuilt, when the modification time of one of the
+ * indexed directories changes, i.e. when a file or directory is added, removed or renamed.
+ * <p>
+ * All paths are relative to the bundle directory and use "/" as separator.
+ *
+ * @author agent - Initial contribution
+ */
+public class BundleIndex {
+
+    /**
+     * Directory in the bundle root, that is not indexed
+     */
+    public static final String PRUNED_DIRECTORY = "target";
+
+    private static final char SEPARATOR = '/';
+    private static final int CACHE_SIZE = 16;
+
+    private static final Logger logger = LoggerFactory.getLogger(BundleIndex.class);
+
+    private static final Map<Path, BundleIndex> CACHE = new LinkedHashMap<Path, BundleIndex>(CACHE_SIZE, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, BundleIndex> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final Path bundleDirectory;
+    private final NavigableSet<String> files = new TreeSet<>();
+    private final NavigableSet<String> directories = new TreeSet<>();
+    private final List<Path> indexedDirectories = new ArrayList<>();
+    private final List<Long> modificationTimes = new ArrayList<>();
+
+    private BundleIndex(Path bundleDirectory) {
+        this.bundleDirectory = bundleDirectory;
+    }
+
+    /**
+     * Gets the index of a bundle. The index is built, if it is not cached or is outdated.
+     *
+     * @param bundleDirectory - the base directory of the bundle
+     * @return the index of the bundle
+     */
+    public static BundleIndex get(File bundleDirectory) {
+        Path path = bundleDirectory.toPath().toAbsolutePath().normalize();
+        synchronized (CACHE) {
+            BundleIndex index = CACHE.get(path);
+            if (index == null || !index.isUpToDate()) {
+                index = new BundleIndex(path);
+                index.build();
+                CACHE.put(path, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Checks if a file or a directory exists in the bundle
+     *
+     * @param relativePath - path relative to the bundle directory
+     * @return true if the file or the directory exists
+     */
+    public boolean exists(String relativePath) {
+        String path = normalize(relativePath);
+        if (isPruned(path)) {
+            return bundleDirectory.resolve(path).toFile().exists();
+        }
+        return path.isEmpty() || files.contains(path) || directories.contains(path);
+    }
+
+    /**
+     * Checks if a directory exists in the bundle
+     *
+     * @param relativePath - path relative to the bundle directory
+     * @return true if the directory exists
+     */
+    public boolean isDirectory(String relativePath) {
+        String path = normalize(relativePath);
+        if (isPruned(path)) {
+            return bundleDirectory.resolve(path).toFile().isDirectory();
+        }
+        return path.isEmpty() || directories.contains(path);
+    }
+
+    /**
+     * Gets the files in a directory of the bundle
+     *
+     * @param relativeDirectory - path of the directory relative to the bundle directory
+     * @param recursive - if true the files in the subdirectories are included as well
+     * @return the paths of the files relative to the bundle directory
+     */
+    public List<String> getFiles(String relativeDirectory, boolean recursive) {
+        String directory = normalize(relativeDirectory);
+        List<String> result = new ArrayList<>();
+        for (String file : getEntriesIn(files, directory)) {
+            if (recursive || file.indexOf(SEPARATOR, directory.isEmpty() ? 0 : directory.length() + 1) < 0) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets all files and directories of the bundle with a name, that ends with a given suffix. The content of the
+     * {@value #PRUNED_DIRECTORY} directory is not included.
+     *
+     * @param suffix - the suffix of the name, e.g. ".jar"
+     * @return the paths of the files and directories relative to the bundle directory
+     */
+    public List<String> getEntriesEndingWith(String suffix) {
+        List<String> result = new ArrayList<>();
+        for (String file : files) {
+            if (file.endsWith(suffix)) {
+                result.add(file);
+            }
+        }
+        for (String directory : directories) {
+            if (directory.endsWith(suffix)) {
+                result.add(directory);
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Gets the packages in a source directory - the directories that contain at least one file
+     *
+     * @param relativeSourceDirectory - path of the source directory relative to the bundle directory
+     * @return the names of the packages
+     */
+    public Set<String> getPackages(String relativeSourceDirectory) {
+        String sourceDirectory = normalize(relativeSourceDirectory);
+        Set<String> packages = new HashSet<>();
+        int packageStart = sourceDirectory.isEmpty() ? 0 : sourceDirectory.length() + 1;
+        for (String file : getEntriesIn(files, sourceDirectory)) {
+            int packageEnd = file.lastIndexOf(SEPARATOR);
+            String packagePath = packageEnd >= packageStart ? file.substring(packageStart, packageEnd) : "";
+            packages.add(packagePath.replace(SEPARATOR, '.'));
+        }
+        return packages;
+    }
+
+    /**
+     * Converts a path to a path relative to the bundle directory, that can be used for the queries
+     *
+     * @param path - absolute path or path relative to the bundle directory
+     * @return the relative path with "/" as separator
+     */
+    public String toRelativePath(Path path) {
+        Path relativePath = path.isAbsolute() ? bundleDirectory.relativize(path.normalize()) : path.normalize();
+        StringBuilder result = new StringBuilder();
+        for (Path name : relativePath) {
+            if (result.length() > 0) {
+                result.append(SEPARATOR);
+            }
+            result.append(name.toString());
+        }
+        return result.toString();
+    }
+
+    private SortedSet<String> getEntriesIn(NavigableSet<String> entries, String directory) {
+        if (directory.isEmpty()) {
+            return entries;
+        }
+        // All paths in the directory start with its path and a separator and are sorted after it
+        String prefix = directory + SEPARATOR;
+        return entries.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private boolean isPruned(String path) {
+        return path.equals(PRUNED_DIRECTORY) || path.startsWith(PRUNED_DIRECTORY + SEPARATOR);
+    }
+
+    private static String normalize(String relativePath) {
+        String path = relativePath.trim().replace(File.separatorChar, SEPARATOR);
+        while (path.startsWith("./")) {
+            path = path.substring(2);
+        }
+        while (path.endsWith(String.valueOf(SEPARATOR))) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.equals(".") ? "" : path;
+    }
+
+    private void build() {
+        if (!Files.isDirectory(bundleDirectory)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(bundleDirectory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                    String relativePath = toRelativePath(directory);
+                    if (!relativePath.isEmpty()) {
+                        directories.add(relativePath);
+                    }
+                    if (relativePath.equals(PRUNED_DIRECTORY)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    indexedDirectories.add(directory);
+                    modificationTimes.add(attributes.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    files.add(toRelativePath(file));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    logger.debug("Unable to index {}", file, e);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.error("An exception was thrown while indexing the bundle {}", bundleDirectory, e);
+        }
+    }
+
+    private boolean isUpToDate() {
+        if (indexedDirectories.isEmpty()) {
+            return !Files.isDirectory(bundleDirectory);
+        }
+        try {
+            for (int i = 0; i < indexedDirectories.size(); i++) {
+                long modificationTime = Files.getLastModifiedTime(indexedDirectories.get(i)).toMillis();
+                if (modificationTime != modificationTimes.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            // An indexed directory has been deleted
+            return false;
+        }
+    }
+}
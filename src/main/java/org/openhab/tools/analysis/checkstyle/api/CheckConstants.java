@@ -38,6 +38,7 @@ public class CheckConstants {
 
     // Properties
     public static final String BIN_INCLUDES_PROPERTY_NAME = "bin.includes";
+    public static final String BIN_EXCLUDES_PROPERTY_NAME = "bin.excludes";
     public static final String OUTPUT_PROPERTY_NAME = "output..";
     public static final String SOURCE_PROPERTY_NAME = "source..";
 
@@ -45,5 +46,8 @@ public class CheckConstants {
     public final static String REQUIRE_BUNDLE_HEADER_NAME = "Require-Bundle";
     public final static String FRAGMENT_HOST_HEADER_NAME = "Fragment-Host";
     public final static String BUNDLE_SYMBOLIC_NAME_HEADER_NAME = "Bundle-SymbolicName";
+    public final static String IMPORT_PACKAGE_HEADER_NAME = "Import-Package";
+    public final static String EXPORT_PACKAGE_HEADER_NAME = "Export-Package";
+    public final static String BUNDLE_CLASSPATH_HEADER_NAME = "Bundle-ClassPath";
 
 }
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.FullIdent;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+
+/**
+ * Information about a Java compilation unit, that is used by a TreeWalker check to resolve the types referenced in
+ * the compilation unit.
+ * <p>
+ * The information is computed on first use and only once per compilation unit.
+ *
+ * @author agent - Initial contribution
+ */
+public class CompilationUnitContext {
+
+    private static final String ON_DEMAND_IMPORT_SUFFIX = ".*";
+
+    private final DetailAST rootAST;
+
+    private String packageName;
+    private Map<String, String> singleTypeImports;
+    private List<String> onDemandImports;
+
+    public CompilationUnitContext(DetailAST rootAST) {
+        this.rootAST = rootAST;
+    }
+
+    /**
+     * Gets the name of the package of the compilation unit
+     *
+     * @return the name of the package, or an empty string for the default package
+     */
+    public String getPackageName() {
+        if (packageName == null) {
+            resolveDeclarations();
+        }
+        return packageName;
+    }
+
+    /**
+     * Gets the single type imports of the compilation unit, e.g. import org.osgi.util.tracker.ServiceTracker;
+     *
+     * @return the fully qualified names of the imported types by their simple names
+     */
+    public Map<String, String> getSingleTypeImports() {
+        if (singleTypeImports == null) {
+            resolveDeclarations();
+        }
+        return singleTypeImports;
+    }
+
+    /**
+     * Gets the type import on demand declarations of the compilation unit, e.g. import org.osgi.util.tracker.*;
+     *
+     * @return the names of the imported packages or types
+     */
+    public List<String> getOnDemandImports() {
+        if (onDemandImports == null) {
+            resolveDeclarations();
+        }
+        return onDemandImports;
+    }
+
+    /**
+     * Checks if a type name in the compilation unit refers to a type. A simple name refers to the type, if the type is
+     * imported with a single type import, or its package is imported on demand or is the package of the compilation
+     * unit. The check does not allocate any objects, once the imports are resolved.
+     *
+     * @param typeName - an IDENT or a DOT node, e.g. the first child of a TYPE node
+     * @param qualifiedName - the fully qualified name of the type
+     * @return true if the name refers to the type
+     */
+    public boolean isReferenceTo(DetailAST typeName, String qualifiedName) {
+        switch (typeName.getType()) {
+            case TokenTypes.DOT:
+                return matchesQualifiedName(typeName, qualifiedName, qualifiedName.length());
+            case TokenTypes.IDENT:
+                return isSimpleNameReferenceTo(typeName.getText(), qualifiedName);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isSimpleNameReferenceTo(String simpleName, String qualifiedName) {
+        int simpleNameStart = qualifiedName.lastIndexOf('.') + 1;
+        if (simpleName.length() != qualifiedName.length() - simpleNameStart
+                || !qualifiedName.startsWith(simpleName, simpleNameStart)) {
+            return false;
+        }
+
+        String importedName = getSingleTypeImports().get(simpleName);
+        if (importedName != null) {
+            // A single type import shadows the types imported on demand and the types in the same package
+            return importedName.equals(qualifiedName);
+        }
+
+        int packageLength = Math.max(simpleNameStart - 1, 0);
+        if (isPackageOf(getPackageName(), qualifiedName, packageLength)) {
+            return true;
+        }
+        for (String onDemandImport : getOnDemandImports()) {
+            if (isPackageOf(onDemandImport, qualifiedName, packageLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPackageOf(String packageName, String qualifiedName, int packageLength) {
+        return packageName.length() == packageLength && qualifiedName.startsWith(packageName);
+    }
+
+    /**
+     * Matches a qualified name node against the beginning of a qualified name, from the last identifier to the first
+     */
+    private static boolean matchesQualifiedName(DetailAST name, String qualifiedName, int end) {
+        if (name.getType() == TokenTypes.IDENT) {
+            String identifier = name.getText();
+            return identifier.length() == end && qualifiedName.startsWith(identifier);
+        }
+        if (name.getType() != TokenTypes.DOT) {
+            return false;
+        }
+        // The children of a DOT node are the qualifier, the identifier and optionally the type arguments
+        DetailAST qualifier = name.getFirstChild();
+        DetailAST identifierNode = qualifier.getNextSibling();
+        if (identifierNode == null || identifierNode.getType() != TokenTypes.IDENT) {
+            return false;
+        }
+        String identifier = identifierNode.getText();
+        int start = end - identifier.length();
+        return start > 0 && qualifiedName.charAt(start - 1) == '.' && qualifiedName.startsWith(identifier, start)
+                && matchesQualifiedName(qualifier, qualifiedName, start - 1);
+    }
+
+    private void resolveDeclarations() {
+        packageName = "";
+        Map<String, String> imports = new HashMap<>();
+        List<String> onDemand = new ArrayList<>();
+        // The package and the import declarations are siblings of the root node
+        for (DetailAST ast = rootAST; ast != null; ast = ast.getNextSibling()) {
+            switch (ast.getType()) {
+                case TokenTypes.PACKAGE_DEF:
+                    // The name is the node before the semicolon
+                    packageName = FullIdent.createFullIdent(ast.getLastChild().getPreviousSibling()).getText();
+                    break;
+                case TokenTypes.IMPORT:
+                    String importedName = FullIdent.createFullIdentBelow(ast).getText();
+                    if (importedName.endsWith(ON_DEMAND_IMPORT_SUFFIX)) {
+                        onDemand.add(importedName.substring(0,
+                                importedName.length() - ON_DEMAND_IMPORT_SUFFIX.length()));
+                    } else {
+                        imports.put(importedName.substring(importedName.lastIndexOf('.') + 1), importedName);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        singleTypeImports = Collections.unmodifiableMap(imports);
+        onDemandImports = Collections.unmodifiableList(onDemand);
+    }
+}
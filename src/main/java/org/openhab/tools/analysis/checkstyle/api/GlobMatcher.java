@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Matches names against a set of glob patterns, that are compiled once into a single automaton.
+ * <p>
+ * The patterns are combined into one nondeterministic automaton. Its deterministic states are built lazily, while
+ * names are matched, and are cached, so every name is matched in time linear in its length, regardless of the number
+ * of patterns. Instances are not thread safe.
+ *
+ * @author agent - Initial contribution
+ */
+public class GlobMatcher {
+
+    private static final String PACKAGE_WILDCARD = ".*";
+    private static final String REGEX_META_CHARACTERS = "\\[](){}|+?^$*";
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobMatcher.class);
+
+    private enum ElementType {
+        /** Matches the character of the element */
+        LITERAL,
+        /** Matches any single character */
+        ANY_CHARACTER,
+        /** Matches zero or more characters, that are allowed in a package name */
+        PACKAGE_WILDCARD
+    }
+
+    private static class Element {
+        private final ElementType type;
+        private final char character;
+
+        private Element(ElementType type, char character) {
+            this.type = type;
+            this.character = character;
+        }
+
+        private boolean accepts(char c) {
+            switch (type) {
+                case LITERAL:
+                    return c == character;
+                case ANY_CHARACTER:
+                    return true;
+                default:
+                    return isPackageCharacter(c);
+            }
+        }
+    }
+
+    /**
+     * State of the deterministic automaton - a set of states of the nondeterministic one
+     */
+    private static class State {
+        private final BitSet positions;
+        private final boolean accepting;
+        private final Map<Character, State> transitions = new HashMap<>();
+
+        private State(BitSet positions, boolean accepting) {
+            this.positions = positions;
+            this.accepting = accepting;
+        }
+    }
+
+    /**
+     * The elements of all patterns. Every pattern is terminated with a null element, that is its accepting position.
+     */
+    private final List<Element> elements = new ArrayList<>();
+    private final List<Pattern> regularExpressions = new ArrayList<>();
+    private final Map<BitSet, State> states = new HashMap<>();
+    private final State initialState;
+
+    private GlobMatcher(Iterable<String> packagePatterns) {
+        BitSet initialPositions = new BitSet();
+        for (String packagePattern : packagePatterns) {
+            String trimmedPattern = packagePattern.trim();
+            if (isGlob(trimmedPattern)) {
+                initialPositions.set(elements.size());
+                addPackageGlob(trimmedPattern);
+            } else {
+                addRegularExpression(trimmedPattern);
+            }
+        }
+        initialState = getState(closure(initialPositions));
+    }
+
+    /**
+     * Compiles package patterns. In a pattern ".*" matches any sequence of package name characters and "." matches any
+     * character, so the patterns keep the meaning they have as regular expressions. Patterns that use other regular
+     * expression constructs are compiled as regular expressions.
+     *
+     * @param packagePatterns - the patterns, e.g. "org.openhab.*" or ".*.internal.*"
+     * @return a matcher that matches a package against all patterns
+     */
+    public static GlobMatcher compilePackagePatterns(Iterable<String> packagePatterns) {
+        return new GlobMatcher(packagePatterns);
+    }
+
+    /**
+     * @see #compilePackagePatterns(Iterable)
+     * @param packagePatterns - the patterns, e.g. "org.openhab.*" or ".*.internal.*"
+     * @return a matcher that matches a package against all patterns
+     */
+    public static GlobMatcher compilePackagePatterns(String... packagePatterns) {
+        List<String> patterns = new ArrayList<>();
+        Collections.addAll(patterns, packagePatterns);
+        return new GlobMatcher(patterns);
+    }
+
+    /**
+     * Checks if a name matches completely at least one of the patterns
+     *
+     * @param name - the name to match
+     * @return true if the name matches a pattern, false otherwise
+     */
+    public boolean matches(String name) {
+        State state = initialState;
+        for (int i = 0; i < name.length() && !state.positions.isEmpty(); i++) {
+            state = next(state, name.charAt(i));
+        }
+        if (state.accepting) {
+            return true;
+        }
+        for (Pattern regularExpression : regularExpressions) {
+            if (regularExpression.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addPackageGlob(String pattern) {
+        int index = 0;
+        while (index < pattern.length()) {
+            if (pattern.startsWith(PACKAGE_WILDCARD, index)) {
+                elements.add(new Element(ElementType.PACKAGE_WILDCARD, '*'));
+                index += PACKAGE_WILDCARD.length();
+            } else {
+                char c = pattern.charAt(index);
+                elements.add(c == '.' ? new Element(ElementType.ANY_CHARACTER, c) : new Element(ElementType.LITERAL, c));
+                index++;
+            }
+        }
+        elements.add(null);
+    }
+
+    private void addRegularExpression(String pattern) {
+        try {
+            regularExpressions.add(Pattern.compile(pattern.replace(PACKAGE_WILDCARD, "[a-zA-Z0-9\\._-]*")));
+        } catch (PatternSyntaxException e) {
+            logger.error("Pattern {} syntax is invalid.", pattern, e);
+        }
+    }
+
+    private State next(State state, char c) {
+        State nextState = state.transitions.get(c);
+        if (nextState == null) {
+            BitSet nextPositions = new BitSet();
+            for (int position = state.positions.nextSetBit(0); position >= 0; position = state.positions
+                    .nextSetBit(position + 1)) {
+                Element element = elements.get(position);
+                if (element != null && element.accepts(c)) {
+                    nextPositions.set(element.type == ElementType.PACKAGE_WILDCARD ? position : position + 1);
+                }
+            }
+            nextState = getState(closure(nextPositions));
+            state.transitions.put(c, nextState);
+        }
+        return nextState;
+    }
+
+    /**
+     * Adds the positions that are reachable without consuming a character - a wildcard may match no characters
+     */
+    private BitSet closure(BitSet positions) {
+        BitSet result = (BitSet) positions.clone();
+        for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+            Element element = elements.get(position);
+            if (element != null && element.type == ElementType.PACKAGE_WILDCARD) {
+                result.set(position + 1);
+            }
+        }
+        return result;
+    }
+
+    private State getState(BitSet positions) {
+        State state = states.get(positions);
+        if (state == null) {
+            boolean accepting = false;
+            for (int position = positions.nextSetBit(0); position >= 0; position = positions
+                    .nextSetBit(position + 1)) {
+                accepting |= elements.get(position) == null;
+            }
+            state = new State(positions, accepting);
+            states.put(positions, state);
+        }
+        return state;
+    }
+
+    private static boolean isGlob(String pattern) {
+        String withoutWildcards = pattern.replace(PACKAGE_WILDCARD, "");
+        for (char c : withoutWildcards.toCharArray()) {
+            if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPackageCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '_'
+                || c == '-';
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Index of the headers and the clauses in a MANIFEST.MF file.
+ * <p>
+ * The index is built with a single pass over the lines of the file. Continuation lines (starting with a space) are
+ * joined with the header they belong to, but every clause keeps the line where it starts. The value of a header with
+ * clauses, like Import-Package or Export-Package, is tokenized on first use into its paths, attributes and
+ * directives. The headers and the clauses are looked up by name in constant time, so the checks that compare or
+ * report many packages run in linear time.
+ *
+ * @author agent - Initial contribution
+ */
+public class ManifestIndex {
+
+    private static final char HEADER_SEPARATOR = ':';
+    private static final char CLAUSE_SEPARATOR = ',';
+    private static final char PATH_SEPARATOR = ';';
+    private static final char PARAMETER_ASSIGNMENT = '=';
+    private static final char DIRECTIVE_MARKER = ':';
+    private static final char QUOTE = '"';
+
+    private final List<Header> headers = new ArrayList<>();
+    private final Map<String, List<Header>> headersByName = new HashMap<>();
+    private final Map<String, HeaderClauses> clausesByHeader = new HashMap<>();
+
+    /**
+     * A header of the manifest with its value and the line where it starts
+     */
+    public static class Header {
+        private final String name;
+        private final String text;
+        private final int line;
+        private final StringBuilder value = new StringBuilder();
+        private int[] continuationOffsets = new int[4];
+        private int continuations;
+
+        private Header(String name, String text, int line, String value) {
+            this.name = name;
+            this.text = text;
+            this.line = line;
+            this.value.append(value);
+        }
+
+        private void appendContinuation(String continuation) {
+            if (continuations == continuationOffsets.length) {
+                continuationOffsets = Arrays.copyOf(continuationOffsets, continuations * 2);
+            }
+            continuationOffsets[continuations++] = value.length();
+            value.append(continuation);
+        }
+
+        /**
+         * Gets the line of a character in the joined value
+         */
+        private int getLine(int valueOffset) {
+            int index = Arrays.binarySearch(continuationOffsets, 0, continuations, valueOffset);
+            return line + (index >= 0 ? index + 1 : -index - 1);
+        }
+
+        /**
+         * Gets the name of the header as written in the file. If the line does not contain a separator, the name is
+         * the whole line.
+         *
+         * @return the header name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the value of the header with the continuation lines joined
+         *
+         * @return the header value
+         */
+        public String getValue() {
+            return value.toString();
+        }
+
+        /**
+         * Gets the first line of the header as written in the file
+         *
+         * @return the text of the line, where the header starts
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the line number starting from 1, where the header starts
+         */
+        public int getLine() {
+            return line;
+        }
+    }
+
+    /**
+     * A clause of a header - one or more paths followed by attributes and directives, e.g.
+     * {@code org.example.api;version="1.0.0";resolution:=optional}
+     */
+    public static class Clause {
+        private final List<String> paths = new ArrayList<>(1);
+        private final List<Integer> pathLines = new ArrayList<>(1);
+        private Map<String, String> attributes = Collections.emptyMap();
+        private Map<String, String> directives = Collections.emptyMap();
+
+        private void addPath(String path, int line) {
+            paths.add(path);
+            pathLines.add(line);
+        }
+
+        private void addParameter(String name, String value, boolean directive) {
+            if (directive) {
+                if (directives.isEmpty()) {
+                    directives = new LinkedHashMap<>();
+                }
+                directives.putIfAbsent(name, value);
+            } else {
+                if (attributes.isEmpty()) {
+                    attributes = new LinkedHashMap<>();
+                }
+                attributes.putIfAbsent(name, value);
+            }
+        }
+
+        /**
+         * @return the paths of the clause, e.g. the package names
+         */
+        public List<String> getPaths() {
+            return Collections.unmodifiableList(paths);
+        }
+
+        /**
+         * @return the line number starting from 1, where the clause starts
+         */
+        public int getLine() {
+            return pathLines.get(0);
+        }
+
+        /**
+         * Gets an attribute of the clause, e.g. version
+         *
+         * @param name - the name of the attribute
+         * @return the value of the attribute without quotes, or null if the clause does not have it
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * @return unmodifiable map of the attributes and their values
+         */
+        public Map<String, String> getAttributes() {
+            return Collections.unmodifiableMap(attributes);
+        }
+
+        /**
+         * Gets a directive of the clause, e.g. resolution
+         *
+         * @param name - the name of the directive without the ":="
+         * @return the value of the directive without quotes, or null if the clause does not have it
+         */
+        public String getDirective(String name) {
+            return directives.get(name);
+        }
+
+        /**
+         * @return unmodifiable map of the directives and their values
+         */
+        public Map<String, String> getDirectives() {
+            return Collections.unmodifiableMap(directives);
+        }
+    }
+
+    /**
+     * The clauses of all occurrences of a header
+     */
+    private static class HeaderClauses {
+        private final List<Clause> clauses = new ArrayList<>();
+        private final Map<String, Clause> clausesByPath = new LinkedHashMap<>();
+    }
+
+    /**
+     * Builds the index of a MANIFEST.MF file
+     *
+     * @param fileText - the content of the file
+     */
+    public ManifestIndex(FileText fileText) {
+        Header current = null;
+        for (int i = 0; i < fileText.size(); i++) {
+            String line = fileText.get(i);
+            if (line.isEmpty()) {
+                // End of the main section or of an individual section
+                current = null;
+            } else if (line.charAt(0) == ' ') {
+                if (current != null) {
+                    current.appendContinuation(line.substring(1));
+                }
+            } else {
+                current = createHeader(line, i + 1);
+                headers.add(current);
+                headersByName.computeIfAbsent(toKey(current.getName()), k -> new ArrayList<>()).add(current);
+            }
+        }
+    }
+
+    private Header createHeader(String line, int lineNumber) {
+        int separatorIndex = line.indexOf(HEADER_SEPARATOR);
+        if (separatorIndex < 0) {
+            return new Header(line, line, lineNumber, "");
+        }
+        String value = line.substring(separatorIndex + 1);
+        // The value is separated from the name by a single space
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+        return new Header(line.substring(0, separatorIndex), line, lineNumber, value);
+    }
+
+    /**
+     * Gets all headers in the order of their occurrence
+     *
+     * @return unmodifiable list of the headers
+     */
+    public List<Header> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * Gets all occurrences of a header
+     *
+     * @param headerName - the name of the header, the case is ignored
+     * @return unmodifiable list of the headers with this name, empty if the header is missing
+     */
+    public List<Header> getHeaders(String headerName) {
+        List<Header> result = headersByName.get(toKey(headerName));
+        return result != null ? Collections.unmodifiableList(result) : Collections.emptyList();
+    }
+
+    /**
+     * Gets the line of the first occurrence of a header
+     *
+     * @param headerName - the name of the header, the case is ignored
+     * @return the line number starting from 1, or -1 if the header is missing
+     */
+    public int getHeaderLine(String headerName) {
+        List<Header> result = headersByName.get(toKey(headerName));
+        return result != null ? result.get(0).getLine() : -1;
+    }
+
+    /**
+     * Gets the line of a clause in a header with clauses, e.g. a package in Import-Package or Export-Package or a
+     * bundle in Require-Bundle
+     *
+     * @param headerName - the name of the header, the case is ignored
+     * @param path - the path of the clause, e.g. the package name
+     * @return the line number starting from 1, where the path is written, or -1 if the clause is missing
+     */
+    public int getClauseLine(String headerName, String path) {
+        Clause clause = getHeaderClauses(headerName).clausesByPath.get(path);
+        return clause != null ? clause.pathLines.get(clause.paths.indexOf(path)) : -1;
+    }
+
+    /**
+     * Gets the clauses of all occurrences of a header
+     *
+     * @param headerName - the name of the header, the case is ignored
+     * @return unmodifiable list of the clauses in the order of their occurrence, empty if the header is missing
+     */
+    public List<Clause> getClauses(String headerName) {
+        return Collections.unmodifiableList(getHeaderClauses(headerName).clauses);
+    }
+
+    /**
+     * Gets the first clause with a path
+     *
+     * @param headerName - the name of the header, the case is ignored
+     * @param path - the path of the clause, e.g. the package name
+     * @return the clause, or null if the header does not contain the path
+     */
+    public Clause getClause(String headerName, String path) {
+        return getHeaderClauses(headerName).clausesByPath.get(path);
+    }
+
+    /**
+     * Gets the paths of all clauses of a header, e.g. the names of the imported packages
+     *
+     * @param headerName - the name of the header, the case is ignored
+     * @return unmodifiable set of the paths in the order of their occurrence
+     */
+    public Set<String> getPaths(String headerName) {
+        return Collections.unmodifiableSet(getHeaderClauses(headerName).clausesByPath.keySet());
+    }
+
+    private HeaderClauses getHeaderClauses(String headerName) {
+        return clausesByHeader.computeIfAbsent(toKey(headerName), this::indexClauses);
+    }
+
+    private HeaderClauses indexClauses(String headerKey) {
+        HeaderClauses headerClauses = new HeaderClauses();
+        List<Header> result = headersByName.get(headerKey);
+        if (result != null) {
+            for (Header header : result) {
+                indexClauses(header, headerClauses);
+            }
+        }
+        return headerClauses;
+    }
+
+    /**
+     * Splits the value of a header to clauses and their elements. The parameters of a clause start with the first
+     * element, that contains an assignment. Separators in quoted parameter values are ignored.
+     */
+    private void indexClauses(Header header, HeaderClauses headerClauses) {
+        String value = header.getValue();
+        Clause clause = new Clause();
+        boolean quoted = false;
+        int assignment = -1;
+        int elementStart = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            char c = i < value.length() ? value.charAt(i) : CLAUSE_SEPARATOR;
+            if (c == QUOTE) {
+                quoted = !quoted;
+            } else if (c == PARAMETER_ASSIGNMENT && !quoted && assignment < elementStart) {
+                assignment = i;
+            } else if ((c == PATH_SEPARATOR || c == CLAUSE_SEPARATOR) && !quoted) {
+                if (assignment >= elementStart) {
+                    addParameter(clause, value, elementStart, assignment, i);
+                } else if (clause.attributes.isEmpty() && clause.directives.isEmpty()) {
+                    addPath(header, clause, value, elementStart, i);
+                }
+                if (c == CLAUSE_SEPARATOR) {
+                    addClause(clause, headerClauses);
+                    clause = new Clause();
+                }
+                elementStart = i + 1;
+            }
+        }
+    }
+
+    private void addPath(Header header, Clause clause, String value, int start, int end) {
+        int pathStart = start;
+        while (pathStart < end && Character.isWhitespace(value.charAt(pathStart))) {
+            pathStart++;
+        }
+        String path = value.substring(pathStart, end).trim();
+        if (!path.isEmpty()) {
+            clause.addPath(path, header.getLine(pathStart));
+        }
+    }
+
+    private void addParameter(Clause clause, String value, int start, int assignment, int end) {
+        boolean directive = assignment > start && value.charAt(assignment - 1) == DIRECTIVE_MARKER;
+        String name = value.substring(start, directive ? assignment - 1 : assignment).trim();
+        String parameterValue = value.substring(assignment + 1, end).trim();
+        if (parameterValue.length() > 1 && parameterValue.charAt(0) == QUOTE
+                && parameterValue.charAt(parameterValue.length() - 1) == QUOTE) {
+            parameterValue = parameterValue.substring(1, parameterValue.length() - 1);
+        }
+        clause.addParameter(name, parameterValue, directive);
+    }
+
+    private void addClause(Clause clause, HeaderClauses headerClauses) {
+        // Clauses without a path, e.g. of an empty header, are skipped
+        if (!clause.paths.isEmpty()) {
+            headerClauses.clauses.add(clause);
+            for (String path : clause.paths) {
+                headerClauses.clausesByPath.putIfAbsent(path, clause);
+            }
+        }
+    }
+
+    private static String toKey(String headerName) {
+        return headerName.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.openhab.tools.analysis.utils.XmlParsers;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * The artifactId and the version of a pom.xml file and of its parent - the values of /project/artifactId,
+ * /project/version, /project/parent/artifactId and /project/parent/version together with their line numbers.
+ * <p>
+ * The values are extracted with a single streaming pass over the file. The coordinates of the files read with
+ * {@link #get(File)} are cached for the whole build, as the checks of all modules are executed in the same class
+ * loader, so a parent pom.xml shared by many modules is read once. A cached file is read again, when its modification
+ * time or its size changes.
+ *
+ * @author agent - Initial contribution
+ */
+public class PomCoordinates {
+
+    private static final String PROJECT_ELEMENT = "project";
+    private static final String PARENT_ELEMENT = "parent";
+    private static final String ARTIFACT_ID_ELEMENT = "artifactId";
+    private static final String VERSION_ELEMENT = "version";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private static final Map<Path, PomCoordinates> CACHE = new ConcurrentHashMap<>();
+
+    private final long lastModified;
+    private final long length;
+
+    private String artifactId;
+    private int artifactIdLine = -1;
+    private String version;
+    private int versionLine = -1;
+    private String parentArtifactId;
+    private int parentArtifactIdLine = -1;
+    private String parentVersion;
+    private int parentVersionLine = -1;
+
+    private PomCoordinates(long lastModified, long length) {
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    /**
+     * Gets the coordinates of a pom.xml file. The file is read, if its coordinates are not cached or are outdated.
+     *
+     * @param file - the pom.xml file
+     * @return the coordinates of the file
+     * @throws CheckstyleException - if the file can not be read or is not a valid XML document
+     */
+    public static PomCoordinates get(File file) throws CheckstyleException {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        PomCoordinates coordinates = CACHE.get(path);
+        if (coordinates == null || !coordinates.isUpToDate(file)) {
+            coordinates = read(file);
+            CACHE.put(path, coordinates);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Reads the coordinates of a pom.xml file without caching them
+     *
+     * @param file - the pom.xml file
+     * @return the coordinates of the file
+     * @throws CheckstyleException - if the file can not be read or is not a valid XML document
+     */
+    public static PomCoordinates read(File file) throws CheckstyleException {
+        PomCoordinates coordinates = new PomCoordinates(file.lastModified(), file.length());
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(file.toURI().toString(), inputStream);
+            try {
+                coordinates.parse(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new CheckstyleException("Unable to read from file: " + file.getAbsolutePath(), e);
+        } catch (IOException e) {
+            throw new CheckstyleException("Unable to open file: " + file.getAbsolutePath(), e);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Reads the coordinates of a pom.xml file processed by Checkstyle without caching them. The file is not read
+     * again.
+     *
+     * @param fileText - the content of the pom.xml file
+     * @return the coordinates of the file
+     * @throws CheckstyleException - if the content is not a valid XML document
+     */
+    public static PomCoordinates read(FileText fileText) throws CheckstyleException {
+        File file = fileText.getFile();
+        PomCoordinates coordinates = new PomCoordinates(file.lastModified(), file.length());
+        try {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(file.toURI().toString(),
+                    new StringReader(fileText.getFullText().toString()));
+            try {
+                coordinates.parse(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new CheckstyleException("Unable to read from file: " + file.getAbsolutePath(), e);
+        }
+        return coordinates;
+    }
+
+    /**
+     * @return the value of /project/artifactId, or null if it is missing
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * @return the line of /project/artifactId, or -1 if it is missing
+     */
+    public int getArtifactIdLine() {
+        return artifactIdLine;
+    }
+
+    /**
+     * @return the value of /project/version, or null if it is missing
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the line of /project/version, or -1 if it is missing
+     */
+    public int getVersionLine() {
+        return versionLine;
+    }
+
+    /**
+     * @return the value of /project/parent/artifactId, or null if it is missing
+     */
+    public String getParentArtifactId() {
+        return parentArtifactId;
+    }
+
+    /**
+     * @return the line of /project/parent/artifactId, or -1 if it is missing
+     */
+    public int getParentArtifactIdLine() {
+        return parentArtifactIdLine;
+    }
+
+    /**
+     * @return the value of /project/parent/version, or null if it is missing
+     */
+    public String getParentVersion() {
+        return parentVersion;
+    }
+
+    /**
+     * @return the line of /project/parent/version, or -1 if it is missing
+     */
+    public int getParentVersionLine() {
+        return parentVersionLine;
+    }
+
+    private boolean isUpToDate(File file) {
+        return file.lastModified() == lastModified && file.length() == length;
+    }
+
+    private void parse(XMLStreamReader reader) throws XMLStreamException {
+        // The depth of the current element, the project element has depth 1
+        int depth = 0;
+        boolean inParent = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                if (depth == 1) {
+                    inParent = false;
+                }
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            depth++;
+            String name = reader.getLocalName();
+            if (depth == 1 && !PROJECT_ELEMENT.equals(name)) {
+                // Not a pom.xml file, none of the values is present
+                return;
+            } else if (depth == 2 && PARENT_ELEMENT.equals(name)) {
+                inParent = true;
+            } else if (depth == 2 && ARTIFACT_ID_ELEMENT.equals(name) && artifactId == null) {
+                artifactIdLine = reader.getLocation().getLineNumber();
+                artifactId = readText(reader);
+                depth--;
+            } else if (depth == 2 && VERSION_ELEMENT.equals(name) && version == null) {
+                versionLine = reader.getLocation().getLineNumber();
+                version = readText(reader);
+                depth--;
+            } else if (depth == 3 && inParent && ARTIFACT_ID_ELEMENT.equals(name) && parentArtifactId == null) {
+                parentArtifactIdLine = reader.getLocation().getLineNumber();
+                parentArtifactId = readText(reader);
+                depth--;
+            } else if (depth == 3 && inParent && VERSION_ELEMENT.equals(name) && parentVersion == null) {
+                parentVersionLine = reader.getLocation().getLineNumber();
+                parentVersion = readText(reader);
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the current element and moves to its end tag
+     *
+     * @return the text of the element, or null if the element is empty
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XmlParsers.createInputFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openhab.tools.analysis.profiling.AnalysisEvent;
+import org.openhab.tools.analysis.profiling.AnalysisEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of remote resources, that are used as a reference by the checks.
+ * <p>
+ * A resource is downloaded at most once per build, as the checks of all modules are executed in the same class loader.
+ * Every downloaded resource is stored in the {@value #CACHE_DIRECTORY_NAME} directory in the temporary directory and
+ * this copy is used, if the resource can not be downloaded later. If there is no copy, the resource bundled with the
+ * plugin is used, if any. The download is abandoned, when its time budget is exceeded, so a slow proxy or server does
+ * not stall the build. A resource, that could not be downloaded, is downloaded again when it is requested after
+ * {@value #RETRY_INTERVAL} milliseconds, so a transient failure does not disable the checks for the rest of the build.
+ * <p>
+ * A resource is downloaded by the first check, that requests it, outside of the lock of the cache. Other checks, that
+ * request the same resource meanwhile, wait for this download, requests for other resources are not blocked.
+ *
+ * @author agent - Initial contribution
+ */
+public class RemoteResourceCache {
+
+    /**
+     * Default timeout for establishing the connection in milliseconds
+     */
+    public static final int CONNECT_TIMEOUT = 5000;
+
+    /**
+     * Default timeout for reading the resource in milliseconds
+     */
+    public static final int READ_TIMEOUT = 10000;
+
+    /**
+     * Time in milliseconds, after which a failed download is retried
+     */
+    public static final long RETRY_INTERVAL = 60000;
+
+    private static final String CACHE_DIRECTORY_NAME = "static-code-analysis";
+
+    /**
+     * The resources by URL, the future is completed when the download is completed or abandoned
+     */
+    private static final ConcurrentMap<String, Future<Resource>> RESOURCES = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteResourceCache.class);
+
+    private RemoteResourceCache() {
+    }
+
+    /**
+     * Gets the content of a remote resource
+     *
+     * @param check - the name of the check that needs the resource
+     * @param url - the URL of the resource
+     * @param bundledResource - path of a class path resource with the same content, or null if there is no such
+     *            resource
+     * @return the content of the resource, or null if it is not available
+     */
+    public static String getContent(String check, String url, String bundledResource) {
+        return getContent(check, url, bundledResource, CONNECT_TIMEOUT + READ_TIMEOUT);
+    }
+
+    /**
+     * Gets the content of a remote resource within a time budget
+     *
+     * @param check - the name of the check that needs the resource
+     * @param url - the URL of the resource
+     * @param bundledResource - path of a class path resource with the same content, or null if there is no such
+     *            resource
+     * @param timeout - the time budget of the download in milliseconds, 0 for no budget
+     * @return the content of the resource, or null if it is not available
+     */
+    public static String getContent(String check, String url, String bundledResource, int timeout) {
+        Future<Resource> resource = RESOURCES.get(url);
+        while (resource == null || isExpired(resource)) {
+            FutureTask<Resource> download = new FutureTask<>(() -> load(check, url, bundledResource, timeout));
+            boolean added = resource == null ? RESOURCES.putIfAbsent(url, download) == null
+                    : RESOURCES.replace(url, resource, download);
+            if (added) {
+                // The download is executed by the requesting thread, the map is not locked meanwhile
+                download.run();
+                resource = download;
+            } else {
+                resource = RESOURCES.get(url);
+            }
+        }
+
+        try {
+            return resource.get().content;
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while waiting for the download of {}", url);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            RESOURCES.remove(url, resource);
+            logger.warn("Unable to load {}", url, e.getCause());
+        }
+        return null;
+    }
+
+    /**
+     * Opens a connection with the connect and read timeouts limited by a time budget
+     *
+     * @param url - the URL of the resource
+     * @param timeout - the time budget in milliseconds, 0 for the default timeouts
+     * @return the connection, that is not connected yet
+     * @throws IOException - if the connection can not be opened
+     */
+    public static URLConnection openConnection(URL url, int timeout) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(timeout > 0 ? Math.min(CONNECT_TIMEOUT, timeout) : CONNECT_TIMEOUT);
+        connection.setReadTimeout(timeout > 0 ? Math.min(READ_TIMEOUT, timeout) : READ_TIMEOUT);
+        return connection;
+    }
+
+    private static boolean isExpired(Future<Resource> resource) {
+        if (!resource.isDone()) {
+            return false;
+        }
+        try {
+            return resource.get().isExpired();
+        } catch (InterruptedException | ExecutionException e) {
+            // The future is completed, so the waiting can not be interrupted and only a failed load is left
+            return true;
+        }
+    }
+
+    private static Resource load(String check, String url, String bundledResource, int timeout) {
+        File cachedFile = getCachedFile(url);
+        AnalysisEvent event = AnalysisEvents.remoteFetch(check, url);
+        try {
+            String content = AnalysisWatchdog.fetch(() -> download(url, timeout), timeout);
+            store(cachedFile, content);
+            return new Resource(content, Long.MAX_VALUE);
+        } catch (TimeoutException e) {
+            event.setOutcome(e.getClass().getSimpleName());
+            logger.warn("Download of {} skipped due to timeout after {} ms", url, timeout);
+        } catch (ExecutionException e) {
+            event.setOutcome(e.getCause().getClass().getSimpleName());
+            logger.warn("Unable to download {}: {}", url, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            event.setOutcome(e.getClass().getSimpleName());
+            logger.warn("Download of {} interrupted", url);
+            Thread.currentThread().interrupt();
+        } finally {
+            event.close();
+        }
+
+        return new Resource(loadCopy(url, cachedFile, bundledResource), System.currentTimeMillis() + RETRY_INTERVAL);
+    }
+
+    private static String loadCopy(String url, File cachedFile, String bundledResource) {
+        if (cachedFile != null && cachedFile.isFile()) {
+            try {
+                logger.info("Using the copy of {} downloaded on a previous build", url);
+                return FileUtils.readFileToString(cachedFile, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.warn("Unable to read {}", cachedFile, e);
+            }
+        }
+
+        if (bundledResource != null) {
+            try (InputStream inputStream = RemoteResourceCache.class.getResourceAsStream(bundledResource)) {
+                if (inputStream != null) {
+                    logger.info("Using the copy of {} bundled with the plugin", url);
+                    return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+                }
+            } catch (IOException e) {
+                logger.warn("Unable to read {}", bundledResource, e);
+            }
+        }
+        return null;
+    }
+
+    private static String download(String url, int timeout) throws IOException {
+        URLConnection connection = openConnection(new URL(url), timeout);
+        try (InputStream inputStream = connection.getInputStream()) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void store(File cachedFile, String content) {
+        if (cachedFile != null) {
+            try {
+                FileUtils.writeStringToFile(cachedFile, content, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.debug("Unable to store {}", cachedFile, e);
+            }
+        }
+    }
+
+    private static File getCachedFile(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder fileName = new StringBuilder();
+            for (byte b : digest.digest(url.getBytes(StandardCharsets.UTF_8))) {
+                fileName.append(String.format("%02x", b));
+            }
+            File cacheDirectory = new File(System.getProperty("java.io.tmpdir"), CACHE_DIRECTORY_NAME);
+            return new File(cacheDirectory, fileName.toString());
+        } catch (NoSuchAlgorithmException e) {
+            logger.debug("Remote resources will not be stored", e);
+            return null;
+        }
+    }
+
+    private static class Resource {
+
+        /**
+         * The content of the resource, or null if it is not available
+         */
+        private final String content;
+
+        /**
+         * The time in milliseconds, when the download is retried
+         */
+        private final long expiry;
+
+        private Resource(String content, long expiry) {
+            this.content = content;
+            this.expiry = expiry;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiry;
+        }
+    }
+}
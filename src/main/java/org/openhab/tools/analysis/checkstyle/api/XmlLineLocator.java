@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+/**
+ * Finds the start lines of the tags and the attributes of a XML document, that is parsed in document order.
+ * <p>
+ * The XML parsers report the position, where the start tag ends. The start line of a tag, that spans multiple lines,
+ * is found by searching backwards for the tag name in the lines of the tag only, so the cost per tag does not depend
+ * on the size of the document.
+ *
+ * @author agent - Initial contribution
+ */
+class XmlLineLocator {
+
+    private final String[] lines;
+
+    private int previousStartLine = 1;
+
+    /**
+     * Creates a locator
+     *
+     * @param lines - the lines of the parsed file
+     */
+    XmlLineLocator(String[] lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Finds the line, where a start tag begins. The tags must be located in document order.
+     *
+     * @param tagName - the qualified name of the tag
+     * @param endLine - the line, where the start tag ends
+     * @return the start line of the tag
+     */
+    int findTagStartLine(String tagName, int endLine) {
+        int startLine = endLine;
+        if (endLine >= 1 && endLine <= lines.length) {
+            String tagStart = "<" + tagName;
+            for (int line = endLine; line >= previousStartLine; line--) {
+                if (indexOfName(lines[line - 1], tagStart) >= 0) {
+                    startLine = line;
+                    break;
+                }
+            }
+        }
+        previousStartLine = Math.max(startLine, previousStartLine);
+        return startLine;
+    }
+
+    /**
+     * Finds the line of an attribute of a start tag
+     *
+     * @param attributeName - the qualified name of the attribute
+     * @param startLine - the line, where the start tag begins
+     * @param endLine - the line, where the start tag ends
+     * @return the line of the attribute
+     */
+    int findAttributeLine(String attributeName, int startLine, int endLine) {
+        if (startLine < 1 || endLine > lines.length) {
+            return startLine;
+        }
+        for (int line = startLine; line <= endLine; line++) {
+            int index = indexOfName(lines[line - 1], attributeName);
+            if (index > 0 && Character.isWhitespace(lines[line - 1].charAt(index - 1))) {
+                return line;
+            }
+        }
+        return startLine;
+    }
+
+    /**
+     * Finds a name in a line, that is not followed by another character of a XML name
+     */
+    private static int indexOfName(String line, String name) {
+        int index = line.indexOf(name);
+        while (index >= 0) {
+            int end = index + name.length();
+            if (end == line.length() || !isNameCharacter(line.charAt(end))) {
+                return index;
+            }
+            index = line.indexOf(name, index + 1);
+        }
+        return -1;
+    }
+
+    private static boolean isNameCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_' || c == ':';
+    }
+}
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A path to elements or attributes of a XML document, that can be matched while the document is streamed.
+ * <p>
+ * The supported paths are a subset of the XPath location paths:
+ * <ul>
+ * <li>absolute paths of element names, e.g. {@code /project/parent/version}</li>
+ * <li>{@code //} for any number of elements in between, e.g. {@code //config-description}</li>
+ * <li>{@code *} for an element with any name</li>
+ * <li>predicates that test the attributes of an element, e.g. {@code [@id]} or
+ * {@code [@name='maven.pomderived' and @value='true']}</li>
+ * <li>an attribute as last step, e.g. {@code //bridge-type/@id}</li>
+ * </ul>
+ * The names are compared with the qualified names in the document, the namespaces are not resolved.
+ *
+ * @author agent - Initial contribution
+ */
+public final class XmlPath {
+
+    /**
+     * The maximal number of element steps, the positions in a path are stored in the bits of a long
+     */
+    static final int MAX_STEPS = Long.SIZE - 1;
+
+    private static final String ANY_ELEMENT = "*";
+    private static final String ATTRIBUTE_PREFIX = "@";
+    private static final String AND = "and";
+
+    private final String expression;
+    private final Step[] steps;
+    private final QualifiedName attribute;
+
+    private XmlPath(String expression, List<Step> steps, QualifiedName attribute) {
+        this.expression = expression;
+        this.steps = steps.toArray(new Step[steps.size()]);
+        this.attribute = attribute;
+    }
+
+    /**
+     * Compiles a path
+     *
+     * @param expression - the path, e.g. {@code /project//*[@combine.self='override']/@combine.self}
+     * @return the compiled path
+     * @throws IllegalArgumentException - if the path is not supported
+     */
+    public static XmlPath compile(String expression) {
+        if (!expression.startsWith("/")) {
+            throw invalidPath(expression, "only absolute paths are supported");
+        }
+        List<Step> steps = new ArrayList<>();
+        QualifiedName attribute = null;
+        int index = 0;
+        while (index < expression.length()) {
+            if (attribute != null) {
+                throw invalidPath(expression, "the attribute must be the last step");
+            }
+            // Skip the separator
+            index++;
+            boolean descendant = index < expression.length() && expression.charAt(index) == '/';
+            if (descendant) {
+                index++;
+            }
+            int end = findStepEnd(expression, index);
+            String step = expression.substring(index, end);
+            if (step.startsWith(ATTRIBUTE_PREFIX)) {
+                if (descendant) {
+                    throw invalidPath(expression, "only attributes of the selected element are supported");
+                }
+                attribute = new QualifiedName(step.substring(ATTRIBUTE_PREFIX.length()));
+            } else {
+                steps.add(parseStep(expression, step, descendant));
+            }
+            index = end;
+        }
+        if (steps.isEmpty() || steps.size() > MAX_STEPS) {
+            throw invalidPath(expression, "the path must contain between 1 and " + MAX_STEPS + " elements");
+        }
+        return new XmlPath(expression, steps, attribute);
+    }
+
+    /**
+     * @return true if the path selects an attribute, false if it selects an element
+     */
+    public boolean isAttributePath() {
+        return attribute != null;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * @return the number of element steps in the path
+     */
+    int getLength() {
+        return steps.length;
+    }
+
+    /**
+     * Computes the positions in the path, that are reached by an element
+     *
+     * @param parentPositions - the positions reached by the parent element, a bit for each position
+     * @param reader - reader positioned at the start tag of the element
+     * @return the positions reached by the element, the bit {@link #getLength()} is set if the element is selected by
+     *         all element steps of the path
+     */
+    long advance(long parentPositions, XMLStreamReader reader) {
+        long positions = 0;
+        for (long remaining = parentPositions; remaining != 0; remaining &= remaining - 1) {
+            int position = Long.numberOfTrailingZeros(remaining);
+            if (position < steps.length) {
+                Step step = steps[position];
+                if (step.descendant) {
+                    // The step can match an element below this one as well
+                    positions |= 1L << position;
+                }
+                if (step.matches(reader)) {
+                    positions |= 1L << (position + 1);
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * @return the qualified name of the selected attribute, or null for an element path
+     */
+    String getAttributeName() {
+        return attribute != null ? attribute.name : null;
+    }
+
+    /**
+     * Gets the value of the selected attribute of an element
+     *
+     * @param reader - reader positioned at the start tag of the element
+     * @return the value of the attribute, or null if the element does not have the attribute
+     */
+    String getAttributeValue(XMLStreamReader reader) {
+        return attribute.getValue(reader);
+    }
+
+    private static int findStepEnd(String expression, int start) {
+        char quote = 0;
+        for (int index = start; index < expression.length(); index++) {
+            char c = expression.charAt(index);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '/') {
+                return index;
+            }
+        }
+        return expression.length();
+    }
+
+    private static Step parseStep(String expression, String step, boolean descendant) {
+        int predicateStart = step.indexOf('[');
+        String name = predicateStart < 0 ? step : step.substring(0, predicateStart);
+        if (name.isEmpty()) {
+            throw invalidPath(expression, "missing element name");
+        }
+
+        List<QualifiedName> predicateAttributes = new ArrayList<>();
+        List<String> predicateValues = new ArrayList<>();
+        int index = predicateStart;
+        while (index >= 0 && index < step.length()) {
+            if (step.charAt(index) != '[') {
+                throw invalidPath(expression, "unexpected character in " + step);
+            }
+            int end = step.indexOf(']', index);
+            if (end < 0) {
+                throw invalidPath(expression, "unclosed predicate in " + step);
+            }
+            parsePredicate(expression, step.substring(index + 1, end), predicateAttributes, predicateValues);
+            index = end + 1;
+        }
+        return new Step(descendant, ANY_ELEMENT.equals(name) ? null : name, predicateAttributes, predicateValues);
+    }
+
+    /**
+     * Parses a predicate like {@code @name='value' and @other}
+     */
+    private static void parsePredicate(String expression, String predicate, List<QualifiedName> attributes,
+            List<String> values) {
+        for (String condition : predicate.split("\\s+" + AND + "\\s+")) {
+            String trimmedCondition = condition.trim();
+            if (!trimmedCondition.startsWith(ATTRIBUTE_PREFIX)) {
+                throw invalidPath(expression, "only attribute predicates are supported");
+            }
+            int equalsIndex = trimmedCondition.indexOf('=');
+            if (equalsIndex < 0) {
+                attributes.add(new QualifiedName(trimmedCondition.substring(ATTRIBUTE_PREFIX.length())));
+                values.add(null);
+            } else {
+                String value = trimmedCondition.substring(equalsIndex + 1).trim();
+                if (value.length() < 2 || (value.charAt(0) != '\'' && value.charAt(0) != '"')
+                        || value.charAt(value.length() - 1) != value.charAt(0)) {
+                    throw invalidPath(expression, "the value in " + condition + " must be quoted");
+                }
+                attributes.add(new QualifiedName(
+                        trimmedCondition.substring(ATTRIBUTE_PREFIX.length(), equalsIndex).trim()));
+                values.add(value.substring(1, value.length() - 1));
+            }
+        }
+    }
+
+    private static IllegalArgumentException invalidPath(String expression, String reason) {
+        return new IllegalArgumentException("Unsupported path " + expression + ": " + reason);
+    }
+
+    /**
+     * An element step of a path
+     */
+    private static class Step {
+        private final boolean descendant;
+        private final String name;
+        private final QualifiedName[] predicateAttributes;
+        private final String[] predicateValues;
+
+        Step(boolean descendant, String name, List<QualifiedName> predicateAttributes, List<String> predicateValues) {
+            this.descendant = descendant;
+            this.name = name;
+            this.predicateAttributes = predicateAttributes.toArray(new QualifiedName[predicateAttributes.size()]);
+            this.predicateValues = predicateValues.toArray(new String[predicateValues.size()]);
+        }
+
+        boolean matches(XMLStreamReader reader) {
+            if (name != null && !name.equals(reader.getLocalName())) {
+                return false;
+            }
+            for (int i = 0; i < predicateAttributes.length; i++) {
+                String value = predicateAttributes[i].getValue(reader);
+                if (value == null || (predicateValues[i] != null && !predicateValues[i].equals(value))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The qualified name of an attribute. A reader, that is not namespace aware, reports the part before the colon
+     * as prefix and the part after it as local name.
+     */
+    private static class QualifiedName {
+        private final String name;
+        private final String prefix;
+        private final String localName;
+
+        QualifiedName(String name) {
+            this.name = name;
+            int colonIndex = name.indexOf(':');
+            this.prefix = colonIndex < 0 ? "" : name.substring(0, colonIndex);
+            this.localName = name.substring(colonIndex + 1);
+        }
+
+        String getValue(XMLStreamReader reader) {
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String attributePrefix = reader.getAttributePrefix(i);
+                if (localName.equals(reader.getAttributeLocalName(i))
+                        && prefix.equals(attributePrefix != null ? attributePrefix : "")) {
+                    return reader.getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+    }
+}
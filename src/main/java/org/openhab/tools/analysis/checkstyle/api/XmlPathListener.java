@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.File;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Receives the elements or attributes of a XML file, that match a path subscribed in a {@link XmlStreamDispatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+@FunctionalInterface
+public interface XmlPathListener {
+
+    /**
+     * Called for every element or attribute, that matches the path
+     *
+     * @param file - the processed file
+     * @param value - the value of the attribute or the text content of the element
+     * @param lineNumber - the line of the attribute or of the start tag of the element, starting from 1
+     * @throws CheckstyleException - to abort the processing of the file
+     */
+    void matched(File file, String value, int lineNumber) throws CheckstyleException;
+}
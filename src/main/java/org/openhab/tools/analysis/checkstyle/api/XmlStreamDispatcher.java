@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.openhab.tools.analysis.utils.XmlParsers;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Dispatches the elements and attributes of XML files to the listeners of the {@link XmlPath}s, they match.
+ * <p>
+ * A check declares the paths it is interested in once and every file is processed with a single streaming pass, that
+ * serves all subscribed paths, instead of building a DOM document and evaluating a XPath expression for every path.
+ * The listeners of attribute paths are called at the start tag of the element, the listeners of element paths at its
+ * end tag, when the text content of the element is known.
+ * <p>
+ * A dispatcher is not thread safe, as all checks it is designed for.
+ *
+ * @author agent - Initial contribution
+ */
+public class XmlStreamDispatcher {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final List<XmlPath> paths = new ArrayList<>();
+    private final List<XmlPathListener> listeners = new ArrayList<>();
+
+    /**
+     * The positions reached in every path by the open elements, the positions of the element at depth d for the path
+     * p are at index (d - 1) * paths.size() + p
+     */
+    private long[] positions = new long[0];
+
+    /**
+     * Subscribes a listener for the elements or attributes, that match a path
+     *
+     * @param path - the path, in the syntax described in {@link XmlPath}
+     * @param listener - the listener
+     * @return this dispatcher
+     * @throws IllegalArgumentException - if the path is not supported
+     */
+    public XmlStreamDispatcher subscribe(String path, XmlPathListener listener) {
+        return subscribe(XmlPath.compile(path), listener);
+    }
+
+    /**
+     * Subscribes a listener for the elements or attributes, that match a path
+     *
+     * @param path - the compiled path
+     * @param listener - the listener
+     * @return this dispatcher
+     */
+    public XmlStreamDispatcher subscribe(XmlPath path, XmlPathListener listener) {
+        paths.add(path);
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Streams a XML file and calls the listeners of the subscribed paths for all matches
+     *
+     * @param file - the XML file
+     * @throws CheckstyleException - if the file can not be read, is not a valid XML document or a listener aborts
+     *             the processing
+     */
+    public void process(File file) throws CheckstyleException {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new CheckstyleException("Unable to open file: " + file.getAbsolutePath(), e);
+        }
+
+        try {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(file.toURI().toString(),
+                    new ByteArrayInputStream(content));
+            try {
+                dispatch(file, reader,
+                        () -> new String(content, StandardCharsets.ISO_8859_1).split("\r\n|\r|\n", -1));
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new CheckstyleException("Unable to read from file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Streams the content of a file processed by Checkstyle and calls the listeners of the subscribed paths for all
+     * matches. The file is not read again.
+     *
+     * @param fileText - the content of the XML file
+     * @throws CheckstyleException - if the content is not a valid XML document or a listener aborts the processing
+     */
+    public void process(FileText fileText) throws CheckstyleException {
+        File file = fileText.getFile();
+        try {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(file.toURI().toString(),
+                    new StringReader(fileText.getFullText().toString()));
+            try {
+                dispatch(file, reader, fileText::toLinesArray);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new CheckstyleException("Unable to read from file: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * @param lines - supplies the lines of the file, they are needed only if a path matches
+     */
+    private void dispatch(File file, XMLStreamReader reader, Supplier<String[]> lines)
+            throws XMLStreamException, CheckstyleException {
+        int pathCount = paths.size();
+        List<PendingElement> pendingElements = new ArrayList<>();
+        XmlLineLocator lineLocator = null;
+        int depth = 0;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    ensureCapacity(depth * pathCount);
+                    int offset = (depth - 1) * pathCount;
+                    int startLine = -1;
+                    for (int p = 0; p < pathCount; p++) {
+                        // The document node reaches the start of every path
+                        long parentPositions = depth > 1 ? positions[offset - pathCount + p] : 1L;
+                        XmlPath path = paths.get(p);
+                        long elementPositions = parentPositions != 0 ? path.advance(parentPositions, reader) : 0;
+                        positions[offset + p] = elementPositions;
+
+                        if ((elementPositions & (1L << path.getLength())) == 0) {
+                            continue;
+                        }
+                        String attributeValue = path.isAttributePath() ? path.getAttributeValue(reader) : null;
+                        if (path.isAttributePath() && attributeValue == null) {
+                            continue;
+                        }
+
+                        // The lines are needed only for the matched elements
+                        int endLine = reader.getLocation().getLineNumber();
+                        if (lineLocator == null) {
+                            lineLocator = new XmlLineLocator(lines.get());
+                        }
+                        if (startLine == -1) {
+                            startLine = lineLocator.findTagStartLine(reader.getLocalName(), endLine);
+                        }
+                        if (path.isAttributePath()) {
+                            int attributeLine = lineLocator.findAttributeLine(path.getAttributeName(), startLine,
+                                    endLine);
+                            listeners.get(p).matched(file, attributeValue, attributeLine);
+                        } else {
+                            pendingElements.add(new PendingElement(listeners.get(p), depth, startLine));
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    for (int i = pendingElements.size() - 1; i >= 0 && pendingElements.get(i).depth == depth; i--) {
+                        PendingElement element = pendingElements.remove(i);
+                        element.listener.matched(file, element.text.toString(), element.line);
+                    }
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    // The text content of an element includes the text of its descendants
+                    for (PendingElement element : pendingElements) {
+                        element.text.append(reader.getTextCharacters(), reader.getTextStart(),
+                                reader.getTextLength());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (positions.length < capacity) {
+            positions = Arrays.copyOf(positions, Math.max(capacity, positions.length * 2));
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XmlParsers.createInputFactory();
+        // The names are compared as they are written in the file, like in a DOM document, that is not namespace aware
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return factory;
+    }
+
+    /**
+     * A matched element, whose text content is being collected
+     */
+    private static class PendingElement {
+        private final XmlPathListener listener;
+        private final int depth;
+        private final int line;
+        private final StringBuilder text = new StringBuilder();
+
+        PendingElement(XmlPathListener listener, int depth, int line) {
+            this.listener = listener;
+            this.depth = depth;
+            this.line = line;
+        }
+    }
+}
@@ -22,11 +22,20 @@
 */
 package org.openhab.tools.analysis.findbugs;
 
+import java.io.File;
+
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+
 import edu.umd.cs.findbugs.BugInstance;
 import edu.umd.cs.findbugs.BugReporter;
 import edu.umd.cs.findbugs.Detector;
 import edu.umd.cs.findbugs.Priorities;
 import edu.umd.cs.findbugs.ba.ClassContext;
+import edu.umd.cs.findbugs.classfile.ClassDescriptor;
+import edu.umd.cs.findbugs.classfile.Global;
+import edu.umd.cs.findbugs.classfile.ICodeBaseEntry;
+import edu.umd.cs.findbugs.classfile.ResourceNotFoundException;
 
 /**
  * Detects if the name of the class has exceeded a maximum length
@@ -40,6 +49,10 @@ public class CustomClassNameLengthDetector implements Detector {
     private static final int ARBITRARY_MAX_CLASS_NAME_LENGTH = 50;
     private final BugReporter bugReporter;
 
+    private final AnalysisCost analysisCost = AnalysisCostRecorder.createIfEnabled("spotbugs",
+            getClass().getSimpleName());
+    private File analysisCostRecordsFile;
+
     public CustomClassNameLengthDetector(BugReporter bugReporter) {
         this.bugReporter = bugReporter;
     }
@@ -48,10 +61,42 @@ public class CustomClassNameLengthDetector implements Detector {
     public void report() {
         // This method is called after all classes to be visited.
         // It should be used by any detectors which accumulate information over all visited classes to generate results.
+        AnalysisCostRecorder.record(analysisCostRecordsFile, analysisCost);
     }
 
     @Override
     public void visitClassContext(ClassContext classContext) {
+        if (analysisCost == null) {
+            checkClassName(classContext);
+            return;
+        }
+
+        analysisCost.begin();
+        try {
+            checkClassName(classContext);
+        } finally {
+            analysisCost.end();
+            countClassFile(classContext.getClassDescriptor());
+        }
+    }
+
+    private void countClassFile(ClassDescriptor classDescriptor) {
+        try {
+            ICodeBaseEntry entry = Global.getAnalysisCache().getClassPath()
+                    .lookupResource(classDescriptor.toResourceName());
+            analysisCost.countFile(entry.getNumBytes());
+
+            String codeBasePath = entry.getCodeBase().getPathName();
+            if (analysisCostRecordsFile == null && codeBasePath != null) {
+                // The code base is usually the target/classes directory of the analyzed module
+                analysisCostRecordsFile = AnalysisCostRecorder.getRecordsFile(new File(codeBasePath, "."));
+            }
+        } catch (ResourceNotFoundException e) {
+            analysisCost.countFile(0);
+        }
+    }
+
+    private void checkClassName(ClassContext classContext) {
         int classNameLength = classContext.getClassDescriptor().getSimpleName().length();
 
         if (classNameLength > ARBITRARY_MAX_CLASS_NAME_LENGTH) {
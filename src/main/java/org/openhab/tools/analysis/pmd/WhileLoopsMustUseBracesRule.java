@@ -8,6 +8,13 @@
  */
 package org.openhab.tools.analysis.pmd;
 
+import java.io.File;
+import java.util.List;
+
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+
+import net.sourceforge.pmd.RuleContext;
 import net.sourceforge.pmd.lang.ast.Node;
 import net.sourceforge.pmd.lang.java.ast.ASTBlock;
 import net.sourceforge.pmd.lang.java.ast.ASTWhileStatement;
@@ -24,6 +31,34 @@ import net.sourceforge.pmd.lang.java.rule.AbstractJavaRule;
  */
 
 public class WhileLoopsMustUseBracesRule extends AbstractJavaRule {
+
+    private final AnalysisCost analysisCost = AnalysisCostRecorder.createIfEnabled("pmd", getClass().getSimpleName());
+    private boolean analysisCostRegistered;
+
+    @Override
+    public void apply(List<? extends Node> nodes, RuleContext ctx) {
+        if (analysisCost == null) {
+            super.apply(nodes, ctx);
+            return;
+        }
+
+        File sourceFile = ctx.getSourceCodeFile();
+        analysisCost.begin();
+        try {
+            super.apply(nodes, ctx);
+        } finally {
+            analysisCost.end();
+            if (sourceFile != null) {
+                analysisCost.countFile(sourceFile.length());
+                if (!analysisCostRegistered) {
+                    // PMD does not notify the rules at the end of the analysis, the cost is written by the pmd goal
+                    AnalysisCostRecorder.register(AnalysisCostRecorder.getRecordsFile(sourceFile), analysisCost);
+                    analysisCostRegistered = true;
+                }
+            }
+        }
+    }
+
     @Override
     public Object visit(ASTWhileStatement node, Object data) {
         Node firstStmt = node.jjtGetChild(1);
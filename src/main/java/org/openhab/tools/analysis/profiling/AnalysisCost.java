@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Accumulates the cost of a single analysis unit - a check, a rule, a detector or a report stage.
+ * <p>
+ * The measured time and allocation are the ones between {@link #begin()} and {@link #end()}. Nested calls are
+ * ignored, so it is safe to measure a method that calls itself through a super class. An instance is not thread
+ * safe and is intended to be used by the thread that executes the measured unit.
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisCost {
+
+    /**
+     * Value of the allocated bytes, when the JVM is not able to measure the allocation per thread
+     */
+    public static final long UNKNOWN = -1;
+
+    private static final String RECORD_SEPARATOR = ",";
+    private static final int RECORD_FIELDS = 6;
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = getAllocationBean();
+
+    private final String tool;
+    private final String name;
+
+    private long wallNanos;
+    private int files;
+    private long bytes;
+    private long allocatedBytes = UNKNOWN;
+
+    private int depth;
+    private long startNanos;
+    private long startAllocatedBytes;
+
+    /**
+     * Creates an empty cost
+     *
+     * @param tool - the tool that executes the unit, e.g. checkstyle, pmd, spotbugs or report
+     * @param name - the name of the measured unit, e.g. the simple name of a check
+     */
+    public AnalysisCost(String tool, String name) {
+        this.tool = tool;
+        this.name = name;
+    }
+
+    /**
+     * Starts a measurement
+     */
+    public void begin() {
+        if (depth++ == 0) {
+            startAllocatedBytes = currentThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends the measurement started with the last {@link #begin()} call
+     */
+    public void end() {
+        if (depth == 0) {
+            throw new IllegalStateException("The measurement of " + name + " has not been started");
+        }
+        if (--depth == 0) {
+            wallNanos += System.nanoTime() - startNanos;
+            long allocated = currentThreadAllocatedBytes();
+            if (allocated != UNKNOWN && startAllocatedBytes != UNKNOWN) {
+                allocatedBytes = Math.max(allocatedBytes, 0) + allocated - startAllocatedBytes;
+            }
+        }
+    }
+
+    /**
+     * Counts a processed file
+     *
+     * @param size - the size of the file in bytes
+     */
+    public void countFile(long size) {
+        files++;
+        bytes += size;
+    }
+
+    /**
+     * Adds the values of another cost to this one
+     *
+     * @param other - the cost to add
+     */
+    public void add(AnalysisCost other) {
+        wallNanos += other.wallNanos;
+        files += other.files;
+        bytes += other.bytes;
+        if (other.allocatedBytes != UNKNOWN) {
+            allocatedBytes = Math.max(allocatedBytes, 0) + other.allocatedBytes;
+        }
+    }
+
+    /**
+     * Clears the accumulated values
+     */
+    public void reset() {
+        wallNanos = 0;
+        files = 0;
+        bytes = 0;
+        allocatedBytes = UNKNOWN;
+    }
+
+    public boolean isEmpty() {
+        return wallNanos == 0 && files == 0;
+    }
+
+    public String getTool() {
+        return tool;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Converts the cost to a single line record, that can be parsed with {@link #fromRecord(String)}
+     *
+     * @return comma separated record
+     */
+    public String toRecord() {
+        return String.join(RECORD_SEPARATOR, tool, name, Long.toString(wallNanos), Integer.toString(files),
+                Long.toString(bytes), Long.toString(allocatedBytes));
+    }
+
+    /**
+     * Parses a record created with {@link #toRecord()}
+     *
+     * @param record - the record to parse
+     * @return the parsed cost
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    public static AnalysisCost fromRecord(String record) {
+        String[] fields = record.split(RECORD_SEPARATOR);
+        if (fields.length != RECORD_FIELDS) {
+            throw new IllegalArgumentException("Malformed analysis cost record: " + record);
+        }
+        AnalysisCost cost = new AnalysisCost(fields[0], fields[1]);
+        cost.set(Long.parseLong(fields[2]), Integer.parseInt(fields[3]), Long.parseLong(fields[4]),
+                Long.parseLong(fields[5]));
+        return cost;
+    }
+
+    /**
+     * Sets the accumulated values, e.g. when they are read from a report
+     *
+     * @param wallNanos - wall time in nanoseconds
+     * @param files - number of processed files
+     * @param bytes - number of processed bytes
+     * @param allocatedBytes - allocated bytes or {@link #UNKNOWN}
+     */
+    public void set(long wallNanos, int files, long bytes, long allocatedBytes) {
+        this.wallNanos = wallNanos;
+        this.files = files;
+        this.bytes = bytes;
+        this.allocatedBytes = allocatedBytes < 0 ? UNKNOWN : allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return toRecord();
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (ALLOCATION_BEAN == null) {
+            return UNKNOWN;
+        }
+        return ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+        return null;
+    }
+}
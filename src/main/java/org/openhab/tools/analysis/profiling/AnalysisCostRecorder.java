@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends the analysis costs measured by the checks, rules and detectors to the records file of the module that is
+ * analyzed.
+ * <p>
+ * The tools are executed in separate class realms, so the records are exchanged through a file in the report
+ * directory of the module. The records file is aggregated by the report goal. The recording is enabled with the
+ * {@value #ENABLED_PROPERTY} system property.
+ * <p>
+ * The costs of the tools, that do not notify the checks at the end of the analysis, are registered and kept in memory.
+ * The goal, that executes the tool, can not access the classes loaded by the realm of the tool, so it writes them
+ * through the {@link RegisteredCostsMBean} of that realm.
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisCostRecorder {
+
+    /**
+     * System property that enables the recording of analysis costs
+     */
+    public static final String ENABLED_PROPERTY = "report.analysis.cost";
+
+    /**
+     * Name of the file that contains the not aggregated cost records
+     */
+    public static final String RECORDS_FILE_NAME = "analysis-cost-records.csv";
+
+    /**
+     * Directory relative to the module base directory, where the tools write their results
+     */
+    public static final String MODULE_REPORT_DIRECTORY = "target/code-analysis";
+
+    /**
+     * Pattern of the names of the {@link RegisteredCostsMBean}s of all class realms
+     */
+    public static final String REGISTERED_COSTS_MBEAN_PATTERN = "org.openhab.tools.analysis:type=RegisteredCosts,*";
+
+    private static final String POM_XML_FILE_NAME = "pom.xml";
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisCostRecorder.class);
+
+    private static final Map<File, List<AnalysisCost>> registeredCosts = new HashMap<>();
+    private static ObjectName registeredCostsMBeanName;
+
+    /**
+     * Writes the costs registered in a class realm
+     */
+    public interface RegisteredCostsMBean {
+
+        /**
+         * Writes the registered costs of a records file and forgets them
+         *
+         * @param recordsFile - the path of the records file of the module, whose analysis has finished
+         */
+        void flush(String recordsFile);
+    }
+
+    private AnalysisCostRecorder() {
+    }
+
+    /**
+     * Checks if the recording of analysis costs is enabled
+     *
+     * @return true if the costs should be recorded
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Creates a cost, if the recording is enabled
+     *
+     * @param tool - the tool that executes the unit
+     * @param name - the name of the measured unit
+     * @return new cost or null if the recording is disabled
+     */
+    public static AnalysisCost createIfEnabled(String tool, String name) {
+        return isEnabled() ? new AnalysisCost(tool, name) : null;
+    }
+
+    /**
+     * Finds the records file of the module that contains a given file. The module is the closest parent directory
+     * that contains a pom.xml file.
+     *
+     * @param analyzedFile - a file from the module
+     * @return the records file or null if the file is not part of a module
+     */
+    public static File getRecordsFile(File analyzedFile) {
+        File directory = analyzedFile.getAbsoluteFile().getParentFile();
+        while (directory != null) {
+            if (new File(directory, POM_XML_FILE_NAME).isFile()) {
+                return new File(new File(directory, MODULE_REPORT_DIRECTORY), RECORDS_FILE_NAME);
+            }
+            directory = directory.getParentFile();
+        }
+        return null;
+    }
+
+    /**
+     * Appends a cost to a records file and resets it
+     *
+     * @param recordsFile - the file to append to, if null the cost is discarded
+     * @param cost - the cost to record
+     */
+    public static void record(File recordsFile, AnalysisCost cost) {
+        if (recordsFile == null || cost == null || cost.isEmpty()) {
+            return;
+        }
+        if (append(recordsFile, cost.toRecord() + System.lineSeparator())) {
+            cost.reset();
+        }
+    }
+
+    /**
+     * Registers a cost, that is written to a records file when the tool has finished. The cost is accumulated until
+     * then and must not be recorded by its owner.
+     *
+     * @param recordsFile - the file to write to, if null the cost is discarded
+     * @param cost - the cost to register
+     */
+    public static synchronized void register(File recordsFile, AnalysisCost cost) {
+        if (recordsFile == null || cost == null) {
+            return;
+        }
+        registeredCosts.computeIfAbsent(recordsFile.getAbsoluteFile(), file -> new ArrayList<>()).add(cost);
+        if (registeredCostsMBeanName == null) {
+            registerMBean();
+        }
+    }
+
+    /**
+     * Writes the costs of a records file, that are registered in any class realm
+     *
+     * @param recordsFile - the records file of the module, whose analysis has finished
+     */
+    public static void flushAllRealms(File recordsFile) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName(REGISTERED_COSTS_MBEAN_PATTERN), null)) {
+                try {
+                    server.invoke(name, "flush", new Object[] { recordsFile.getPath() },
+                            new String[] { String.class.getName() });
+                } catch (InstanceNotFoundException e) {
+                    // The realm has written its last costs in the meantime
+                }
+            }
+        } catch (JMException e) {
+            logger.warn("Unable to record the registered analysis costs in {}", recordsFile, e);
+        }
+    }
+
+    /**
+     * Writes the costs of a records file, that are registered in this class realm, and forgets them
+     *
+     * @param recordsFile - the records file of the module, whose analysis has finished
+     */
+    public static void flushRegistered(File recordsFile) {
+        List<AnalysisCost> costs;
+        synchronized (AnalysisCostRecorder.class) {
+            costs = registeredCosts.remove(recordsFile.getAbsoluteFile());
+            if (registeredCosts.isEmpty() && registeredCostsMBeanName != null) {
+                // The MBean must not keep the class realm of the tool alive after the build
+                unregisterMBean();
+            }
+        }
+        if (costs == null) {
+            return;
+        }
+
+        StringBuilder records = new StringBuilder();
+        for (AnalysisCost cost : costs) {
+            if (!cost.isEmpty()) {
+                records.append(cost.toRecord()).append(System.lineSeparator());
+            }
+        }
+        if (records.length() > 0) {
+            append(recordsFile, records.toString());
+        }
+    }
+
+    private static void registerMBean() {
+        try {
+            ObjectName name = new ObjectName(REGISTERED_COSTS_MBEAN_PATTERN.replace("*",
+                    "realm=" + Integer.toHexString(System.identityHashCode(AnalysisCostRecorder.class))));
+            RegisteredCostsMBean mbean = recordsFile -> flushRegistered(new File(recordsFile));
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new StandardMBean(mbean, RegisteredCostsMBean.class), name);
+            registeredCostsMBeanName = name;
+        } catch (JMException e) {
+            logger.warn("Unable to register the analysis costs, they will not be recorded", e);
+        }
+    }
+
+    private static void unregisterMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredCostsMBeanName);
+        } catch (JMException e) {
+            logger.debug("Unable to unregister {}", registeredCostsMBeanName, e);
+        }
+        registeredCostsMBeanName = null;
+    }
+
+    private static boolean append(File recordsFile, String records) {
+        try {
+            Files.createDirectories(recordsFile.toPath().getParent());
+            // A single append of a few short lines is atomic, so parallel module builds are not able to mix the records
+            Files.write(recordsFile.toPath(), records.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Unable to record the analysis costs in {}", recordsFile, e);
+            return false;
+        }
+    }
+}
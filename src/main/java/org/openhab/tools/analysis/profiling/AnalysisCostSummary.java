@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.openhab.tools.analysis.utils.XmlParsers;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Aggregates analysis costs by tool and name and stores them in a machine readable XML file:
+ *
+ * <pre>
+ * &lt;analysis-cost&gt;
+ *   &lt;cost tool="checkstyle" name="PomXmlCheck" wallNanos="2034011" files="2" bytes="3211" allocatedBytes="524288"/&gt;
+ * &lt;/analysis-cost&gt;
+ * </pre>
+ *
+ * The allocatedBytes attribute is omitted, when the allocation could not be measured.
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisCostSummary {
+
+    private static final String ROOT_ELEMENT = "analysis-cost";
+    private static final String COST_ELEMENT = "cost";
+
+    private static final String TOOL_ATTRIBUTE = "tool";
+    private static final String NAME_ATTRIBUTE = "name";
+    private static final String WALL_NANOS_ATTRIBUTE = "wallNanos";
+    private static final String FILES_ATTRIBUTE = "files";
+    private static final String BYTES_ATTRIBUTE = "bytes";
+    private static final String ALLOCATED_BYTES_ATTRIBUTE = "allocatedBytes";
+
+    private final Map<String, AnalysisCost> costs = new TreeMap<>();
+
+    /**
+     * Adds a cost to the aggregated cost with the same tool and name
+     *
+     * @param cost - the cost to add
+     */
+    public void add(AnalysisCost cost) {
+        String key = cost.getTool() + "/" + cost.getName();
+        costs.computeIfAbsent(key, k -> new AnalysisCost(cost.getTool(), cost.getName())).add(cost);
+    }
+
+    /**
+     * Adds all costs from another summary
+     *
+     * @param summary - the summary to add
+     */
+    public void addAll(AnalysisCostSummary summary) {
+        summary.getCosts().forEach(this::add);
+    }
+
+    public Collection<AnalysisCost> getCosts() {
+        return Collections.unmodifiableCollection(costs.values());
+    }
+
+    public boolean isEmpty() {
+        return costs.isEmpty();
+    }
+
+    /**
+     * Reads the records written by {@link AnalysisCostRecorder}
+     *
+     * @param recordsFile - the records file
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the file contains a malformed record
+     */
+    public void readRecords(File recordsFile) throws IOException {
+        List<String> records = Files.readAllLines(recordsFile.toPath(), StandardCharsets.UTF_8);
+        for (String record : records) {
+            if (!record.trim().isEmpty()) {
+                add(AnalysisCost.fromRecord(record.trim()));
+            }
+        }
+    }
+
+    /**
+     * Reads a summary written with {@link #write(File)}
+     *
+     * @param summaryFile - the XML summary file
+     * @throws IOException if the file can not be read or parsed
+     */
+    public void read(File summaryFile) throws IOException {
+        try {
+            Document document = XmlParsers.getDocumentBuilder().parse(summaryFile);
+            NodeList costNodes = document.getElementsByTagName(COST_ELEMENT);
+            for (int i = 0; i < costNodes.getLength(); i++) {
+                Element costElement = (Element) costNodes.item(i);
+                AnalysisCost cost = new AnalysisCost(costElement.getAttribute(TOOL_ATTRIBUTE),
+                        costElement.getAttribute(NAME_ATTRIBUTE));
+                String allocatedBytes = costElement.getAttribute(ALLOCATED_BYTES_ATTRIBUTE);
+                cost.set(Long.parseLong(costElement.getAttribute(WALL_NANOS_ATTRIBUTE)),
+                        Integer.parseInt(costElement.getAttribute(FILES_ATTRIBUTE)),
+                        Long.parseLong(costElement.getAttribute(BYTES_ATTRIBUTE)),
+                        allocatedBytes.isEmpty() ? AnalysisCost.UNKNOWN : Long.parseLong(allocatedBytes));
+                add(cost);
+            }
+        } catch (ParserConfigurationException | SAXException | NumberFormatException e) {
+            throw new IOException("Unable to parse analysis cost summary " + summaryFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Writes the summary as XML file
+     *
+     * @param summaryFile - the file to write to
+     * @throws IOException if the file can not be written
+     */
+    public void write(File summaryFile) throws IOException {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(System.lineSeparator());
+        xml.append('<').append(ROOT_ELEMENT).append('>').append(System.lineSeparator());
+        for (AnalysisCost cost : costs.values()) {
+            xml.append("  <").append(COST_ELEMENT);
+            appendAttribute(xml, TOOL_ATTRIBUTE, cost.getTool());
+            appendAttribute(xml, NAME_ATTRIBUTE, cost.getName());
+            appendAttribute(xml, WALL_NANOS_ATTRIBUTE, Long.toString(cost.getWallNanos()));
+            appendAttribute(xml, FILES_ATTRIBUTE, Integer.toString(cost.getFiles()));
+            appendAttribute(xml, BYTES_ATTRIBUTE, Long.toString(cost.getBytes()));
+            if (cost.getAllocatedBytes() != AnalysisCost.UNKNOWN) {
+                appendAttribute(xml, ALLOCATED_BYTES_ATTRIBUTE, Long.toString(cost.getAllocatedBytes()));
+            }
+            xml.append("/>").append(System.lineSeparator());
+        }
+        xml.append("</").append(ROOT_ELEMENT).append('>').append(System.lineSeparator());
+
+        Files.createDirectories(summaryFile.getAbsoluteFile().toPath().getParent());
+        Files.write(summaryFile.toPath(), xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendAttribute(StringBuilder xml, String name, String value) {
+        xml.append(' ').append(name).append("=\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '&':
+                    xml.append("&amp;");
+                    break;
+                case '<':
+                    xml.append("&lt;");
+                    break;
+                case '"':
+                    xml.append("&quot;");
+                    break;
+                default:
+                    xml.append(c);
+            }
+        }
+        xml.append('"');
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+/**
+ * An analysis phase that is reported to the Java Flight Recorder. The event starts when it is created by
+ * {@link AnalysisEvents} and is committed when it is closed:
+ *
+ * <pre>
+ * try (AnalysisEvent event = AnalysisEvents.xsltTransformation(xslt, input, output)) {
+ *     transformer.transform(source, result);
+ * }
+ * </pre>
+ *
+ * @author agent - Initial contribution
+ */
+public interface AnalysisEvent extends AutoCloseable {
+
+    /**
+     * Sets the outcome of the phase, e.g. the HTTP response code of a remote fetch or the name of the thrown
+     * exception
+     *
+     * @param outcome - short description of the outcome
+     */
+    void setOutcome(String outcome);
+
+    /**
+     * Ends the event and commits it, if the event is enabled in the current recording
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+import java.io.File;
+
+/**
+ * Creates the Java Flight Recorder events of the analysis phases.
+ * <p>
+ * The events are emitted only on JVMs that provide the jdk.jfr API (Java 8u262 and newer). On older JVMs a no-op
+ * event is returned, so the callers do not depend on the availability of the Flight Recorder. When no recording is
+ * running the events are disabled by the JVM and their overhead is negligible.
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisEvents {
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    private static final AnalysisEvent NO_OP_EVENT = new AnalysisEvent() {
+        @Override
+        public void setOutcome(String outcome) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private AnalysisEvents() {
+    }
+
+    /**
+     * Starts an event for the execution of a Maven plugin goal, that runs a tool
+     *
+     * @param module - the artifactId of the analyzed module
+     * @param plugin - the artifactId of the executed plugin
+     * @param goal - the executed goal
+     * @return the started event
+     */
+    public static AnalysisEvent toolExecution(String module, String plugin, String goal) {
+        return JFR_AVAILABLE ? JfrAnalysisEvents.toolExecution(module, plugin, goal) : NO_OP_EVENT;
+    }
+
+    /**
+     * Starts an event for the processing of a file by a check
+     *
+     * @param check - the name of the check
+     * @param file - the processed file
+     * @return the started event
+     */
+    public static AnalysisEvent fileCheck(String check, File file) {
+        return JFR_AVAILABLE ? JfrAnalysisEvents.fileCheck(check, file) : NO_OP_EVENT;
+    }
+
+    /**
+     * Starts an event for a XSLT transformation of the report
+     *
+     * @param stylesheet - the name of the stylesheet
+     * @param input - the transformed file
+     * @param output - the result file
+     * @return the started event
+     */
+    public static AnalysisEvent xsltTransformation(String stylesheet, File input, File output) {
+        return JFR_AVAILABLE ? JfrAnalysisEvents.xsltTransformation(stylesheet, input, output) : NO_OP_EVENT;
+    }
+
+    /**
+     * Starts an event for the download of a remote resource
+     *
+     * @param check - the name of the check that needs the resource
+     * @param url - the URL of the resource
+     * @return the started event
+     */
+    public static AnalysisEvent remoteFetch(String check, String url) {
+        return JFR_AVAILABLE ? JfrAnalysisEvents.remoteFetch(check, url) : NO_OP_EVENT;
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, AnalysisEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The durations of the tool executions of the modules in the previous builds.
+ * <p>
+ * The history is stored in a properties file, that is shared by all builds of the user. Every key is the module
+ * followed by the tool, e.g. {@code org.openhab:org.openhab.binding.foo/maven-pmd-plugin}, every value is the smoothed
+ * duration in milliseconds - the average of the previous value and the last measured duration. The file is locked
+ * while it is updated, so parallel module builds and parallel builds on the same machine do not lose updates.
+ * The history is enabled with the {@value #ENABLED_PROPERTY} property.
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisHistory {
+
+    /**
+     * Property that enables the recording of the durations and the scheduling of the slowest modules first
+     */
+    public static final String ENABLED_PROPERTY = "report.history";
+
+    /**
+     * Property with the location of the history file
+     */
+    public static final String FILE_PROPERTY = "report.history.file";
+
+    private static final String DEFAULT_FILE_PATH = ".m2/static-code-analysis/analysis-history.properties";
+
+    private static final char TOOL_SEPARATOR = '/';
+    private static final String COMMENT = "Durations of the static code analysis tools in milliseconds";
+
+    // The file lock is held by the JVM, so the threads of a parallel build are synchronized separately
+    private static final Object LOCK = new Object();
+
+    private final SortedMap<String, Long> durations = new TreeMap<>();
+
+    private AnalysisHistory() {
+    }
+
+    /**
+     * @return the history file in the local Maven directory of the user
+     */
+    public static File getDefaultFile() {
+        return new File(System.getProperty("user.home"), DEFAULT_FILE_PATH);
+    }
+
+    /**
+     * Reads a history file
+     *
+     * @param historyFile - the history file
+     * @return the history, empty if the file does not exist
+     * @throws IOException - if the file can not be read
+     */
+    public static AnalysisHistory read(File historyFile) throws IOException {
+        AnalysisHistory history = new AnalysisHistory();
+        if (historyFile.exists()) {
+            history.load(Files.readAllBytes(historyFile.toPath()));
+        }
+        return history;
+    }
+
+    /**
+     * Adds the duration of a tool execution to a history file
+     *
+     * @param historyFile - the history file, it is created if it does not exist
+     * @param module - the module, e.g. "groupId:artifactId"
+     * @param tool - the executed tool
+     * @param millis - the duration of the execution
+     * @throws IOException - if the file can not be read or written
+     */
+    public static void record(File historyFile, String module, String tool, long millis) throws IOException {
+        Files.createDirectories(historyFile.toPath().toAbsolutePath().getParent());
+        synchronized (LOCK) {
+            try (FileChannel channel = FileChannel.open(historyFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+                ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // Read the whole file
+                }
+
+                AnalysisHistory history = new AnalysisHistory();
+                history.load(content.array());
+                history.add(module, tool, millis);
+
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(history.store()), 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the duration of a tool execution
+     *
+     * @param module - the module
+     * @param tool - the tool
+     * @return the smoothed duration in milliseconds, or 0 if it is not known
+     */
+    public long getDuration(String module, String tool) {
+        Long duration = durations.get(module + TOOL_SEPARATOR + tool);
+        return duration != null ? duration : 0;
+    }
+
+    /**
+     * Gets the duration of all tool executions of a module
+     *
+     * @param module - the module
+     * @return the sum of the smoothed durations in milliseconds, or 0 if none is known
+     */
+    public long getDuration(String module) {
+        String prefix = module + TOOL_SEPARATOR;
+        long duration = 0;
+        for (Map.Entry<String, Long> entry : durations.tailMap(prefix).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            duration += entry.getValue();
+        }
+        return duration;
+    }
+
+    /**
+     * @return true if no duration is known
+     */
+    public boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    private void add(String module, String tool, long millis) {
+        String key = module + TOOL_SEPARATOR + tool;
+        Long previous = durations.get(key);
+        durations.put(key, previous != null ? (previous + millis) / 2 : millis);
+    }
+
+    private void load(byte[] content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(content));
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                // A damaged entry is dropped and measured again
+            }
+        }
+    }
+
+    private byte[] store() throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            properties.setProperty(entry.getKey(), Long.toString(entry.getValue()));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        properties.store(output, COMMENT);
+        return output.toByteArray();
+    }
+}
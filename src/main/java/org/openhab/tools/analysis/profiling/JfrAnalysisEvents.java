@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder events of the analysis phases. This class is loaded only if the jdk.jfr API is available,
+ * see {@link AnalysisEvents}.
+ * <p>
+ * The attributes, that are expensive to compute, are set only if the event is going to be committed.
+ *
+ * @author agent - Initial contribution
+ */
+class JfrAnalysisEvents {
+
+    private static final String CATEGORY = "Static Code Analysis";
+    private static final String EVENT_PREFIX = "org.openhab.tools.analysis.";
+
+    private JfrAnalysisEvents() {
+    }
+
+    static AnalysisEvent toolExecution(String module, String plugin, String goal) {
+        ToolExecutionEvent event = new ToolExecutionEvent();
+        event.module = module;
+        event.plugin = plugin;
+        event.goal = goal;
+        event.begin();
+        return event;
+    }
+
+    static AnalysisEvent fileCheck(String check, File file) {
+        FileCheckEvent event = new FileCheckEvent(file);
+        event.check = check;
+        event.begin();
+        return event;
+    }
+
+    static AnalysisEvent xsltTransformation(String stylesheet, File input, File output) {
+        XsltTransformationEvent event = new XsltTransformationEvent(input, output);
+        event.stylesheet = stylesheet;
+        event.begin();
+        return event;
+    }
+
+    static AnalysisEvent remoteFetch(String check, String url) {
+        RemoteFetchEvent event = new RemoteFetchEvent();
+        event.check = check;
+        event.url = url;
+        event.begin();
+        return event;
+    }
+
+    @Name(EVENT_PREFIX + "ToolExecution")
+    @Label("Tool Execution")
+    @Category(CATEGORY)
+    @Description("Execution of a Maven plugin goal, that runs an analysis tool")
+    static class ToolExecutionEvent extends Event implements AnalysisEvent {
+
+        @Label("Module")
+        String module;
+
+        @Label("Plugin")
+        String plugin;
+
+        @Label("Goal")
+        String goal;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Override
+        public void setOutcome(String outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public void close() {
+            commit();
+        }
+    }
+
+    @Name(EVENT_PREFIX + "FileCheck")
+    @Label("File Check")
+    @Category(CATEGORY)
+    @Description("Processing of a single file by a Checkstyle check")
+    static class FileCheckEvent extends Event implements AnalysisEvent {
+
+        @Label("Check")
+        String check;
+
+        @Label("File")
+        String path;
+
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        @Label("Outcome")
+        String outcome;
+
+        private final transient File file;
+
+        FileCheckEvent(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void setOutcome(String outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public void close() {
+            end();
+            if (shouldCommit()) {
+                path = file.getPath();
+                size = file.length();
+                commit();
+            }
+        }
+    }
+
+    @Name(EVENT_PREFIX + "XsltTransformation")
+    @Label("XSLT Transformation")
+    @Category(CATEGORY)
+    @Description("XSLT transformation executed while creating the report")
+    static class XsltTransformationEvent extends Event implements AnalysisEvent {
+
+        @Label("Stylesheet")
+        String stylesheet;
+
+        @Label("Input")
+        String input;
+
+        @Label("Input Size")
+        @DataAmount
+        long inputSize;
+
+        @Label("Output")
+        String output;
+
+        @Label("Outcome")
+        String outcome;
+
+        private final transient File inputFile;
+        private final transient File outputFile;
+
+        XsltTransformationEvent(File inputFile, File outputFile) {
+            this.inputFile = inputFile;
+            this.outputFile = outputFile;
+        }
+
+        @Override
+        public void setOutcome(String outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public void close() {
+            end();
+            if (shouldCommit()) {
+                input = inputFile.getPath();
+                inputSize = inputFile.length();
+                output = outputFile.getPath();
+                commit();
+            }
+        }
+    }
+
+    @Name(EVENT_PREFIX + "RemoteFetch")
+    @Label("Remote Fetch")
+    @Category(CATEGORY)
+    @Description("Blocking download of a remote resource, needed by a check")
+    static class RemoteFetchEvent extends Event implements AnalysisEvent {
+
+        @Label("Check")
+        String check;
+
+        @Label("URL")
+        String url;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Override
+        public void setOutcome(String outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public void close() {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report;
+
+import java.util.Objects;
+
+/**
+ * A problem found by one of the tools, as it is shown in the report
+ *
+ * @author agent - Initial contribution
+ */
+public class Finding {
+
+    private final String fileName;
+    private final String tool;
+    private final String line;
+    private final String message;
+    private final String priority;
+    private final String rule;
+    private final String ruleUrl;
+    private final String category;
+    private final String ruleId;
+
+    /**
+     * Creates a finding
+     *
+     * @param fileName - the name of the file shown in the report
+     * @param tool - the tool that found the problem
+     * @param line - the line of the problem
+     * @param message - the description of the problem
+     * @param priority - "1" for errors, "2" for warnings and "3" for infos
+     * @param rule - the name of the violated rule
+     * @param ruleUrl - the documentation of the rule, may be null
+     * @param category - the category of the rule
+     * @param ruleId - the id of the rule, may be null
+     */
+    public Finding(String fileName, String tool, String line, String message, String priority, String rule,
+            String ruleUrl, String category, String ruleId) {
+        this.fileName = fileName;
+        this.tool = tool;
+        this.line = line;
+        this.message = message;
+        this.priority = priority;
+        this.rule = rule;
+        this.ruleUrl = ruleUrl;
+        this.category = category;
+        this.ruleId = ruleId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getTool() {
+        return tool;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    public String getRuleUrl() {
+        return ruleUrl;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Finding)) {
+            return false;
+        }
+        Finding other = (Finding) obj;
+        return Objects.equals(fileName, other.fileName) && Objects.equals(tool, other.tool)
+                && Objects.equals(line, other.line) && Objects.equals(message, other.message)
+                && Objects.equals(priority, other.priority) && Objects.equals(rule, other.rule)
+                && Objects.equals(ruleUrl, other.ruleUrl) && Objects.equals(category, other.category)
+                && Objects.equals(ruleId, other.ruleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileName, tool, line, message, priority, rule, ruleUrl, category, ruleId);
+    }
+}
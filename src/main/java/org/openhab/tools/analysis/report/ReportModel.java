@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The findings of all tools of a module.
+ * <p>
+ * The findings are added by the {@link ResultCollector}s and are kept in memory, so the verdict and the console output
+ * of the report goal do not depend on any intermediate file. The model is written once, in the format expected by the
+ * create_html.xslt - a {@code <file>} element for every file name with a {@code <message>} element for every finding.
+ * <p>
+ * The findings are stored in columns. The file names, messages, rules and categories are kept once in a
+ * {@link StringTable} and every finding keeps only their indexes, the line, the priority and the tool are kept as
+ * primitive values. A finding takes less than {@value #MAX_BYTES_PER_FINDING} bytes, when its strings are already in
+ * the table. The {@link Finding}s returned by the model are created on demand.
+ *
+ * @author agent - Initial contribution
+ */
+public class ReportModel {
+
+    /**
+     * The upper bound of the heap size of a finding in bytes, when its strings are already in the table
+     */
+    public static final int MAX_BYTES_PER_FINDING = 64;
+
+    // The line of a finding without a numeric line
+    private static final int NO_LINE = -1;
+    // The priority of a finding without a numeric priority
+    private static final byte NO_PRIORITY = 0;
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Estimated heap size of the header of an array
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int COLUMNS = 9;
+
+    private static final String ROOT_ELEMENT = "sca";
+    private static final String FILE_ELEMENT = "file";
+    private static final String MESSAGE_ELEMENT = "message";
+
+    private final StringTable strings = new StringTable();
+    private final StringTable tools = new StringTable();
+
+    private int size;
+    private int[] fileNames = new int[INITIAL_CAPACITY];
+    private byte[] toolIndexes = new byte[INITIAL_CAPACITY];
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int[] messages = new int[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private int[] rules = new int[INITIAL_CAPACITY];
+    private int[] ruleUrls = new int[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private int[] ruleIds = new int[INITIAL_CAPACITY];
+
+    /**
+     * Adds a finding. A line or priority, that is not a number, is dropped.
+     *
+     * @param finding - the finding
+     * @throws IllegalStateException if the finding has a new tool and the model has already 128 tools, the model is
+     *             not changed in this case
+     */
+    public void add(Finding finding) {
+        // A rejected finding must not leave its tool in the table
+        if (tools.size() > Byte.MAX_VALUE && !tools.contains(finding.getTool())) {
+            throw new IllegalStateException("Too many tools: " + finding.getTool());
+        }
+        if (size == fileNames.length) {
+            grow();
+        }
+        int tool = tools.intern(finding.getTool());
+
+        fileNames[size] = strings.intern(finding.getFileName() != null ? finding.getFileName() : "");
+        toolIndexes[size] = (byte) tool;
+        lines[size] = parseNumber(finding.getLine(), NO_LINE);
+        messages[size] = strings.intern(finding.getMessage());
+        priorities[size] = parsePriority(finding.getPriority());
+        rules[size] = strings.intern(finding.getRule());
+        ruleUrls[size] = strings.intern(finding.getRuleUrl());
+        categories[size] = strings.intern(finding.getCategory());
+        ruleIds[size] = strings.intern(finding.getRuleId());
+        size++;
+    }
+
+    /**
+     * Gets a finding
+     *
+     * @param index - the index of the finding, in the order the findings were added
+     * @return the finding
+     */
+    public Finding get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Finding(strings.get(fileNames[index]), tools.get(toolIndexes[index]),
+                lines[index] != NO_LINE ? Integer.toString(lines[index]) : "", strings.get(messages[index]),
+                priorities[index] != NO_PRIORITY ? Byte.toString(priorities[index]) : "", strings.get(rules[index]),
+                strings.get(ruleUrls[index]), strings.get(categories[index]), strings.get(ruleIds[index]));
+    }
+
+    /**
+     * @return the findings in the order they were added
+     */
+    public List<Finding> getFindings() {
+        return new AbstractList<Finding>() {
+            @Override
+            public Finding get(int index) {
+                return ReportModel.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @return the number of findings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Counts the findings with a priority
+     *
+     * @param priority - "1" for errors, "2" for warnings and "3" for infos
+     * @return the number of findings with this priority
+     */
+    public int countPriority(String priority) {
+        byte value = parsePriority(priority);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (priorities[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the findings of another model, that are not in this model
+     *
+     * @param other - the other model
+     * @return the number of findings, that are only in the other model
+     */
+    public int countMissing(ReportModel other) {
+        return getMissingFindings(other).size();
+    }
+
+    /**
+     * @return the estimated heap size of the findings and of their strings in bytes
+     */
+    public long estimateBytes() {
+        long columns = COLUMNS * (long) ARRAY_HEADER_BYTES
+                + fileNames.length * (long) (Integer.BYTES * (COLUMNS - 2) + Byte.BYTES * 2);
+        return columns + strings.estimateBytes() + tools.estimateBytes();
+    }
+
+    /**
+     * Writes the findings as XML file. The findings of a file are grouped in a single element, in the order the file
+     * was first found.
+     *
+     * @param reportFile - the file to write to
+     * @throws IOException if the file can not be written
+     */
+    public void write(File reportFile) throws IOException {
+        // Sorts the findings by the first appearance of their file name with a counting sort
+        int[] groups = new int[strings.size()];
+        Arrays.fill(groups, -1);
+        int[] groupFileNames = new int[size];
+        int[] groupOffsets = new int[size + 1];
+        int groupCount = 0;
+        for (int i = 0; i < size; i++) {
+            int group = groups[fileNames[i]];
+            if (group == -1) {
+                group = groupCount++;
+                groupFileNames[group] = fileNames[i];
+                groups[fileNames[i]] = group;
+            }
+            groupOffsets[group + 1]++;
+        }
+        for (int group = 0; group < groupCount; group++) {
+            groupOffsets[group + 1] += groupOffsets[group];
+        }
+        int[] order = new int[size];
+        int[] next = Arrays.copyOf(groupOffsets, groupCount);
+        for (int i = 0; i < size; i++) {
+            order[next[groups[fileNames[i]]]++] = i;
+        }
+
+        Files.createDirectories(reportFile.getAbsoluteFile().toPath().getParent());
+        try (Writer xml = Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8)) {
+            xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(System.lineSeparator());
+            xml.append('<').append(ROOT_ELEMENT).append('>').append(System.lineSeparator());
+            for (int group = 0; group < groupCount; group++) {
+                xml.append("  <").append(FILE_ELEMENT);
+                appendAttribute(xml, "name", strings.get(groupFileNames[group]));
+                xml.append('>').append(System.lineSeparator());
+                for (int i = groupOffsets[group]; i < groupOffsets[group + 1]; i++) {
+                    Finding finding = get(order[i]);
+                    xml.append("    <").append(MESSAGE_ELEMENT);
+                    appendAttribute(xml, "tool", finding.getTool());
+                    appendAttribute(xml, "line", finding.getLine());
+                    appendAttribute(xml, "message", finding.getMessage());
+                    appendAttribute(xml, "priority", finding.getPriority());
+                    appendAttribute(xml, "rule", finding.getRule());
+                    appendAttribute(xml, "rule_url", finding.getRuleUrl());
+                    appendAttribute(xml, "category", finding.getCategory());
+                    appendAttribute(xml, "rule_id", finding.getRuleId());
+                    xml.append("/>").append(System.lineSeparator());
+                }
+                xml.append("  </").append(FILE_ELEMENT).append('>').append(System.lineSeparator());
+            }
+            xml.append("</").append(ROOT_ELEMENT).append('>').append(System.lineSeparator());
+        }
+    }
+
+    private List<Finding> getMissingFindings(ReportModel other) {
+        // Only the findings of the other model are held as objects
+        Set<Finding> candidates = new HashSet<>(other.getFindings());
+        Set<Finding> present = new HashSet<>();
+        for (int i = 0; i < size && present.size() < candidates.size(); i++) {
+            Finding finding = get(i);
+            if (candidates.contains(finding)) {
+                present.add(finding);
+            }
+        }
+
+        List<Finding> missing = new ArrayList<>();
+        for (Finding finding : other.getFindings()) {
+            if (!present.contains(finding)) {
+                missing.add(finding);
+            }
+        }
+        return missing;
+    }
+
+    private void grow() {
+        int capacity = fileNames.length + (fileNames.length >> 1);
+        fileNames = Arrays.copyOf(fileNames, capacity);
+        toolIndexes = Arrays.copyOf(toolIndexes, capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        messages = Arrays.copyOf(messages, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        rules = Arrays.copyOf(rules, capacity);
+        ruleUrls = Arrays.copyOf(ruleUrls, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        ruleIds = Arrays.copyOf(ruleIds, capacity);
+    }
+
+    private static byte parsePriority(String value) {
+        int priority = parseNumber(value, NO_PRIORITY);
+        return priority > 0 && priority <= Byte.MAX_VALUE ? (byte) priority : NO_PRIORITY;
+    }
+
+    private static int parseNumber(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private void appendAttribute(Writer xml, String name, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        xml.append(' ').append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    xml.append("&amp;");
+                    break;
+                case '<':
+                    xml.append("&lt;");
+                    break;
+                case '"':
+                    xml.append("&quot;");
+                    break;
+                // The line breaks of the messages would be normalized to spaces by the XML parser
+                case '\n':
+                    xml.append("&#10;");
+                    break;
+                case '\r':
+                    xml.append("&#13;");
+                    break;
+                case '\t':
+                    xml.append("&#9;");
+                    break;
+                default:
+                    xml.append(c);
+            }
+        }
+        xml.append('"');
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders the HTML and the summary reports in the background, so the build continues with the next module, as soon
+ * as the verdict of the report goal is known.
+ * <p>
+ * The rendering tasks of all modules share a pool with a bounded queue. When the queue is full, the rendering is
+ * executed by the thread that submits it, which slows down the reactor until the workers catch up. The pool is
+ * created on the first submission and is shut down by {@link #drain()}, that waits for the submitted tasks and then
+ * executes the tasks registered with {@link #whenDrained(Object, Runnable)}, e.g. the rendering of the summary report
+ * once for the whole reactor. The {@link ReportUtility} drains the queue after the last module of the reactor. The
+ * lifecycle participant of the plugin drains it at the end of the session and a shutdown hook drains it, if the build
+ * ends before that.
+ *
+ * @author agent - Initial contribution
+ */
+public final class ReportRenderingQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportRenderingQueue.class);
+
+    private static final String THREAD_NAME_PREFIX = "report-rendering-";
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    // The tasks executed after the submitted tasks, by their key
+    private static final Map<Object, Runnable> DRAIN_TASKS = new LinkedHashMap<>();
+
+    private static ThreadPoolExecutor executor;
+    private static boolean shutdownHookRegistered;
+
+    private ReportRenderingQueue() {
+    }
+
+    /**
+     * Submits a rendering task. The task is executed by the calling thread, if the queue is full or is being drained.
+     *
+     * @param threads - the number of workers, used only when the pool is created
+     * @param capacity - the number of tasks that can wait for a worker, used only when the pool is created
+     * @param task - the rendering task
+     */
+    public static void submit(int threads, int capacity, Runnable task) {
+        getExecutor(threads, capacity).execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Unable to render the report", e);
+            }
+        });
+    }
+
+    /**
+     * Registers a task, that is executed by the next {@link #drain()} after the submitted tasks. A task registered with
+     * the same key replaces the task registered before, so it is executed once, however many modules register it.
+     *
+     * @param key - the key of the task, e.g. the directory of the summary report
+     * @param task - the task
+     */
+    public static synchronized void whenDrained(Object key, Runnable task) {
+        DRAIN_TASKS.put(key, task);
+        registerShutdownHook();
+    }
+
+    /**
+     * Waits until all submitted tasks are executed, shuts down the workers and executes the tasks registered with
+     * {@link #whenDrained(Object, Runnable)}. The next submitted task starts a new pool.
+     */
+    public static void drain() {
+        ThreadPoolExecutor drained;
+        synchronized (ReportRenderingQueue.class) {
+            drained = executor;
+            executor = null;
+        }
+        if (drained != null) {
+            awaitTermination(drained);
+        }
+
+        List<Runnable> tasks;
+        synchronized (ReportRenderingQueue.class) {
+            tasks = new ArrayList<>(DRAIN_TASKS.values());
+            DRAIN_TASKS.clear();
+        }
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Unable to render the report", e);
+            }
+        }
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor drained) {
+        int pending = drained.getQueue().size() + drained.getActiveCount();
+        if (pending > 0) {
+            logger.info("Waiting for {} report(s) to be rendered", pending);
+        }
+        drained.shutdown();
+        try {
+            while (!drained.awaitTermination(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("Still waiting for the reports to be rendered");
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while waiting for the reports to be rendered. The reports might be incomplete!");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor(int threads, int capacity) {
+        if (executor == null) {
+            int poolSize = Math.max(1, threads);
+            // A rejected task is rendered by the submitting thread - this is the backpressure for a full queue and
+            // the fallback for a task, that is submitted while the pool is drained
+            executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, capacity)), new RenderingThreadFactory(),
+                    (task, pool) -> task.run());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        registerShutdownHook();
+        return executor;
+    }
+
+    private static synchronized void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(ReportRenderingQueue::drain, THREAD_NAME_PREFIX + "drain"));
+            shutdownHookRegistered = true;
+        }
+    }
+
+    private static class RenderingThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -42,41 +42,43 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.lang.ref.WeakReference;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
 import org.dom4j.dom.DOMNodeHelper.EmptyNodeList;
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+import org.openhab.tools.analysis.profiling.AnalysisCostSummary;
+import org.openhab.tools.analysis.profiling.AnalysisEvent;
+import org.openhab.tools.analysis.profiling.AnalysisEvents;
+import org.openhab.tools.analysis.utils.XmlParsers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
-import com.google.common.io.Files;
-
 import net.sf.saxon.TransformerFactoryImpl;
 
 /**
@@ -117,27 +119,75 @@ public class ReportUtility extends AbstractMojo {
     @Parameter(property = "report.summary.targetDir", defaultValue = "${session.executionRootDirectory}/target")
     private File summaryReportDirectory;
 
+    /**
+     * Includes the wall time, the processed files and bytes and the allocated memory of the executed tools, checks
+     * and report stages in the report
+     */
+    @Parameter(property = AnalysisCostRecorder.ENABLED_PROPERTY, defaultValue = "false")
+    private boolean analysisCost;
+
+    /**
+     * Renders the HTML and the summary reports in the background. The build continues with the next module as soon as
+     * the messages are counted and the reports are completed before the build ends.
+     */
+    @Parameter(property = "report.async", defaultValue = "false")
+    private boolean asyncRendering;
+
+    /**
+     * The number of threads that render the reports in the background
+     */
+    @Parameter(property = "report.async.threads", defaultValue = "2")
+    private int renderingThreads;
+
+    /**
+     * The number of reports that can wait to be rendered in the background, before the build waits for the rendering
+     */
+    @Parameter(property = "report.async.queue", defaultValue = "8")
+    private int renderingQueueCapacity;
+
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true)
+    private List<MavenProject> reactorProjects;
+
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
+
     private static final String REPORT_SUBDIR = "report";
 
     // XSLT files that are used to create the merged report, located in the resources folder
     private static final String CREATE_HTML_XSLT = REPORT_SUBDIR + "/create_html.xslt";
-    private static final String MERGE_XSLT = REPORT_SUBDIR + "/merge.xslt";
-    private static final String PREPARE_PMD_XSLT = REPORT_SUBDIR + "/prepare_pmd.xslt";
-    private static final String PREPARE_CHECKSTYLE_XSLT = REPORT_SUBDIR + "/prepare_checkstyle.xslt";
-    private static final String PREPARE_FINDBUGS_XSLT = REPORT_SUBDIR + "/prepare_findbugs.xslt";
 
     private static final String SUMMARY_TEMPLATE_FILE_NAME = "summary.html";
 
-    // Input files that contain the reports of the different tools
-    private static final String PMD_INPUT_FILE_NAME = "pmd.xml";
-    private static final String CHECKSTYLE_INPUT_FILE_NAME = "checkstyle-result.xml";
-    private static final String FINDBUGS_INPUT_FILE_NAME = "findbugsXml.xml";
-
     // Name of the file that contains the merged report
     public static final String RESULT_FILE_NAME = "report.html";
     public static final String SUMMARY_REPORT_FILE_NAME = "summary_report.html";
     public static final String SUMMARY_BUNLES_FILE_NAME = "summary_bundles.html";
+
+    // Binary files with the findings of the module and of the whole reactor
+    public static final String RESULT_DATA_FILE_NAME = "report" + ScaFile.EXTENSION;
+    public static final String SUMMARY_RESULT_DATA_FILE_NAME = "summary_report" + ScaFile.EXTENSION;
+
+    // Machine readable files with the aggregated analysis cost of the module and of the whole reactor
+    public static final String ANALYSIS_COST_FILE_NAME = "analysis-cost.xml";
+    public static final String SUMMARY_ANALYSIS_COST_FILE_NAME = "summary_analysis_cost.xml";
+
+    // Parameter of the CREATE_HTML_XSLT that points to the analysis cost file
+    private static final String COSTS_PARAM = "costs";
+    private static final String REPORT_TOOL = "report";
+    private static final String FINDBUGS_TOOL = "spotbugs";
     private static final String EMPTY = "";
+    private static final String COLLECT_STAGE_PREFIX = "collect_";
+    private static final String MERGE_STAGE = "merge";
+    private static final String RESULT_DATA_STAGE = "result_data";
+    private static final String SUMMARY_STAGE = "summary";
+
+    // The summary reports are shared by all modules, that might be rendered in parallel
+    private static final Object SUMMARY_LOCK = new Object();
+
+    // The request of the build and the number of its reactor projects, whose report goal is completed. The request
+    // identifies the build, because Maven executes every project with its own clone of the session.
+    private static WeakReference<MavenExecutionRequest> countedBuild = new WeakReference<>(null);
+    private static int completedProjects;
 
     private TransformerFactory transformerFactory;
 
@@ -156,82 +206,226 @@ public class ReportUtility extends AbstractMojo {
         this.summaryReportDirectory = summaryReport;
     }
 
+    public void setAnalysisCost(boolean analysisCost) {
+        this.analysisCost = analysisCost;
+    }
+
+    public void setAsyncRendering(boolean asyncRendering) {
+        this.asyncRendering = asyncRendering;
+    }
+
+    public void setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = renderingThreads;
+    }
+
+    public void setRenderingQueueCapacity(int renderingQueueCapacity) {
+        this.renderingQueueCapacity = renderingQueueCapacity;
+    }
+
+    public void setReactorProjects(List<MavenProject> reactorProjects) {
+        this.reactorProjects = reactorProjects;
+    }
+
+    public void setSession(MavenSession session) {
+        this.session = session;
+    }
+
     @Override
     public void execute() throws MojoFailureException {
+        try {
+            createReports();
+        } finally {
+            drainAfterLastProject();
+        }
+    }
+
+    private void createReports() throws MojoFailureException {
         transformerFactory = TransformerFactory.newInstance(TransformerFactoryImpl.class.getName(),
                 Thread.currentThread().getContextClassLoader());
+        // Cost of the report stages, null if the analysis cost is not recorded
+        final AnalysisCostSummary stageCosts = analysisCost ? new AnalysisCostSummary() : null;
 
         // Prepare userDirectory and tempDirectoryPrefix
         final String timeStamp = Integer.toHexString((int) System.nanoTime());
-        Queue<File> transformedReports = new LinkedList<>();
-
-        // 1. Create intermediate xml-file for FindBugs
-        final File inputFileFindbugs = new File(targetDirectory, FINDBUGS_INPUT_FILE_NAME);
-        if (inputFileFindbugs.exists()) {
-            final File findbugsTempFile = new File(targetDirectory, timeStamp + "_PostFB.xml");
-            run(PREPARE_FINDBUGS_XSLT, inputFileFindbugs, findbugsTempFile, EMPTY, null);
-            transformedReports.add(findbugsTempFile);
+        final File inputFileFindbugs = new File(targetDirectory, ResultCollector.FINDBUGS.getResultFileName());
+
+        // 1. Collect the findings of FindBugs, Checkstyle and PMD in memory
+        final ReportModel model = new ReportModel();
+        boolean resultsFound = false;
+        for (ResultCollector collector : ResultCollector.values()) {
+            final File resultFile = new File(targetDirectory, collector.getResultFileName());
+            if (resultFile.exists()) {
+                collect(collector, resultFile, model, stageCosts);
+                resultsFound = true;
+            }
         }
 
-        // 2. Create intermediate xml-file for Checkstyle
-        final File inputFileCheckstyle = new File(targetDirectory, CHECKSTYLE_INPUT_FILE_NAME);
-        if (inputFileCheckstyle.exists()) {
-            final File checkstyleTempFile = new File(targetDirectory, timeStamp + "_PostCS.xml");
-            run(PREPARE_CHECKSTYLE_XSLT, inputFileCheckstyle, checkstyleTempFile, EMPTY, null);
-            transformedReports.add(checkstyleTempFile);
+        if (resultsFound) {
+            // 2. Write the merged result, the verdict does not depend on the rendered reports
+            final File htmlOutputFileName = new File(targetDirectory, RESULT_FILE_NAME);
+            final File mergedReport = new File(targetDirectory, timeStamp + "_Merge.xml");
+            writeMergedReport(model, mergedReport, stageCosts);
+
+            // 3. Compare the findings with the previous build and keep them for the next one
+            updateResultData(model, stageCosts);
+
+            // 4. Render the reports, the merged result is deleted afterwards
+            if (asyncRendering) {
+                logger.debug("Rendering {} in the background", htmlOutputFileName);
+                ReportRenderingQueue.submit(renderingThreads, renderingQueueCapacity, () -> {
+                    renderReports(mergedReport, htmlOutputFileName, inputFileFindbugs, model, stageCosts);
+                    // The location is logged when the report exists
+                    if (model.size() > 0) {
+                        logReportLocation(htmlOutputFileName);
+                    }
+                });
+            } else {
+                renderReports(mergedReport, htmlOutputFileName, inputFileFindbugs, model, stageCosts);
+            }
+
+            // 5. Report errors and warnings
+            reportWarningsAndErrors(model, htmlOutputFileName);
+
+            // 6. Fail the build if the option is enabled and high priority warnings are found
+            if (failOnError) {
+                checkForErrors(model);
+            }
+        } else {
+            getLog().info("No reports found !");
         }
+    }
 
-        // 3. Create intermediate xml-file for PMD
-        final File inputFilePMD = new File(targetDirectory, PMD_INPUT_FILE_NAME);
-        if (inputFilePMD.exists()) {
-            final File pmdTempFile = new File(targetDirectory, timeStamp + "_PostPM.xml");
-            run(PREPARE_PMD_XSLT, inputFilePMD, pmdTempFile, EMPTY, null);
-            transformedReports.add(pmdTempFile);
+    /**
+     * Renders the HTML report of the module and appends it to the summary. The method might be executed in the
+     * background, so it uses only its parameters and the configuration of the goal.
+     *
+     * @param stageCosts - the cost of the report stages executed before the rendering, null if the analysis cost is
+     *            not recorded
+     */
+    private void renderReports(File mergedReport, File htmlOutputFileName, File inputFileFindbugs,
+            ReportModel model, AnalysisCostSummary stageCosts) {
+        // Create html report out of the last merged result
+        final AnalysisCostSummary moduleCosts = collectAnalysisCosts(inputFileFindbugs, stageCosts);
+        final File costFile = writeAnalysisCosts(moduleCosts);
+        final AnalysisCostSummary renderingCosts = analysisCost ? new AnalysisCostSummary() : null;
+        run(CREATE_HTML_XSLT, mergedReport, htmlOutputFileName, costFile, renderingCosts);
+
+        // Append the individual report to the summary, if it is not empty
+        if (summaryReportDirectory != null) {
+            synchronized (SUMMARY_LOCK) {
+                updateSummaryAnalysisCosts(moduleCosts);
+                generateSummaryByBundle(htmlOutputFileName, model.size());
+                appendToSummary(model, renderingCosts);
+            }
         }
 
-        if (!transformedReports.isEmpty()) {
-            while (transformedReports.size() != 1) {
-                File firstReport = transformedReports.poll();
-                File secondReport = transformedReports.poll();
+        // Delete the temporary files
+        deleteFile(mergedReport);
 
-                // 4. Merge first two files and create merge result file
-                final File mergeResult = new File(targetDirectory,
-                        timeStamp + "_" + transformedReports.size() + "_Merge.xml");
-                run(MERGE_XSLT, firstReport, mergeResult, "with", secondReport);
+        // Add the cost of the last report stages to the machine readable files
+        if (moduleCosts != null) {
+            moduleCosts.addAll(renderingCosts);
+            writeAnalysisCosts(moduleCosts);
+            if (summaryReportDirectory != null) {
+                synchronized (SUMMARY_LOCK) {
+                    updateSummaryAnalysisCosts(renderingCosts);
+                }
+            }
+        }
+    }
 
-                // 5. Add the result for further merging
-                transformedReports.add(mergeResult);
+    /**
+     * Waits for the reports rendered in the background, when the report goal of all reactor projects of the build is
+     * completed, regardless if the goal found any results. The projects are counted by the execution request, that is
+     * shared by the clones of the session, and the count starts again with every build. Builds that do not execute the
+     * goal for every project are drained at the end of the session by the
+     * {@link org.openhab.tools.analysis.tools.CriticalPathScheduler}, if the plugin is declared as extension, or by the
+     * shutdown hook of the {@link ReportRenderingQueue}.
+     */
+    private void drainAfterLastProject() {
+        if (reactorProjects == null) {
+            return;
+        }
 
-                deleteFile(firstReport);
-                deleteFile(secondReport);
+        MavenExecutionRequest build = session != null ? session.getRequest() : null;
+        boolean lastProject;
+        synchronized (ReportUtility.class) {
+            if (countedBuild.get() != build) {
+                countedBuild = new WeakReference<>(build);
+                completedProjects = 0;
             }
-            // 6. Create html report out of the last merged result
-            final File htmlOutputFileName = new File(targetDirectory, RESULT_FILE_NAME);
-            final File mergedReport = transformedReports.poll();
-            run(CREATE_HTML_XSLT, mergedReport, htmlOutputFileName, EMPTY, null);
-
-            // 7. Append the individual report to the summary, if it is not empty
-            if (summaryReportDirectory != null) {
-                generateSummaryByBundle(htmlOutputFileName, mergedReport);
-                generateSummaryByRules(htmlOutputFileName, mergedReport);
+            lastProject = ++completedProjects >= reactorProjects.size();
+            if (lastProject) {
+                countedBuild = new WeakReference<>(null);
+                completedProjects = 0;
             }
+        }
+        if (lastProject) {
+            ReportRenderingQueue.drain();
+        }
+    }
 
-            // 8. Report errors and warnings
-            reportWarningsAndErrors(mergedReport, htmlOutputFileName);
+    private void collect(ResultCollector collector, File resultFile, ReportModel model, AnalysisCostSummary costs) {
+        AnalysisCost cost = startReportStage(COLLECT_STAGE_PREFIX + collector.getTool());
+        try {
+            logger.debug("Collecting the findings of {} from {}", collector.getTool(), resultFile);
+            collector.collect(resultFile, model);
+        } catch (IOException e) {
+            logger.error("Unable to collect the findings of {} from {}", collector.getTool(),
+                    resultFile.getAbsolutePath(), e);
+        } finally {
+            endReportStage(cost, resultFile, costs);
+        }
+    }
 
-            // 9. Fail the build if the option is enabled and high priority warnings are found
-            if (failOnError) {
-                checkForErrors(mergedReport, htmlOutputFileName);
+    private void writeMergedReport(ReportModel model, File mergedReport, AnalysisCostSummary costs) {
+        AnalysisCost cost = startReportStage(MERGE_STAGE);
+        try {
+            model.write(mergedReport);
+        } catch (IOException e) {
+            logger.error("Unable to write the merged report {}", mergedReport.getAbsolutePath(), e);
+        } finally {
+            endReportStage(cost, mergedReport, costs);
+        }
+    }
+
+    private void updateResultData(ReportModel model, AnalysisCostSummary costs) {
+        File resultData = new File(targetDirectory, RESULT_DATA_FILE_NAME);
+        AnalysisCost cost = startReportStage(RESULT_DATA_STAGE);
+        try {
+            if (resultData.exists()) {
+                try {
+                    ReportModel previous = ScaFile.open(resultData).toModel();
+                    logger.info("Compared to the previous build {} finding(s) are new and {} are fixed",
+                            previous.countMissing(model), model.countMissing(previous));
+                } catch (IOException e) {
+                    // e.g. a file of an older version of the plugin, it is replaced
+                    logger.warn("Unable to read the binary result file of the previous build {}",
+                            resultData.getAbsolutePath(), e);
+                }
             }
+            ScaFile.write(model, resultData);
+        } catch (IOException e) {
+            logger.warn("Unable to update the binary result file {}", resultData.getAbsolutePath(), e);
+        } finally {
+            endReportStage(cost, resultData, costs);
+        }
+    }
 
-            // 10. Delete the temporary files
-            deleteFile(mergedReport);
+    private void run(final String xslt, final File input, final File output, final File costFile,
+            final AnalysisCostSummary costs) {
+        if (costFile != null) {
+            run(xslt, input, output, COSTS_PARAM, costFile, costs);
         } else {
-            getLog().info("No reports found !");
+            run(xslt, input, output, EMPTY, null, costs);
         }
     }
 
-    private void run(final String xslt, final File input, final File output, final String param, final File value) {
+    private void run(final String xslt, final File input, final File output, final String param, final File value,
+            final AnalysisCostSummary costs) {
+        final String stylesheet = new File(xslt).getName();
+        AnalysisCost cost = startReportStage(stylesheet);
+        AnalysisEvent event = AnalysisEvents.xsltTransformation(stylesheet, input, output);
         FileOutputStream outputStream = null;
         try {
             logger.debug("{}  > {} {} {} >  {}", input, xslt, param, value, output);
@@ -254,10 +448,14 @@ public class ReportUtility extends AbstractMojo {
             // Transform the XML Source to a Result
             transformer.transform(xmlSource, outputTarget);
         } catch (IOException e) {
+            event.setOutcome(e.getClass().getSimpleName());
             logger.error("IOException occcurred ", e);
         } catch (TransformerException e) {
+            event.setOutcome(e.getClass().getSimpleName());
             logger.error("TransformerException occcurred ", e);
         } finally {
+            event.close();
+            endReportStage(cost, input, costs);
             if (null != outputStream) {
                 try {
                     outputStream.close();
@@ -274,13 +472,12 @@ public class ReportUtility extends AbstractMojo {
         }
     }
 
-    private void reportWarningsAndErrors(File mergedReport, File reportLocation) {
-        NodeList messages = selectNodes(mergedReport, "/sca/file/message");
-        int messageCount = messages.getLength();
+    private void reportWarningsAndErrors(ReportModel model, File reportLocation) {
+        int messageCount = model.size();
 
-        int errorCount = countPriority(messages, "1");
-        int warnCount = countPriority(messages, "2");
-        int infoCount = countPriority(messages, "3");
+        int errorCount = model.countPriority("1");
+        int warnCount = model.countPriority("2");
+        int infoCount = model.countPriority("3");
 
         if (messageCount == 0) {
             return;
@@ -289,22 +486,18 @@ public class ReportUtility extends AbstractMojo {
         String format = String.format("Code Analysis Tool has found: \n %d error(s)! \n %d warning(s) \n %d info(s)", errorCount, warnCount, infoCount);
         report(maxLevel(errorCount, warnCount, infoCount), format);
 
-        for (int i = 0; i < messages.getLength(); i++) {
-            Node currentNode = messages.item(i);
-            if (currentNode.getNodeType() == Node.ELEMENT_NODE) {
-                Element messageNode = (Element) currentNode;
-                String priority = messageNode.getAttribute("priority");
-
-                Element fileNode = ((Element) messageNode.getParentNode());
-                String fileName = fileNode.getAttribute("name");
-                String line = messageNode.getAttribute("line");
-                String message = messageNode.getAttribute("message").trim();
-
-                String logTemplate = "%s:[%s]\n%s";
-                String log = String.format(logTemplate, fileName, line, message);
-                report(priority, log);
-            }
+        for (Finding finding : model.getFindings()) {
+            String logTemplate = "%s:[%s]\n%s";
+            String log = String.format(logTemplate, finding.getFileName(), finding.getLine(),
+                    finding.getMessage().trim());
+            report(finding.getPriority(), log);
+        }
+        if (!asyncRendering) {
+            logReportLocation(reportLocation);
         }
+    }
+
+    private void logReportLocation(File reportLocation) {
         getLog().info("Detailed report can be found at: file:///" + reportLocation);
     }
 
@@ -318,29 +511,13 @@ public class ReportUtility extends AbstractMojo {
         }
     }
 
-    private int countPriority(NodeList messages, String priority) {
-        int count = 0;
-        for (int i = 0; i < messages.getLength(); i++) {
-            Node currentNode = messages.item(i);
-            if (currentNode.getNodeType() != Node.ELEMENT_NODE) {
-                 continue;
-            }
-            Element messageNode = (Element) currentNode;
-
-            if (priority.equals(messageNode.getAttribute("priority"))){
-                count++;
-            }
-        }
-        return count;
-    }
-
-    private void checkForErrors(File secondMergeResult, File reportLocation) throws MojoFailureException {
-        int numberOfErrors = selectNodes(secondMergeResult, "/sca/file/message[@priority=1]").getLength();
+    private void checkForErrors(ReportModel model) throws MojoFailureException {
+        int numberOfErrors = model.countPriority("1");
 
         if (numberOfErrors > 0) {
             throw new MojoFailureException(String.format("\n" +
                 "Code Analysis Tool has found %d error(s)! \n" +
-                "Please fix the errors and rerun the build. \n", selectNodes(secondMergeResult, "/sca/file/message[@priority=1]").getLength()));
+                "Please fix the errors and rerun the build. \n", numberOfErrors));
         }
     }
 
@@ -358,9 +535,7 @@ public class ReportUtility extends AbstractMojo {
         }
     }
 
-    private void generateSummaryByBundle(File htmlOutputFileName, File secondMergeResult) {
-        NodeList nodes = selectNodes(secondMergeResult, "/sca/file/message");
-        int messagesNumber = nodes.getLength();
+    private void generateSummaryByBundle(File htmlOutputFileName, int messagesNumber) {
         if (messagesNumber == 0) {
             logger.info("Empty report will not be appended to the summary report.");
             return;
@@ -401,42 +576,167 @@ public class ReportUtility extends AbstractMojo {
         }
     }
 
-    private void generateSummaryByRules(final File htmlOutputFileName, final File mergedReport) {
-        File latestMergeResult = new File(summaryReportDirectory, "old_Merge.xml");
-        File latestSummaryReport = new File(summaryReportDirectory, SUMMARY_REPORT_FILE_NAME);
-
+    /**
+     * Appends the findings of the module to the binary summary, without reading the findings of the other modules.
+     * The findings of the module from a previous build are replaced. The summary report is rendered once, when the
+     * rendering queue is drained after the last module.
+     */
+    private void appendToSummary(final ReportModel model, final AnalysisCostSummary costs) {
+        File summaryResultData = new File(summaryReportDirectory, SUMMARY_RESULT_DATA_FILE_NAME);
+        AnalysisCost cost = startReportStage(SUMMARY_STAGE);
         try {
-            if (!latestMergeResult.exists() && !latestSummaryReport.exists()) {
-                latestMergeResult.createNewFile();
-                latestSummaryReport.createNewFile();
-                Files.copy(mergedReport, latestMergeResult);
-                Files.copy(htmlOutputFileName, latestSummaryReport);
-            } else {
-                final File tempMergedReport = new File(summaryReportDirectory, "temp_Merge.xml");
-                Files.copy(latestMergeResult, tempMergedReport);
-                run(MERGE_XSLT, tempMergedReport, latestMergeResult, "with", mergedReport);
-                run(CREATE_HTML_XSLT, latestMergeResult, latestSummaryReport, EMPTY, null);
-                deleteFile(tempMergedReport);
-            }
+            ScaFile.append(model, targetDirectory.getAbsolutePath(), summaryResultData);
         } catch (IOException e) {
-            logger.error("Unable to create or write to file {}", e.getMessage(), e);
+            logger.warn("Unable to append to the binary summary {}. The summary report might be incomplete!",
+                    summaryResultData.getAbsolutePath(), e);
+        } finally {
+            endReportStage(cost, summaryResultData, costs);
         }
+        ReportRenderingQueue.whenDrained(summaryReportDirectory.getAbsoluteFile(), this::renderSummary);
     }
 
-    private NodeList selectNodes(File file, String xPathExpression) {
+    /**
+     * Renders the summary report from the findings of all modules
+     */
+    private void renderSummary() {
+        File summaryResultData = new File(summaryReportDirectory, SUMMARY_RESULT_DATA_FILE_NAME);
+        File latestSummaryReport = new File(summaryReportDirectory, SUMMARY_REPORT_FILE_NAME);
+        File tempMergedReport = new File(summaryReportDirectory, "temp_Merge.xml");
+        AnalysisCostSummary renderingCosts = analysisCost ? new AnalysisCostSummary() : null;
+
+        synchronized (SUMMARY_LOCK) {
+            AnalysisCost cost = startReportStage(SUMMARY_STAGE);
+            try {
+                ScaFile.compact(summaryResultData);
+                ScaFile.open(summaryResultData).toModel().write(tempMergedReport);
+            } catch (IOException e) {
+                logger.error("Unable to create or write to file {}", e.getMessage(), e);
+                return;
+            } finally {
+                endReportStage(cost, summaryResultData, renderingCosts);
+            }
+
+            run(CREATE_HTML_XSLT, tempMergedReport, latestSummaryReport, getSummaryAnalysisCostFile(), renderingCosts);
+            deleteFile(tempMergedReport);
+            updateSummaryAnalysisCosts(renderingCosts);
+        }
+    }
+
+    private NodeList selectNodes(File file, String xPathExpression, AnalysisCostSummary costs) {
+        AnalysisCost cost = startReportStage("xpath");
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(file);
+            Document document = XmlParsers.getDocumentBuilder().parse(file);
 
-            XPathFactory xPathFactory = XPathFactory.newInstance();
-            XPath xPath = xPathFactory.newXPath();
-            XPathExpression expression = xPath.compile(xPathExpression);
+            XPathExpression expression = XmlParsers.getXPath().compile(xPathExpression);
             return (NodeList) expression.evaluate(document, XPathConstants.NODESET);
         } catch (Exception e) {
             logger.warn("Can't select {} nodes from {}. Empty NodeList will be returned.", xPathExpression,
                     file.getAbsolutePath(), e);
             return new EmptyNodeList();
+        } finally {
+            endReportStage(cost, file, costs);
         }
     }
+
+    private AnalysisCost startReportStage(String stage) {
+        if (!analysisCost) {
+            return null;
+        }
+        AnalysisCost cost = new AnalysisCost(REPORT_TOOL, stage);
+        cost.begin();
+        return cost;
+    }
+
+    private void endReportStage(AnalysisCost cost, File input, AnalysisCostSummary costs) {
+        if (cost != null) {
+            cost.end();
+            cost.countFile(input.length());
+            costs.add(cost);
+        }
+    }
+
+    /**
+     * Collects the costs recorded by the tools, the SpotBugs profile and the costs of the report stages executed so
+     * far. The records file is deleted, so the next build starts with an empty file.
+     *
+     * @param findbugsResult - the result of SpotBugs, that might contain the profile of the detectors
+     * @param stageCosts - the costs of the report stages executed so far, null if the analysis cost is not recorded
+     * @return the costs of the module, or null if the analysis cost is not recorded
+     */
+    private AnalysisCostSummary collectAnalysisCosts(File findbugsResult, AnalysisCostSummary stageCosts) {
+        if (stageCosts == null) {
+            return null;
+        }
+
+        AnalysisCostSummary moduleCosts = new AnalysisCostSummary();
+        File recordsFile = new File(targetDirectory, AnalysisCostRecorder.RECORDS_FILE_NAME);
+        if (recordsFile.exists()) {
+            try {
+                moduleCosts.readRecords(recordsFile);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Unable to read the analysis cost records from {}", recordsFile.getAbsolutePath(), e);
+            }
+            deleteFile(recordsFile);
+        }
+
+        if (findbugsResult.exists()) {
+            NodeList profiles = selectNodes(findbugsResult,
+                    "/BugCollection/FindBugsSummary/FindBugsProfile/ClassProfile", stageCosts);
+            for (int i = 0; i < profiles.getLength(); i++) {
+                Element profile = (Element) profiles.item(i);
+                String className = profile.getAttribute("name");
+                AnalysisCost cost = new AnalysisCost(FINDBUGS_TOOL,
+                        className.substring(className.lastIndexOf('.') + 1));
+                try {
+                    // SpotBugs counts the invocations of a detector instead of the analyzed files
+                    cost.set(Long.parseLong(profile.getAttribute("totalMilliseconds")) * 1000000,
+                            Integer.parseInt(profile.getAttribute("invocations")), 0, AnalysisCost.UNKNOWN);
+                    moduleCosts.add(cost);
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring the SpotBugs profile of {}", className, e);
+                }
+            }
+        }
+
+        moduleCosts.addAll(stageCosts);
+        return moduleCosts;
+    }
+
+    private File writeAnalysisCosts(AnalysisCostSummary moduleCosts) {
+        if (moduleCosts == null) {
+            return null;
+        }
+
+        File costFile = new File(targetDirectory, ANALYSIS_COST_FILE_NAME);
+        try {
+            moduleCosts.write(costFile);
+            return costFile;
+        } catch (IOException e) {
+            logger.warn("Unable to write the analysis cost to {}", costFile.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private void updateSummaryAnalysisCosts(AnalysisCostSummary costs) {
+        if (costs == null) {
+            return;
+        }
+
+        File summaryCostFile = new File(summaryReportDirectory, SUMMARY_ANALYSIS_COST_FILE_NAME);
+        AnalysisCostSummary summaryCosts = new AnalysisCostSummary();
+        try {
+            if (summaryCostFile.exists()) {
+                summaryCosts.read(summaryCostFile);
+            }
+            summaryCosts.addAll(costs);
+            summaryCosts.write(summaryCostFile);
+        } catch (IOException e) {
+            logger.warn("Unable to update the summary analysis cost {}", summaryCostFile.getAbsolutePath(), e);
+        }
+    }
+
+    private File getSummaryAnalysisCostFile() {
+        File summaryCostFile = new File(summaryReportDirectory, SUMMARY_ANALYSIS_COST_FILE_NAME);
+        return analysisCost && summaryCostFile.exists() ? summaryCostFile : null;
+    }
 }
@@ -0,0 +1,300 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.openhab.tools.analysis.utils.XmlParsers;
+
+/**
+ * Reads the result files of the tools into the {@link ReportModel} with a single streaming pass.
+ * <p>
+ * The tools are executed by their own Maven plugins with their own class loaders, so the XML result files are the
+ * only results, that the report goal can access. The collectors convert the findings directly to the model, without
+ * intermediate files and XSLT transformations.
+ *
+ * @author agent - Initial contribution
+ */
+public enum ResultCollector {
+    /**
+     * Collects the {@code <error>} elements of the checkstyle-result.xml. Only the path after the source folder is
+     * shown as file name.
+     */
+    CHECKSTYLE("checkstyle", "checkstyle-result.xml") {
+        @Override
+        void read(XMLStreamReader reader, ReportModel model) throws XMLStreamException {
+            String fileName = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("file".equals(reader.getLocalName())) {
+                        fileName = getCheckstyleFileName(getAttribute(reader, "name"));
+                    } else if ("error".equals(reader.getLocalName()) && fileName != null) {
+                        String priority = getPriority(getAttribute(reader, "severity"));
+                        String rule = substringAfterLast(getAttribute(reader, "source"), ".");
+                        model.add(new Finding(fileName, getTool(), getAttribute(reader, "line"),
+                                getAttribute(reader, "message"), priority, rule, null, "style", null));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "file".equals(reader.getLocalName())) {
+                    fileName = null;
+                }
+            }
+        }
+
+        @Override
+        public String getPriority(String severity) {
+            switch (severity) {
+                case "error":
+                    return HIGH_PRIORITY;
+                case "warning":
+                    return "2";
+                case "info":
+                default:
+                    return "3";
+            }
+        }
+    },
+    /**
+     * Collects the {@code <violation>} elements of the pmd.xml. The file name is built from the package and the class
+     * of its violations.
+     */
+    PMD("pmd", "pmd.xml") {
+        @Override
+        void read(XMLStreamReader reader, ReportModel model) throws XMLStreamException {
+            List<String[]> violations = new ArrayList<>();
+            Set<String> packages = new LinkedHashSet<>();
+            Set<String> classes = new LinkedHashSet<>();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "violation".equals(reader.getLocalName())) {
+                    addIfPresent(packages, reader.getAttributeValue(null, "package"));
+                    addIfPresent(classes, reader.getAttributeValue(null, "class"));
+                    violations.add(new String[] { getAttribute(reader, "beginline"), getAttribute(reader, "priority"),
+                            getAttribute(reader, "rule"), getAttribute(reader, "externalInfoUrl"),
+                            getCategory(getAttribute(reader, "ruleset")), reader.getElementText() });
+                } else if (event == XMLStreamConstants.END_ELEMENT && "file".equals(reader.getLocalName())) {
+                    String fileName = String.join(" ", packages) + "." + String.join(" ", classes) + ".java";
+                    for (String[] violation : violations) {
+                        model.add(new Finding(fileName, getTool(), violation[0], violation[5], violation[1],
+                                violation[2], violation[3], violation[4], null));
+                    }
+                    violations.clear();
+                    packages.clear();
+                    classes.clear();
+                }
+            }
+        }
+    },
+    /**
+     * Collects the {@code <BugInstance>} elements of the findbugsXml.xml. A finding is added for every class of the
+     * bug, the rule is described by the {@code <BugPattern>} elements at the end of the file.
+     */
+    FINDBUGS("findbugs", "findbugsXml.xml") {
+        @Override
+        void read(XMLStreamReader reader, ReportModel model) throws XMLStreamException {
+            List<BugInstance> bugs = new ArrayList<>();
+            Map<String, String[]> patterns = new HashMap<>();
+            BugInstance bug = null;
+            String bugChild = null;
+            boolean classNameFound = false;
+            int bugDepth = 0;
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (--depth < bugDepth) {
+                        bug = null;
+                    }
+                    continue;
+                } else if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                depth++;
+                String element = reader.getLocalName();
+                if (bug == null) {
+                    if ("BugInstance".equals(element)) {
+                        bug = new BugInstance(getAttribute(reader, "type"), getAttribute(reader, "priority"));
+                        bugs.add(bug);
+                        bugDepth = depth;
+                    } else if ("BugPattern".equals(element)) {
+                        patterns.putIfAbsent(getAttribute(reader, "type"),
+                                new String[] { getAttribute(reader, "abbrev"), getAttribute(reader, "category") });
+                    }
+                } else if (depth == bugDepth + 1) {
+                    // The children of the bug instance
+                    bugChild = element;
+                    if ("ShortMessage".equals(element) && bug.shortMessage == null) {
+                        bug.shortMessage = reader.getElementText();
+                        depth--;
+                    } else if ("LongMessage".equals(element) && bug.longMessage == null) {
+                        bug.longMessage = reader.getElementText();
+                        depth--;
+                    } else if ("SourceLine".equals(element) && bug.line == null) {
+                        bug.line = getAttribute(reader, "start");
+                    } else if ("Class".equals(element)) {
+                        bug.classes.add("");
+                        classNameFound = false;
+                    }
+                } else if (depth == bugDepth + 2 && "Class".equals(bugChild) && "SourceLine".equals(element)
+                        && !classNameFound) {
+                    // The class is named by its first source line
+                    bug.classes.set(bug.classes.size() - 1, getAttribute(reader, "classname"));
+                    classNameFound = true;
+                }
+            }
+
+            for (BugInstance instance : bugs) {
+                String[] pattern = patterns.get(instance.type);
+                String abbrev = pattern != null ? pattern[0] : "";
+                String category = pattern != null ? getCategory(pattern[1]) : "";
+                String ruleId = pattern != null ? instance.type : "";
+                for (String className : instance.classes) {
+                    model.add(new Finding(className + ".java", getTool(), nullToEmpty(instance.line),
+                            nullToEmpty(instance.longMessage), instance.priority,
+                            nullToEmpty(instance.shortMessage) + " (" + abbrev + ")", null, category, ruleId));
+                }
+            }
+        }
+    };
+
+    /**
+     * The priority of the findings, that fail the build
+     */
+    public static final String HIGH_PRIORITY = "1";
+
+    private static final XMLInputFactory INPUT_FACTORY = XmlParsers.createInputFactory();
+
+    private final String tool;
+    private final String resultFileName;
+
+    private ResultCollector(String tool, String resultFileName) {
+        this.tool = tool;
+        this.resultFileName = resultFileName;
+    }
+
+    /**
+     * @return the name of the tool shown in the report
+     */
+    public String getTool() {
+        return tool;
+    }
+
+    /**
+     * @return the name of the result file of the tool in the target directory of the report
+     */
+    public String getResultFileName() {
+        return resultFileName;
+    }
+
+    /**
+     * Adds the findings of a result file to the model
+     *
+     * @param resultFile - the result file of the tool
+     * @param model - the model that receives the findings
+     * @throws IOException - if the file can not be read or is not a valid XML document
+     */
+    public void collect(File resultFile, ReportModel model) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(resultFile.toPath())) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            try {
+                read(reader, model);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read from file: " + resultFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Converts the priority of a finding in the result file to its priority in the report. PMD and SpotBugs use the
+     * priorities of the report, the severities of Checkstyle are converted.
+     *
+     * @param value - the priority or severity attribute of the finding, an empty string if it is missing
+     * @return "1" for errors, "2" for warnings and "3" for infos
+     */
+    public String getPriority(String value) {
+        return value;
+    }
+
+    abstract void read(XMLStreamReader reader, ReportModel model) throws XMLStreamException;
+
+    /**
+     * Shortens the path of a file to the part after the source folder, e.g. "src/main/java/org/foo/Foo.java" to
+     * "org.foo.Foo.java". Files outside of a source folder are shown with the part after the last "org.openhab".
+     */
+    static String getCheckstyleFileName(String path) {
+        if (path.contains("src")) {
+            String name = path.replace('/', '.').replace('\\', '.');
+            return substringAfter(name, ".java.") + substringAfter(name, ".resources.");
+        }
+        return substringAfterLast(path, "org.openhab");
+    }
+
+    /**
+     * Converts the name of a rule set or of a bug category to a category, e.g. "BAD_PRACTICE" to "bad practice"
+     */
+    private static String getCategory(String name) {
+        return name.toLowerCase(Locale.ENGLISH).replace('_', ' ');
+    }
+
+    private static String getAttribute(XMLStreamReader reader, String name) {
+        return nullToEmpty(reader.getAttributeValue(null, name));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static void addIfPresent(Set<String> values, String value) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    private static String substringAfter(String value, String marker) {
+        int index = value.indexOf(marker);
+        return index >= 0 ? value.substring(index + marker.length()) : "";
+    }
+
+    private static String substringAfterLast(String value, String marker) {
+        int index = value.lastIndexOf(marker);
+        return index >= 0 ? value.substring(index + marker.length()) : value;
+    }
+
+    private static class BugInstance {
+        private final String type;
+        private final String priority;
+        private final List<String> classes = new ArrayList<>();
+        private String shortMessage;
+        private String longMessage;
+        private String line;
+
+        BugInstance(String type, String priority) {
+            this.type = type;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,498 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary file with the findings of a {@link ReportModel}, that is read into memory at once.
+ * <p>
+ * The file starts with a header of four big-endian integers - the magic number 0x5343411A, the version of the
+ * format, the number of blocks and the offset of the end of the last block. The header is followed by the blocks.
+ * Every block holds the findings of one model and is complete in itself, so a block is appended without reading the
+ * blocks before it. A block starts with five integers - its length in bytes, the number of strings, the number of
+ * findings, the offset of the first finding from the start of the block and the index of the key of the block. They
+ * are followed by the string table, every string is stored as its length in bytes and its UTF-8 bytes. The findings
+ * are records of nine integers - the indexes of the file name and of the tool, the line, the priority and the indexes
+ * of the message, the rule, the rule URL, the category and the rule id. A missing string has the index -1, a missing
+ * line -1 and a missing priority 0.
+ * <p>
+ * A block replaces the blocks with the same key before it, e.g. the findings of a module from a previous build. The
+ * replaced blocks are skipped when the file is opened and are removed by {@link #compact(File)}.
+ * <p>
+ * Opening a file reads its bytes and the keys of the blocks, the other strings are decoded when a finding is
+ * requested. The priorities are counted directly from the records. The file is not mapped into memory, because a
+ * mapped file can not be replaced on Windows until the mapping is garbage collected, and the results are usually
+ * read and then written to the same file.
+ *
+ * @author agent - Initial contribution
+ */
+public class ScaFile {
+
+    /**
+     * The file extension of the binary result files
+     */
+    public static final String EXTENSION = ".sca";
+
+    /**
+     * The version of the format, that is written and read
+     */
+    public static final int VERSION = 2;
+
+    // "SCA" followed by the DOS end of file character, that stops the output of the file on a console
+    private static final int MAGIC = 0x5343411A;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int BLOCK_COUNT_OFFSET = 2 * Integer.BYTES;
+    private static final int BLOCK_HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int RECORD_FIELDS = 9;
+    private static final int RECORD_BYTES = RECORD_FIELDS * Integer.BYTES;
+
+    private static final int FILE_NAME = 0;
+    private static final int TOOL = 1;
+    private static final int LINE = 2;
+    private static final int PRIORITY = 3;
+    private static final int MESSAGE = 4;
+    private static final int RULE = 5;
+    private static final int RULE_URL = 6;
+    private static final int CATEGORY = 7;
+    private static final int RULE_ID = 8;
+
+    private static final int NO_LINE = -1;
+    private static final int NO_PRIORITY = 0;
+
+    private final ByteBuffer buffer;
+    private final List<Block> blocks;
+    // The index of the first finding of every block
+    private final int[] firstRecords;
+    private final int recordCount;
+    private final int replacedBlocks;
+
+    /**
+     * A block of the file, whose strings are decoded on demand
+     */
+    private static class Block {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int length;
+        private final int[] stringOffsets;
+        private final String[] strings;
+        private final int recordCount;
+        private final int recordsOffset;
+        private final String key;
+
+        private Block(ByteBuffer buffer, int start, int limit) {
+            this.buffer = buffer;
+            this.start = start;
+            if (start + BLOCK_HEADER_BYTES > limit) {
+                throw new IllegalArgumentException("Damaged block at " + start);
+            }
+            length = buffer.getInt(start);
+            int stringCount = buffer.getInt(start + Integer.BYTES);
+            recordCount = buffer.getInt(start + 2 * Integer.BYTES);
+            recordsOffset = start + buffer.getInt(start + 3 * Integer.BYTES);
+            int keyIndex = buffer.getInt(start + 4 * Integer.BYTES);
+            if (length < BLOCK_HEADER_BYTES || (long) start + length > limit || stringCount < 0 || recordCount < 0
+                    || keyIndex < StringTable.NULL_INDEX || keyIndex >= stringCount
+                    || recordsOffset < start + BLOCK_HEADER_BYTES
+                    || (long) recordsOffset + (long) recordCount * RECORD_BYTES != (long) start + length) {
+                throw new IllegalArgumentException("Damaged block at " + start);
+            }
+
+            // Only the lengths are read, the strings are decoded on demand
+            stringOffsets = new int[stringCount];
+            strings = new String[stringCount];
+            int offset = start + BLOCK_HEADER_BYTES;
+            for (int i = 0; i < stringCount; i++) {
+                if (offset + Integer.BYTES > recordsOffset) {
+                    throw new IllegalArgumentException("Damaged string table at " + start);
+                }
+                stringOffsets[i] = offset;
+                int stringLength = buffer.getInt(offset);
+                if (stringLength < 0 || offset + Integer.BYTES + stringLength > recordsOffset) {
+                    throw new IllegalArgumentException("Damaged string table at " + start);
+                }
+                offset += Integer.BYTES + stringLength;
+            }
+            key = keyIndex != StringTable.NULL_INDEX ? getString(keyIndex) : null;
+        }
+
+        private int getField(int index, int field) {
+            return buffer.getInt(recordsOffset + index * RECORD_BYTES + field * Integer.BYTES);
+        }
+
+        private String getString(int index, int field) {
+            int stringIndex = getField(index, field);
+            return stringIndex != StringTable.NULL_INDEX ? getString(stringIndex) : null;
+        }
+
+        private String getString(int stringIndex) {
+            if (stringIndex < 0 || stringIndex >= strings.length) {
+                throw new IllegalStateException("Unknown string " + stringIndex + " in the block at " + start);
+            }
+            String value = strings[stringIndex];
+            if (value == null) {
+                int offset = stringOffsets[stringIndex];
+                byte[] bytes = new byte[buffer.getInt(offset)];
+                ByteBuffer source = buffer.duplicate();
+                source.position(offset + Integer.BYTES);
+                source.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                strings[stringIndex] = value;
+            }
+            return value;
+        }
+
+        private Finding get(int index) {
+            int line = getField(index, LINE);
+            int priority = getField(index, PRIORITY);
+            return new Finding(getString(index, FILE_NAME), getString(index, TOOL),
+                    line != NO_LINE ? Integer.toString(line) : "", getString(index, MESSAGE),
+                    priority != NO_PRIORITY ? Integer.toString(priority) : "", getString(index, RULE),
+                    getString(index, RULE_URL), getString(index, CATEGORY), getString(index, RULE_ID));
+        }
+    }
+
+    private ScaFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+        int blockCount = checkHeader(buffer, buffer.limit());
+        int end = buffer.getInt(3 * Integer.BYTES);
+
+        // The last block with a key replaces the blocks with the same key before it
+        Map<Object, Block> blocksByKey = new LinkedHashMap<>();
+        int offset = HEADER_BYTES;
+        for (int i = 0; i < blockCount; i++) {
+            Block block = new Block(buffer, offset, end);
+            Object key = block.key != null ? block.key : Integer.valueOf(i);
+            blocksByKey.remove(key);
+            blocksByKey.put(key, block);
+            offset += block.length;
+        }
+        if (offset != end) {
+            throw new IllegalArgumentException("Damaged block table");
+        }
+
+        blocks = new ArrayList<>(blocksByKey.values());
+        replacedBlocks = blockCount - blocks.size();
+        firstRecords = new int[blocks.size()];
+        int records = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            firstRecords[i] = records;
+            records += blocks.get(i).recordCount;
+        }
+        recordCount = records;
+    }
+
+    /**
+     * Checks the header of a file
+     *
+     * @param buffer - a buffer, that starts with the header
+     * @param size - the size of the file
+     * @return the number of blocks
+     */
+    private static int checkHeader(ByteBuffer buffer, long size) {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary result file");
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported version " + version + ", expected " + VERSION);
+        }
+        int blockCount = buffer.getInt(BLOCK_COUNT_OFFSET);
+        int end = buffer.getInt(3 * Integer.BYTES);
+        if (blockCount < 0 || end < HEADER_BYTES || end > size) {
+            throw new IllegalArgumentException("Damaged header");
+        }
+        return blockCount;
+    }
+
+    /**
+     * Opens a binary result file. The content is copied to the heap and the file is closed, so the file can be
+     * replaced while the returned instance is still used.
+     *
+     * @param file - the file
+     * @return the opened file
+     * @throws IOException - if the file can not be read, is damaged or has an unsupported version
+     */
+    public static ScaFile open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new ScaFile(read(channel, file, 0, channel.size()));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Unable to read the binary result file " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Writes the findings of a model to a binary result file in a single block without a key. The file is replaced
+     * when it is completely written, so a reader never sees a partially written file.
+     *
+     * @param model - the model
+     * @param file - the file to write to
+     * @throws IOException - if the file can not be written
+     */
+    public static void write(ReportModel model, File file) throws IOException {
+        byte[] block = encodeBlock(model, null, file);
+        replace(file, output -> {
+            writeHeader(output, 1, HEADER_BYTES + block.length);
+            output.write(block);
+        });
+    }
+
+    /**
+     * Appends the findings of a model to a binary result file in a new block. Only the header of the file is read
+     * and updated, the findings in the file are not decoded. The block replaces the blocks with the same key in the
+     * file. The header is updated after the block is written, so a reader does not see an incomplete block. A missing
+     * file is created. A damaged file or a file with another version is replaced, because it can not be extended.
+     *
+     * @param model - the model
+     * @param key - the key of the block, e.g. the path of the module
+     * @param file - the file to append to
+     * @throws IOException - if the file can not be read or written
+     */
+    public static void append(ReportModel model, String key, File file) throws IOException {
+        byte[] block = encodeBlock(model, key, file);
+        Path target = file.getAbsoluteFile().toPath();
+        Files.createDirectories(target.getParent());
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE)) {
+            ByteBuffer header = read(channel, file, 0, Math.min(channel.size(), HEADER_BYTES));
+            int blockCount;
+            int end;
+            try {
+                blockCount = checkHeader(header, channel.size());
+                end = header.getInt(3 * Integer.BYTES);
+            } catch (IllegalArgumentException e) {
+                // The file is empty, damaged or has another version
+                blockCount = 0;
+                end = HEADER_BYTES;
+                channel.truncate(0);
+            }
+            if ((long) end + block.length > Integer.MAX_VALUE) {
+                throw new IOException("Too many findings for the binary result file " + file.getAbsolutePath());
+            }
+
+            writeFully(channel, ByteBuffer.wrap(block), end);
+            channel.truncate(end + block.length);
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(HEADER_BYTES);
+            writeHeader(new DataOutputStream(headerBytes), blockCount + 1, end + block.length);
+            writeFully(channel, ByteBuffer.wrap(headerBytes.toByteArray()), 0);
+        }
+    }
+
+    /**
+     * Removes the blocks, that are replaced by a block with the same key, from a binary result file. The remaining
+     * blocks are copied without decoding them. The file is replaced when it is completely written.
+     *
+     * @param file - the file
+     * @throws IOException - if the file can not be read, is damaged or has an unsupported version, or can not be
+     *             written
+     */
+    public static void compact(File file) throws IOException {
+        ScaFile scaFile = open(file);
+        if (scaFile.replacedBlocks == 0) {
+            return;
+        }
+
+        int end = HEADER_BYTES;
+        for (Block block : scaFile.blocks) {
+            end += block.length;
+        }
+        int compactedEnd = end;
+        replace(file, output -> {
+            writeHeader(output, scaFile.blocks.size(), compactedEnd);
+            for (Block block : scaFile.blocks) {
+                output.write(scaFile.buffer.array(), block.start, block.length);
+            }
+        });
+    }
+
+    /**
+     * @return the number of findings
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Counts the findings with a priority without decoding any string
+     *
+     * @param priority - "1" for errors, "2" for warnings and "3" for infos
+     * @return the number of findings with this priority
+     */
+    public int countPriority(String priority) {
+        int value = parseNumber(priority, NO_PRIORITY);
+        int count = 0;
+        for (Block block : blocks) {
+            for (int i = 0; i < block.recordCount; i++) {
+                if (block.getField(i, PRIORITY) == value) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets a finding
+     *
+     * @param index - the index of the finding, in the order of the blocks and the order the findings were written
+     * @return the finding
+     */
+    public Finding get(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + recordCount);
+        }
+        int blockIndex = Arrays.binarySearch(firstRecords, index);
+        if (blockIndex < 0) {
+            blockIndex = -blockIndex - 2;
+        }
+        // Skip the empty blocks, that start at the same index
+        while (blocks.get(blockIndex).recordCount <= index - firstRecords[blockIndex]) {
+            blockIndex++;
+        }
+        return blocks.get(blockIndex).get(index - firstRecords[blockIndex]);
+    }
+
+    /**
+     * @return a model with all findings of the file
+     */
+    public ReportModel toModel() {
+        ReportModel model = new ReportModel();
+        for (Block block : blocks) {
+            for (int i = 0; i < block.recordCount; i++) {
+                model.add(block.get(i));
+            }
+        }
+        return model;
+    }
+
+    private static byte[] encodeBlock(ReportModel model, String key, File file) throws IOException {
+        StringTable table = new StringTable();
+        int keyIndex = table.intern(key);
+        int[] records = new int[model.size() * RECORD_FIELDS];
+        for (int i = 0; i < model.size(); i++) {
+            Finding finding = model.get(i);
+            int record = i * RECORD_FIELDS;
+            records[record + FILE_NAME] = table.intern(finding.getFileName());
+            records[record + TOOL] = table.intern(finding.getTool());
+            records[record + LINE] = parseNumber(finding.getLine(), NO_LINE);
+            records[record + PRIORITY] = parseNumber(finding.getPriority(), NO_PRIORITY);
+            records[record + MESSAGE] = table.intern(finding.getMessage());
+            records[record + RULE] = table.intern(finding.getRule());
+            records[record + RULE_URL] = table.intern(finding.getRuleUrl());
+            records[record + CATEGORY] = table.intern(finding.getCategory());
+            records[record + RULE_ID] = table.intern(finding.getRuleId());
+        }
+
+        byte[][] encodedStrings = new byte[table.size()][];
+        long recordsOffset = BLOCK_HEADER_BYTES;
+        for (int i = 0; i < encodedStrings.length; i++) {
+            encodedStrings[i] = table.get(i).getBytes(StandardCharsets.UTF_8);
+            recordsOffset += Integer.BYTES + encodedStrings[i].length;
+        }
+        long length = recordsOffset + (long) records.length * Integer.BYTES;
+        if (HEADER_BYTES + length > Integer.MAX_VALUE) {
+            throw new IOException("Too many findings for the binary result file " + file.getAbsolutePath());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) length);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt((int) length);
+        output.writeInt(encodedStrings.length);
+        output.writeInt(model.size());
+        output.writeInt((int) recordsOffset);
+        output.writeInt(keyIndex);
+        for (byte[] encodedString : encodedStrings) {
+            output.writeInt(encodedString.length);
+            output.write(encodedString);
+        }
+        for (int value : records) {
+            output.writeInt(value);
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeHeader(OutputStream stream, int blockCount, int end) throws IOException {
+        DataOutputStream output = new DataOutputStream(stream);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(blockCount);
+        output.writeInt(end);
+        output.flush();
+    }
+
+    /**
+     * Writes the content of a file to a temporary file, that replaces the file when it is completely written
+     */
+    private static void replace(File file, Content content) throws IOException {
+        Path target = file.getAbsoluteFile().toPath();
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                content.writeTo(output);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    private static ByteBuffer read(FileChannel channel, File file, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The file " + file.getAbsolutePath() + " is too large");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+            // read until the buffer is full or the file ends
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+    }
+
+    private static int parseNumber(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores every distinct string once and identifies it by its index, so the {@link ReportModel} keeps only the
+ * indexes of the file names, rules and messages of the findings.
+ *
+ * @author agent - Initial contribution
+ */
+public class StringTable {
+
+    /**
+     * The index of a null string
+     */
+    public static final int NULL_INDEX = -1;
+
+    // Estimated heap size of a String and of its character array without the characters
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    // Estimated heap size of the hash map entry, the boxed index and the list slot of a string
+    private static final int ENTRY_OVERHEAD_BYTES = 56;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private long characters;
+
+    /**
+     * Adds a string to the table, if it is not already added
+     *
+     * @param value - the string, may be null
+     * @return the index of the string, {@link #NULL_INDEX} for null
+     */
+    public int intern(String value) {
+        if (value == null) {
+            return NULL_INDEX;
+        }
+        Integer index = indexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            indexes.put(value, index);
+            strings.add(value);
+            characters += value.length();
+        }
+        return index;
+    }
+
+    /**
+     * Checks if a string is in the table, without adding it
+     *
+     * @param value - the string, may be null
+     * @return true if the string was added before or is null
+     */
+    public boolean contains(String value) {
+        return value == null || indexes.containsKey(value);
+    }
+
+    /**
+     * Gets a string
+     *
+     * @param index - the index returned by {@link #intern(String)}
+     * @return the string, null for {@link #NULL_INDEX}
+     */
+    public String get(int index) {
+        return index != NULL_INDEX ? strings.get(index) : null;
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    public int size() {
+        return strings.size();
+    }
+
+    /**
+     * @return the estimated heap size of the table in bytes, the characters are counted with two bytes
+     */
+    public long estimateBytes() {
+        return strings.size() * (long) (STRING_OVERHEAD_BYTES + ENTRY_OVERHEAD_BYTES) + characters * 2;
+    }
+}
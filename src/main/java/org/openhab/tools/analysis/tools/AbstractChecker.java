@@ -8,6 +8,7 @@
  */
 package org.openhab.tools.analysis.tools;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -24,11 +25,18 @@ import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+import org.openhab.tools.analysis.profiling.AnalysisEvent;
+import org.openhab.tools.analysis.profiling.AnalysisEvents;
+import org.openhab.tools.analysis.profiling.AnalysisHistory;
+import org.openhab.tools.analysis.tools.internal.ResultFormat;
 import org.twdata.maven.mojoexecutor.MojoExecutor;
 
 /**
@@ -54,6 +62,38 @@ public abstract class AbstractChecker extends AbstractMojo {
     @Parameter(defaultValue = "${plugin}", readonly = true, required = true)
     protected PluginDescriptor plugin;
 
+    /**
+     * Records the wall time, the processed files and bytes and the allocated memory of the executed tools and
+     * checks. The costs are included in the report.
+     */
+    @Parameter(property = AnalysisCostRecorder.ENABLED_PROPERTY, defaultValue = "false")
+    protected boolean analysisCost;
+
+    /**
+     * Describes if the build should fail if high priority error is found. The same property is used by the report
+     * goal.
+     */
+    @Parameter(property = "report.fail.on.error", defaultValue = "true")
+    protected boolean failOnError;
+
+    /**
+     * Fails the build as soon as a tool finds a high priority error, without executing the remaining tools for the
+     * module. Used only if the build should fail on errors.
+     */
+    @Parameter(property = "report.fail.fast", defaultValue = "false")
+    protected boolean failFast;
+
+    /**
+     * Records the duration of the executed tools in the analysis history, that is used to start the slowest modules
+     * first in the next builds
+     */
+    @Parameter(property = AnalysisHistory.ENABLED_PROPERTY, defaultValue = "false")
+    protected boolean analysisHistory;
+
+    // Number of the running tool executions, that record their costs, and the replaced value of the system property
+    private static int costRecordingExecutions;
+    private static String replacedCostRecordingProperty;
+
     /**
      * Loads properties from file into the Maven user properties
      *
@@ -103,8 +143,103 @@ public abstract class AbstractChecker extends AbstractMojo {
             List<Dependency> dependencies) throws MojoExecutionException {
         Plugin plugin = MojoExecutor.plugin(groupId, artifactId, version, dependencies);
 
-        MojoExecutor.executeMojo(plugin, goal, configuration,
-                MojoExecutor.executionEnvironment(mavenProject, mavenSession, pluginManager));
+        AnalysisCost cost = null;
+        if (analysisCost) {
+            enableCostRecording();
+            cost = new AnalysisCost("execution", artifactId + ":" + goal);
+            cost.begin();
+        }
+
+        long start = System.nanoTime();
+        try (AnalysisEvent event = AnalysisEvents.toolExecution(mavenProject.getArtifactId(), artifactId, goal)) {
+            try {
+                MojoExecutor.executeMojo(plugin, goal, configuration,
+                        MojoExecutor.executionEnvironment(mavenProject, mavenSession, pluginManager));
+            } catch (MojoExecutionException | RuntimeException e) {
+                event.setOutcome(e.getClass().getSimpleName());
+                throw e;
+            }
+        } finally {
+            if (cost != null) {
+                cost.end();
+                disableCostRecording();
+                File reportDirectory = new File(mavenProject.getBasedir(),
+                        AnalysisCostRecorder.MODULE_REPORT_DIRECTORY);
+                File recordsFile = new File(reportDirectory, AnalysisCostRecorder.RECORDS_FILE_NAME);
+                AnalysisCostRecorder.flushAllRealms(recordsFile);
+                AnalysisCostRecorder.record(recordsFile, cost);
+            }
+            if (analysisHistory) {
+                recordDuration(artifactId, (System.nanoTime() - start) / 1000000);
+            }
+        }
+    }
+
+    /**
+     * The checks are executed in the class realm of the called plugin and read the setting from the system properties.
+     * The property is restored when the last execution has finished, so it does not leak into later builds in the
+     * same JVM.
+     */
+    private static synchronized void enableCostRecording() {
+        if (costRecordingExecutions++ == 0) {
+            replacedCostRecordingProperty = System.setProperty(AnalysisCostRecorder.ENABLED_PROPERTY,
+                    Boolean.TRUE.toString());
+        }
+    }
+
+    private static synchronized void disableCostRecording() {
+        if (--costRecordingExecutions == 0) {
+            if (replacedCostRecordingProperty == null) {
+                System.clearProperty(AnalysisCostRecorder.ENABLED_PROPERTY);
+            } else {
+                System.setProperty(AnalysisCostRecorder.ENABLED_PROPERTY, replacedCostRecordingProperty);
+            }
+        }
+    }
+
+    private void recordDuration(String tool, long millis) {
+        File historyFile = CriticalPathScheduler.getHistoryFile(mavenSession);
+        try {
+            AnalysisHistory.record(historyFile, CriticalPathScheduler.getModuleKey(mavenProject), tool, millis);
+        } catch (IOException e) {
+            getLog().warn("Unable to record the duration of " + tool + " in " + historyFile, e);
+        }
+    }
+
+    /**
+     * Fails the build, if fail fast is enabled and the result of the executed tool contains high priority findings.
+     * The Maven plugins that execute the tools do not fail, so the module continues with the next tool otherwise.
+     *
+     * @param format - the format of the result file
+     * @param relativePath - path of the result file, relative to the base directory of the project
+     * @throws MojoFailureException - if a high priority finding is found
+     */
+    protected void checkFailFast(ResultFormat format, String relativePath) throws MojoFailureException {
+        if (!failFast || !failOnError) {
+            return;
+        }
+
+        File resultFile = new File(mavenProject.getBasedir(), relativePath);
+        if (!resultFile.exists()) {
+            getLog().debug("Fail fast skipped, result file " + resultFile + " does not exist.");
+            return;
+        }
+
+        int numberOfErrors;
+        try {
+            numberOfErrors = format.countHighPriorityFindings(resultFile);
+        } catch (IOException e) {
+            // The report goal reads the file again and decides
+            getLog().warn("Unable to check " + resultFile + " for errors", e);
+            return;
+        }
+
+        if (numberOfErrors > 0) {
+            throw new MojoFailureException(String.format("\n" +
+                "Code Analysis Tool has found %d error(s) in %s! \n" +
+                "The remaining tools are skipped, because report.fail.fast is enabled. \n" +
+                "Please fix the errors and rerun the build. \n", numberOfErrors, resultFile));
+        }
     }
 
     /**
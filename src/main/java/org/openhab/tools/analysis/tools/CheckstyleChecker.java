@@ -16,11 +16,13 @@ import java.util.Properties;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.openhab.tools.analysis.tools.internal.ResultFormat;
 
 /**
  * Executes the
@@ -94,8 +96,13 @@ public class CheckstyleChecker extends AbstractChecker {
 
     private static final String CHECKSTYLE_RULE_SET_PROPERTIES_PROPERTY = "checkstyle.properties.location";
 
+    /**
+     * This is a property in the maven-checkstyle-plugin that is used to describe the location of the result file.
+     */
+    private static final String CHECKSTYLE_OUTPUT_FILE_PROPERTY = "checkstyle.output.file";
+
     @Override
-    public void execute() throws MojoExecutionException {
+    public void execute() throws MojoExecutionException, MojoFailureException {
         Log log = getLog();
         Properties userProps = loadPropertiesFromFile(CHECKSTYLE_PROPERTIES_FILE);
 
@@ -125,6 +132,8 @@ public class CheckstyleChecker extends AbstractChecker {
 
         log.debug("Checkstyle execution has been finished.");
 
+        checkFailFast(ResultFormat.CHECKSTYLE, userProps.getProperty(CHECKSTYLE_OUTPUT_FILE_PROPERTY));
+
     }
 
 }
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.project.MavenProject;
+import org.openhab.tools.analysis.profiling.AnalysisHistory;
+import org.openhab.tools.analysis.report.ReportRenderingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Orders the modules of the reactor, so the modules with the longest analysis in the previous builds start first.
+ * <p>
+ * In a parallel build the modules, that start last, decide the duration of the build. The scheduler reads the
+ * durations of the tools from the {@link AnalysisHistory} and orders the independent modules by their critical path -
+ * the duration of the module and of the longest chain of modules, that depend on it. The order of the dependencies is
+ * kept. The scheduler is registered as lifecycle participant, so the plugin has to be declared with
+ * {@code <extensions>true</extensions>}, and is enabled with the {@value AnalysisHistory#ENABLED_PROPERTY} property.
+ * <p>
+ * At the end of the session the scheduler also waits for the reports, that are still rendered in the background by
+ * the {@link ReportRenderingQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CriticalPathScheduler extends AbstractMavenLifecycleParticipant {
+
+    // Number of modules with the order logged on info level, the complete order is logged on debug level
+    private static final int LOGGED_MODULES = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(CriticalPathScheduler.class);
+
+    @Override
+    public void afterProjectsRead(MavenSession session) throws MavenExecutionException {
+        if (!Boolean.parseBoolean(getProperty(session, AnalysisHistory.ENABLED_PROPERTY))) {
+            return;
+        }
+
+        ProjectDependencyGraph graph = session.getProjectDependencyGraph();
+        List<MavenProject> projects = session.getProjects();
+        if (graph == null || projects.size() < 2) {
+            return;
+        }
+
+        AnalysisHistory history;
+        File historyFile = getHistoryFile(session);
+        try {
+            history = AnalysisHistory.read(historyFile);
+        } catch (IOException e) {
+            logger.warn("Unable to read the analysis history from {}", historyFile, e);
+            return;
+        }
+        if (history.isEmpty()) {
+            logger.debug("No analysis history in {}, the order of the modules is not changed", historyFile);
+            return;
+        }
+
+        Map<MavenProject, Long> criticalPaths = new HashMap<>();
+        List<MavenProject> scheduled = schedule(projects, project -> graph.getUpstreamProjects(project, false),
+                project -> history.getDuration(getModuleKey(project)), criticalPaths);
+        session.setProjects(scheduled);
+
+        logger.info("Modules ordered by the critical path of their analysis in previous builds:");
+        for (int i = 0; i < scheduled.size(); i++) {
+            MavenProject project = scheduled.get(i);
+            String message = String.format("  %s - %.1f s, critical path %.1f s", project.getArtifactId(),
+                    history.getDuration(getModuleKey(project)) / 1000.0, criticalPaths.get(project) / 1000.0);
+            if (i < LOGGED_MODULES) {
+                logger.info(message);
+            } else {
+                logger.debug(message);
+            }
+        }
+    }
+
+    /**
+     * Waits for the reports rendered in the background, also for the modules that did not execute the report goal.
+     * The method is called by Maven 3.2.1 and later. It is not annotated with {@code @Override}, because the Maven API
+     * the plugin is compiled against does not declare it yet.
+     *
+     * @param session - the finished session
+     */
+    public void afterSessionEnd(MavenSession session) throws MavenExecutionException {
+        ReportRenderingQueue.drain();
+    }
+
+    /**
+     * Orders topologically sorted items, so the items with the longest critical path come first. The critical path of
+     * an item is its duration and the longest critical path of the items, that depend on it. An item is placed after
+     * all items it depends on.
+     *
+     * @param sortedItems - the topologically sorted items
+     * @param upstream - the direct dependencies of an item, dependencies that are not in the list are ignored
+     * @param duration - the duration of an item
+     * @param criticalPaths - receives the critical path of every item, may be null
+     * @return the ordered items
+     */
+    public static <T> List<T> schedule(List<T> sortedItems, Function<T, ? extends Collection<T>> upstream,
+            ToLongFunction<T> duration, Map<T, Long> criticalPaths) {
+        int size = sortedItems.size();
+        Map<T, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indexes.put(sortedItems.get(i), i);
+        }
+
+        List<List<Integer>> downstream = new ArrayList<>(size);
+        int[] pendingUpstream = new int[size];
+        for (int i = 0; i < size; i++) {
+            downstream.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            for (T dependency : upstream.apply(sortedItems.get(i))) {
+                Integer dependencyIndex = indexes.get(dependency);
+                if (dependencyIndex != null) {
+                    downstream.get(dependencyIndex).add(i);
+                    pendingUpstream[i]++;
+                }
+            }
+        }
+
+        // The items that depend on an item come after it in the sorted list
+        long[] paths = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            long longestDownstream = 0;
+            for (int dependent : downstream.get(i)) {
+                longestDownstream = Math.max(longestDownstream, paths[dependent]);
+            }
+            paths[i] = Math.max(0, duration.applyAsLong(sortedItems.get(i))) + longestDownstream;
+        }
+
+        // Longest critical path first, the original order for equal paths
+        PriorityQueue<Integer> ready = new PriorityQueue<>(Math.max(1, size),
+                (a, b) -> paths[a] != paths[b] ? Long.compare(paths[b], paths[a]) : Integer.compare(a, b));
+        for (int i = 0; i < size; i++) {
+            if (pendingUpstream[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        List<T> scheduled = new ArrayList<>(size);
+        while (!ready.isEmpty()) {
+            int next = ready.poll();
+            scheduled.add(sortedItems.get(next));
+            if (criticalPaths != null) {
+                criticalPaths.put(sortedItems.get(next), paths[next]);
+            }
+            for (int dependent : downstream.get(next)) {
+                if (--pendingUpstream[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * @return the key of a module in the {@link AnalysisHistory}
+     */
+    static String getModuleKey(MavenProject project) {
+        return project.getGroupId() + ":" + project.getArtifactId();
+    }
+
+    /**
+     * @return the history file configured in the session, or the default file
+     */
+    static File getHistoryFile(MavenSession session) {
+        String path = getProperty(session, AnalysisHistory.FILE_PROPERTY);
+        return path != null ? new File(path) : AnalysisHistory.getDefaultFile();
+    }
+
+    private static String getProperty(MavenSession session, String name) {
+        String value = session.getUserProperties().getProperty(name);
+        return value != null ? value : session.getSystemProperties().getProperty(name);
+    }
+}
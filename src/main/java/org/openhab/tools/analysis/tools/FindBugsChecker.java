@@ -34,6 +34,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.openhab.tools.analysis.tools.internal.FindBugsVisitors;
+import org.openhab.tools.analysis.tools.internal.ResultFormat;
 import org.twdata.maven.mojoexecutor.MojoExecutor.Element;
 
 /**
@@ -117,6 +118,9 @@ public class FindBugsChecker extends AbstractChecker {
     private static final String SPOTBUGS_MAVEN_PLUGIN_ARTIFACT_ID = "spotbugs-maven-plugin";
     private static final String SPOTBUGS_MAVEN_PLUGIN_GROUP_ID = "com.github.hazendaz.spotbugs";
 
+    // Name of the result file in the output directory
+    private static final String SPOTBUGS_RESULT_FILE_NAME = "findbugsXml.xml";
+
     /**
      * Property in the findbugs-maven-plugin that is used to describe the path to the
      * include filter file used from the plugin.
@@ -177,6 +181,8 @@ public class FindBugsChecker extends AbstractChecker {
                 SPOTBUGS_MAVEN_PLUGIN_GOAL, config, findbugsDeps);
 
         log.debug("FindBugs execution has been finished.");
+
+        checkFailFast(ResultFormat.SPOTBUGS, outputDir + "/" + SPOTBUGS_RESULT_FILE_NAME);
     }
 
     /**
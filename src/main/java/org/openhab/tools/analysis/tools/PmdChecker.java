@@ -22,6 +22,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.openhab.tools.analysis.tools.internal.ResultFormat;
 
 /**
  * Executes the
@@ -65,6 +66,9 @@ public class PmdChecker extends AbstractChecker {
     private static final String MAVEN_PMD_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
     private static final String MAVEN_PMD_PLUGIN_GOAL = "pmd";
 
+    // Name of the result file in the target directory
+    private static final String PMD_RESULT_FILE_NAME = "pmd.xml";
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         Log log = getLog();
@@ -76,8 +80,9 @@ public class PmdChecker extends AbstractChecker {
 
         // These configuration properties are not exposed from the maven-pmd-plugin as user properties,
         // so they have to be set direct in the configuration
+        String targetDirectory = userProps.getProperty("pmd.custom.targetDirectory");
         Xpp3Dom configuration = configuration(
-                element("targetDirectory", userProps.getProperty("pmd.custom.targetDirectory")),
+                element("targetDirectory", targetDirectory),
                 element("rulesets", element("ruleset", rulesetLocation)));
 
         pmdPlugins.add(dependency(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion()));
@@ -92,6 +97,8 @@ public class PmdChecker extends AbstractChecker {
 
         log.debug("PMD execution has been finished.");
 
+        checkFailFast(ResultFormat.PMD, targetDirectory + "/" + PMD_RESULT_FILE_NAME);
+
     }
 
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.tools.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.openhab.tools.analysis.report.ResultCollector;
+import org.openhab.tools.analysis.utils.XmlParsers;
+
+/**
+ * The XML result files of the executed tools. The priority of a finding is converted by
+ * {@link ResultCollector#getPriority(String)} of the tool, so a tool fails the build only for the findings, that the
+ * report goal would fail it for.
+ *
+ * @author agent - Initial contribution
+ */
+public enum ResultFormat {
+    /**
+     * The {@code <error>} elements with their severity in the checkstyle-result.xml
+     */
+    CHECKSTYLE(ResultCollector.CHECKSTYLE, "error", "severity"),
+    /**
+     * The {@code <violation>} elements with their priority in the pmd.xml
+     */
+    PMD(ResultCollector.PMD, "violation", "priority"),
+    /**
+     * The {@code <BugInstance>} elements with their priority in the findbugsXml.xml
+     */
+    SPOTBUGS(ResultCollector.FINDBUGS, "BugInstance", "priority");
+
+    private static final XMLInputFactory INPUT_FACTORY = XmlParsers.createInputFactory();
+
+    private final ResultCollector collector;
+    private final String findingElement;
+    private final String priorityAttribute;
+
+    private ResultFormat(ResultCollector collector, String findingElement, String priorityAttribute) {
+        this.collector = collector;
+        this.findingElement = findingElement;
+        this.priorityAttribute = priorityAttribute;
+    }
+
+    /**
+     * Counts the high priority findings in a result file with a single streaming pass
+     *
+     * @param resultFile - the result file of the tool
+     * @return the number of high priority findings
+     * @throws IOException - if the file can not be read or is not a valid XML document
+     */
+    public int countHighPriorityFindings(File resultFile) throws IOException {
+        int count = 0;
+        try (InputStream inputStream = Files.newInputStream(resultFile.toPath())) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT
+                            && findingElement.equals(reader.getLocalName()) && isHighPriority(reader)) {
+                        count++;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read from file: " + resultFile.getAbsolutePath(), e);
+        }
+        return count;
+    }
+
+    private boolean isHighPriority(XMLStreamReader reader) {
+        String value = reader.getAttributeValue(null, priorityAttribute);
+        return ResultCollector.HIGH_PRIORITY.equals(collector.getPriority(value != null ? value : ""));
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.utils;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * Shared XML parsers for the checks and the report generation.
+ * <p>
+ * The factories are looked up and configured once. Their products are not thread safe, so every thread gets its own
+ * {@link DocumentBuilder} and {@link XPath}, that is reset before it is handed out again. The parsers do not load
+ * external DTDs and entities, as none of the processed files needs them.
+ * <p>
+ * The compiled schemas are thread safe and are cached for the whole build.
+ *
+ * @author agent - Initial contribution
+ */
+public final class XmlParsers {
+
+    private static final String LOAD_EXTERNAL_DTD_FEATURE = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
+    private static final String EXTERNAL_GENERAL_ENTITIES_FEATURE = "http://xml.org/sax/features/external-general-entities";
+    private static final String EXTERNAL_PARAMETER_ENTITIES_FEATURE = "http://xml.org/sax/features/external-parameter-entities";
+
+    private static final Logger logger = LoggerFactory.getLogger(XmlParsers.class);
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+    private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDERS = new ThreadLocal<>();
+    private static final ThreadLocal<XPath> XPATHS = ThreadLocal.withInitial(XPATH_FACTORY::newXPath);
+    private static final ThreadLocal<SchemaFactory> SCHEMA_FACTORIES = ThreadLocal
+            .withInitial(() -> SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI));
+
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private XmlParsers() {
+    }
+
+    /**
+     * Gets the document builder of the current thread. The builder is not namespace aware.
+     *
+     * @return the document builder
+     * @throws ParserConfigurationException - if the builder can not be created
+     */
+    public static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = DOCUMENT_BUILDERS.get();
+        if (builder == null) {
+            builder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            DOCUMENT_BUILDERS.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    /**
+     * Gets the XPath of the current thread
+     *
+     * @return the XPath
+     */
+    public static XPath getXPath() {
+        XPath xpath = XPATHS.get();
+        xpath.reset();
+        return xpath;
+    }
+
+    /**
+     * Gets a compiled schema. The schema is compiled on first use.
+     *
+     * @param schemaURL - the URL of the schema
+     * @return the compiled schema
+     * @throws SAXException - if the schema can not be compiled
+     */
+    public static Schema getSchema(URL schemaURL) throws SAXException {
+        String key = schemaURL.toString();
+        Schema schema = SCHEMAS.get(key);
+        if (schema == null) {
+            schema = SCHEMA_FACTORIES.get().newSchema(schemaURL);
+            SCHEMAS.put(key, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Creates a StAX input factory, that does not support DTDs and external entities. The factory is thread safe, once
+     * it is configured, so it should be created once per use case.
+     *
+     * @return the input factory
+     */
+    public static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        setFeature(factory, XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        setFeature(factory, LOAD_EXTERNAL_DTD_FEATURE, false);
+        setFeature(factory, EXTERNAL_GENERAL_ENTITIES_FEATURE, false);
+        setFeature(factory, EXTERNAL_PARAMETER_ENTITIES_FEATURE, false);
+        return factory;
+    }
+
+    private static void setFeature(DocumentBuilderFactory factory, String feature, boolean value) {
+        try {
+            factory.setFeature(feature, value);
+        } catch (ParserConfigurationException e) {
+            logger.debug("The document builder does not support the feature {}", feature, e);
+        }
+    }
+}
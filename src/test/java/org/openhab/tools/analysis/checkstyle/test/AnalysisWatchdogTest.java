@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.checkstyle.api.AnalysisWatchdog;
+
+/**
+ * Tests for {@link AnalysisWatchdog}
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisWatchdogTest {
+
+    @Test(timeout = 10000)
+    public void testExpiredWatchInterruptsTheThread() {
+        AnalysisWatchdog.Watch watch = AnalysisWatchdog.watch(100);
+        try {
+            Thread.sleep(5000);
+            fail("The watched thread was not interrupted");
+        } catch (InterruptedException e) {
+            // expected
+        }
+        watch.close();
+
+        assertTrue(watch.isExpired());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testClosedWatchDoesNotExpire() throws InterruptedException {
+        AnalysisWatchdog.Watch watch = AnalysisWatchdog.watch(100);
+        watch.close();
+        Thread.sleep(300);
+
+        assertFalse(watch.isExpired());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test(timeout = 10000, expected = TimeoutException.class)
+    public void testSlowFetchIsAbandoned() throws Exception {
+        AnalysisWatchdog.fetch(() -> {
+            Thread.sleep(5000);
+            return "content";
+        }, 100);
+    }
+
+    @Test
+    public void testFetchWithinBudget() throws Exception {
+        assertEquals("content", AnalysisWatchdog.fetch(() -> "content", 5000));
+    }
+
+    @Test
+    public void testExceptionsCausedByInterruption() {
+        assertTrue(AnalysisWatchdog.isCausedByInterruption(new InterruptedException()));
+        assertTrue(AnalysisWatchdog.isCausedByInterruption(new InterruptedIOException()));
+        assertTrue(AnalysisWatchdog
+                .isCausedByInterruption(new IllegalStateException(new IOException(new ClosedByInterruptException()))));
+
+        assertFalse(AnalysisWatchdog.isCausedByInterruption(new SocketTimeoutException()));
+        assertFalse(AnalysisWatchdog.isCausedByInterruption(new IllegalStateException(new IOException())));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.checkstyle.api.BinIncludes;
+
+/**
+ * Tests for {@link BinIncludes}
+ *
+ * @author agent - Initial contribution
+ */
+public class BinIncludesTest {
+
+    private static final String[] NO_VALUES = new String[0];
+
+    @Test
+    public void testDirectoriesIncludeTheirContent() {
+        BinIncludes binIncludes = BinIncludes.compile(new String[] { "META-INF/", ".", "./OSGI-INF", "about.html" },
+                NO_VALUES);
+
+        assertTrue(binIncludes.isIncluded("META-INF/MANIFEST.MF"));
+        assertTrue(binIncludes.isIncluded("OSGI-INF/component.xml"));
+        assertTrue(binIncludes.isIncluded("OSGI-INF"));
+        assertTrue(binIncludes.isIncluded("about.html"));
+        assertFalse(binIncludes.isIncluded("ESH-INF/thing/thing-types.xml"));
+        assertFalse(binIncludes.isIncluded("OSGI-INF-old/component.xml"));
+        assertFalse(binIncludes.isIncluded("src/main/java/Activator.java"));
+    }
+
+    @Test
+    public void testFileDoesNotIncludeItsParent() {
+        BinIncludes binIncludes = BinIncludes.compile(new String[] { "doc/images" }, NO_VALUES);
+
+        assertTrue(binIncludes.isIncluded("doc/images/logo.png"));
+        assertFalse(binIncludes.isIncluded("doc"));
+        assertFalse(binIncludes.isIncluded("dummydoc.txt"));
+    }
+
+    @Test
+    public void testWildcards() {
+        BinIncludes binIncludes = BinIncludes.compile(new String[] { "OSGI-INF/*.xml", "ESH-INF/**/config?.xml" },
+                NO_VALUES);
+
+        assertTrue(binIncludes.isIncluded("OSGI-INF/component.xml"));
+        assertFalse(binIncludes.isIncluded("OSGI-INF/component.txt"));
+        assertFalse(binIncludes.isIncluded("OSGI-INF/old/component.xml"));
+        assertTrue(binIncludes.isIncluded("ESH-INF/config1.xml"));
+        assertTrue(binIncludes.isIncluded("ESH-INF/config/nested/config2.xml"));
+        assertFalse(binIncludes.isIncluded("ESH-INF/config/config10.xml"));
+    }
+
+    @Test
+    public void testExcludedFilesAreNotIncluded() {
+        BinIncludes binIncludes = BinIncludes.compile(new String[] { "OSGI-INF/" },
+                new String[] { "OSGI-INF/test/", "**/*.bak" });
+
+        assertTrue(binIncludes.isIncluded("OSGI-INF/component.xml"));
+        assertFalse(binIncludes.isIncluded("OSGI-INF/test/component.xml"));
+        assertFalse(binIncludes.isIncluded("OSGI-INF/component.xml.bak"));
+    }
+
+    @Test
+    public void testMissingBinIncludes() {
+        assertFalse(BinIncludes.compile(NO_VALUES, NO_VALUES).isIncluded("README.md"));
+    }
+}
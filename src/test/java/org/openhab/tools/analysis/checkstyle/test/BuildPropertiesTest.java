@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.checkstyle.api.BuildProperties;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Tests for {@link BuildProperties}
+ *
+ * @author agent - Initial contribution
+ */
+public class BuildPropertiesTest {
+
+    private static final String BUILD_PROPERTIES = "# bin.includes = doc/\n"
+            + "source.. = src/main/java/\n"
+            + "output..:target/classes\n"
+            + "\n"
+            + "bin.includes = META-INF/,\\\n"
+            + "               .,\\\n"
+            + "               lib/library.jar   ,\\\n"
+            + "               about\\u002Ehtml\n"
+            + "bin.excludes = \n";
+
+    @Test
+    public void testEntries() throws IOException {
+        BuildProperties buildProperties = BuildProperties.parse(new StringReader(BUILD_PROPERTIES));
+
+        BuildProperties.Entry binIncludes = buildProperties.getEntry("bin.includes");
+        assertArrayEquals(new String[] { "META-INF/", ".", "lib/library.jar", "about.html" }, binIncludes.getTokens());
+        assertEquals(5, binIncludes.getLine());
+        assertTrue(binIncludes.contains("lib/library.jar"));
+        assertFalse(binIncludes.contains("doc/"));
+
+        assertArrayEquals(new String[] { "src/main/java/" }, buildProperties.getEntry("source..").getTokens());
+        assertEquals(2, buildProperties.getEntry("source..").getLine());
+        assertArrayEquals(new String[] { "target/classes" }, buildProperties.getEntry("output..").getTokens());
+        assertEquals(0, buildProperties.getEntry("bin.excludes").getTokens().length);
+        assertEquals(4, buildProperties.getEntries().size());
+    }
+
+    @Test
+    public void testMissingEntry() throws IOException {
+        assertNull(BuildProperties.parse(new StringReader(BUILD_PROPERTIES)).getEntry("jars.compile.order"));
+    }
+
+    @Test(expected = CheckstyleException.class)
+    public void testMissingFile() throws CheckstyleException {
+        BuildProperties.read(new File("missing", "build.properties"));
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.checkstyle.api.BundleIndex;
+
+/**
+ * Tests for {@link BundleIndex}
+ *
+ * @author agent - Initial contribution
+ */
+public class BundleIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File bundle;
+
+    @Before
+    public void setUp() throws IOException {
+        bundle = folder.newFolder("bundle");
+        createFile("lib/library.jar");
+        createFile("lib/readme.txt");
+        createFile("lib/old/old.jar");
+        createFile("OSGI-INF/component.xml");
+        createFile("src/main/java/org/openhab/Activator.java");
+        createFile("src/main/java/org/openhab/internal/Handler.java");
+        createFile("target/lib/build.jar");
+    }
+
+    @Test
+    public void testFilesInDirectory() {
+        BundleIndex bundleIndex = BundleIndex.get(bundle);
+
+        assertEquals(Arrays.asList("lib/library.jar", "lib/readme.txt"), bundleIndex.getFiles("lib", false));
+        assertEquals(Arrays.asList("lib/library.jar", "lib/old/old.jar", "lib/readme.txt"),
+                bundleIndex.getFiles("lib/", true));
+        assertEquals(Collections.singletonList("OSGI-INF/component.xml"), bundleIndex.getFiles("OSGI-INF", false));
+    }
+
+    @Test
+    public void testPackages() {
+        BundleIndex bundleIndex = BundleIndex.get(bundle);
+
+        assertEquals(new HashSet<>(Arrays.asList("org.openhab", "org.openhab.internal")),
+                bundleIndex.getPackages("src/main/java"));
+        assertTrue(bundleIndex.getPackages("src/test/java").isEmpty());
+    }
+
+    @Test
+    public void testOutputDirectoryIsNotIndexed() {
+        BundleIndex bundleIndex = BundleIndex.get(bundle);
+
+        assertEquals(Arrays.asList("lib/library.jar", "lib/old/old.jar"), bundleIndex.getEntriesEndingWith(".jar"));
+        assertTrue(bundleIndex.isDirectory(BundleIndex.PRUNED_DIRECTORY));
+        assertTrue(bundleIndex.exists("target/lib/build.jar"));
+    }
+
+    @Test
+    public void testIndexIsCachedUntilTheBundleChanges() throws IOException {
+        BundleIndex bundleIndex = BundleIndex.get(bundle);
+        assertSame(bundleIndex, BundleIndex.get(bundle));
+
+        File directory = new File(bundle, "src/main/java/org/openhab/internal");
+        // The modification time of the directory has to change, even on file systems with a low resolution
+        long modificationTime = directory.lastModified();
+        createFile("src/main/java/org/openhab/internal/discovery/Discovery.java");
+        directory.setLastModified(modificationTime + 2000);
+
+        BundleIndex updatedIndex = BundleIndex.get(bundle);
+        assertNotSame(bundleIndex, updatedIndex);
+        assertTrue(updatedIndex.getPackages("src/main/java").contains("org.openhab.internal.discovery"));
+    }
+
+    private void createFile(String relativePath) throws IOException {
+        File file = new File(bundle, relativePath);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+    }
+}
@@ -65,6 +65,24 @@ public class DeclarativeServicesDependencyInjectionCheckTest extends AbstractSta
         verifyFile(testFileName, new String[0]);
     }
 
+    @Test
+    public void testServiceTrackerFromAnotherPackage() throws Exception {
+        String testFileName = "UseOtherServiceTracker.java";
+        verifyFile(testFileName, new String[0]);
+    }
+
+    @Test
+    public void testServiceTrackerImportedOnDemand() throws Exception {
+        String testFileName = "ImportServiceTrackerOnDemand.java";
+        int lineNumberClass = 3;
+        int lineNumberField = 5;
+
+        String[] expectedMessages = generateExpectedMessages(lineNumberClass, SERVICE_CUSTOMIZER_IMPLEMENTED,
+                lineNumberField, SERVICE_TRACKER_USED);
+
+        verifyFile(testFileName, expectedMessages);
+    }
+
     private void verifyFile(String testFileName, String[] expectedMessages) throws Exception {
         DefaultConfiguration config = createCheckConfig(DeclarativeServicesDependencyInjectionCheck.class);
 
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.checkstyle.api.GlobMatcher;
+
+/**
+ * Tests for {@link GlobMatcher}
+ *
+ * @author agent - Initial contribution
+ */
+public class GlobMatcherTest {
+
+    @Test
+    public void testPackageWildcards() {
+        GlobMatcher matcher = GlobMatcher.compilePackagePatterns("org.apache.*", " org.junit.*", ".*.internal.*");
+
+        assertTrue(matcher.matches("org.apache"));
+        assertTrue(matcher.matches("org.apache.commons.io"));
+        assertTrue(matcher.matches("org.junit"));
+        assertTrue(matcher.matches("org.openhab.binding.internal.handler"));
+        assertFalse(matcher.matches("com.apache.commons"));
+        assertFalse(matcher.matches("org.openhab.binding"));
+    }
+
+    @Test
+    public void testDotMatchesAnyCharacter() {
+        GlobMatcher matcher = GlobMatcher.compilePackagePatterns("org.openhab");
+
+        assertTrue(matcher.matches("org.openhab"));
+        assertTrue(matcher.matches("org_openhab"));
+        assertFalse(matcher.matches("org.openhab.core"));
+    }
+
+    @Test
+    public void testRegularExpressionsAreSupported() {
+        GlobMatcher matcher = GlobMatcher.compilePackagePatterns("(org|com)\\.example.*");
+
+        assertTrue(matcher.matches("org.example.api"));
+        assertTrue(matcher.matches("com.example"));
+        assertFalse(matcher.matches("net.example"));
+    }
+
+    @Test
+    public void testEmptyMatcher() {
+        assertFalse(GlobMatcher.compilePackagePatterns().matches("org.openhab"));
+    }
+
+    @Test
+    public void testLongPackageName() {
+        StringBuilder packageName = new StringBuilder("org");
+        for (int i = 0; i < 10000; i++) {
+            packageName.append(".a");
+        }
+        GlobMatcher matcher = GlobMatcher.compilePackagePatterns(".*a.*a.*a.*a.*b");
+
+        assertFalse(matcher.matches(packageName.toString()));
+        assertTrue(matcher.matches(packageName.append(".b").toString()));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.tools.analysis.checkstyle.api.ManifestIndex;
+
+import com.puppycrawl.tools.checkstyle.api.FileText;
+
+/**
+ * Tests for {@link ManifestIndex}
+ *
+ * @author agent - Initial contribution
+ */
+public class ManifestIndexTest {
+
+    private ManifestIndex manifestIndex;
+
+    @Before
+    public void setUp() {
+        // @formatter:off
+        FileText fileText = new FileText(new File("MANIFEST.MF"), Arrays.asList(
+                "Manifest-Version: 1.0",
+                "Bundle-SymbolicName: org.openhab.binding.example;singleton:=true",
+                "Import-Package: org.osgi.framework;version=\"[1.7,",
+                " 2.0)\",org.slf4j,",
+                " org.openhab.core.items;org.openhab.core",
+                " .library.types;version=\"1.0.0\",",
+                " org.apache.commons.lang",
+                "Export-Package: org.openhab.binding.example",
+                "Bundle-Vendor: openHAB",
+                "",
+                "Name: org/openhab/binding/example/",
+                "Bundle-Vendor: other"));
+        // @formatter:on
+        manifestIndex = new ManifestIndex(fileText);
+    }
+
+    @Test
+    public void testHeaderLines() {
+        assertEquals(3, manifestIndex.getHeaderLine("Import-Package"));
+        assertEquals(8, manifestIndex.getHeaderLine("export-package"));
+        assertEquals(-1, manifestIndex.getHeaderLine("Require-Bundle"));
+        assertEquals(2, manifestIndex.getHeaders("Bundle-Vendor").size());
+    }
+
+    @Test
+    public void testClauseLinesWithContinuations() {
+        assertEquals(3, manifestIndex.getClauseLine("Import-Package", "org.osgi.framework"));
+        assertEquals(4, manifestIndex.getClauseLine("Import-Package", "org.slf4j"));
+        assertEquals(5, manifestIndex.getClauseLine("Import-Package", "org.openhab.core.items"));
+        assertEquals(5, manifestIndex.getClauseLine("Import-Package", "org.openhab.core.library.types"));
+        assertEquals(7, manifestIndex.getClauseLine("Import-Package", "org.apache.commons.lang"));
+        assertEquals(2, manifestIndex.getClauseLine("Bundle-SymbolicName", "org.openhab.binding.example"));
+    }
+
+    @Test
+    public void testParametersAreNotIndexed() {
+        assertEquals(-1, manifestIndex.getClauseLine("Import-Package", "2.0)\""));
+        assertEquals(-1, manifestIndex.getClauseLine("Import-Package", "version=\"1.0.0\""));
+        assertEquals(-1, manifestIndex.getClauseLine("Export-Package", "org.osgi.framework"));
+    }
+
+    @Test
+    public void testClauses() {
+        assertEquals(Arrays.asList("org.osgi.framework", "org.slf4j", "org.openhab.core.items",
+                "org.openhab.core.library.types", "org.apache.commons.lang"),
+                Arrays.asList(manifestIndex.getPaths("Import-Package").toArray()));
+        assertEquals(4, manifestIndex.getClauses("Import-Package").size());
+
+        ManifestIndex.Clause clause = manifestIndex.getClause("Import-Package", "org.openhab.core.library.types");
+        assertEquals(Arrays.asList("org.openhab.core.items", "org.openhab.core.library.types"), clause.getPaths());
+        assertEquals(5, clause.getLine());
+        assertEquals("1.0.0", clause.getAttribute("version"));
+
+        ManifestIndex.Clause framework = manifestIndex.getClause("Import-Package", "org.osgi.framework");
+        assertEquals("[1.7,2.0)", framework.getAttribute("version"));
+        assertTrue(manifestIndex.getClause("Import-Package", "org.slf4j").getAttributes().isEmpty());
+
+        ManifestIndex.Clause symbolicName = manifestIndex.getClause("Bundle-SymbolicName",
+                "org.openhab.binding.example");
+        assertEquals("true", symbolicName.getDirective("singleton"));
+        assertNull(symbolicName.getAttribute("singleton"));
+    }
+
+    @Test
+    public void testMissingHeaderHasNoClauses() {
+        assertEquals(Collections.emptyList(), manifestIndex.getClauses("Require-Bundle"));
+        assertTrue(manifestIndex.getPaths("Require-Bundle").isEmpty());
+        assertNull(manifestIndex.getClause("Export-Package", "org.slf4j"));
+    }
+}
@@ -52,6 +52,13 @@ public class OverridingParentPomConfigurationCheckTest extends AbstractStaticChe
         verifyPom("invalidPomConfiguration", expectedMessages);
     }
 
+    @Test
+    public void testMultipleOverridesPomConfiguration() throws Exception {
+        String message = "Avoid overriding a configuration inherited by the parent pom.";
+        String[] expectedMessages = generateExpectedMessages(11, message, 13, message);
+        verifyPom("multipleOverridesPomConfiguration", expectedMessages);
+    }
+
     @Test
     public void testMissingOverridingParentPomConfiguration() throws Exception {
         String[] expectedMessages = CommonUtils.EMPTY_STRING_ARRAY;
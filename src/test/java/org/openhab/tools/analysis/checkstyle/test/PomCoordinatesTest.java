@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.checkstyle.api.PomCoordinates;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Tests for {@link PomCoordinates}
+ *
+ * @author agent - Initial contribution
+ */
+public class PomCoordinatesTest {
+
+    private static final String POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+            + "  <parent>\n"
+            + "    <artifactId>pom</artifactId>\n"
+            + "    <version>2.1.0-SNAPSHOT</version>\n"
+            + "  </parent>\n"
+            + "  <artifactId>org.openhab.binding.example</artifactId>\n"
+            + "  <dependencies>\n"
+            + "    <dependency>\n"
+            + "      <artifactId>dependency</artifactId>\n"
+            + "      <version>1.0.0</version>\n"
+            + "    </dependency>\n"
+            + "  </dependencies>\n"
+            + "</project>\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCoordinates() throws IOException, CheckstyleException {
+        File pom = createPom("pom.xml", POM);
+
+        PomCoordinates coordinates = PomCoordinates.read(pom);
+        assertEquals("org.openhab.binding.example", coordinates.getArtifactId());
+        assertEquals(7, coordinates.getArtifactIdLine());
+        assertNull(coordinates.getVersion());
+        assertEquals(-1, coordinates.getVersionLine());
+        assertEquals("pom", coordinates.getParentArtifactId());
+        assertEquals(4, coordinates.getParentArtifactIdLine());
+        assertEquals("2.1.0-SNAPSHOT", coordinates.getParentVersion());
+        assertEquals(5, coordinates.getParentVersionLine());
+    }
+
+    @Test
+    public void testCoordinatesAreCachedUntilTheFileChanges() throws IOException, CheckstyleException {
+        File pom = createPom("parent.xml", POM);
+
+        PomCoordinates coordinates = PomCoordinates.get(pom);
+        assertSame(coordinates, PomCoordinates.get(pom));
+
+        FileUtils.writeStringToFile(pom, POM.replace("org.openhab.binding.example", "org.openhab.binding.changed"),
+                StandardCharsets.UTF_8);
+        assertTrue(pom.setLastModified(pom.lastModified() - 10000));
+        assertEquals("org.openhab.binding.changed", PomCoordinates.get(pom).getArtifactId());
+    }
+
+    @Test(expected = CheckstyleException.class)
+    public void testInvalidPom() throws IOException, CheckstyleException {
+        PomCoordinates.read(createPom("invalid.xml", "<project><artifactId></project>"));
+    }
+
+    private File createPom(String name, String content) throws IOException {
+        File pom = folder.newFile(name);
+        FileUtils.writeStringToFile(pom, content, StandardCharsets.UTF_8);
+        return pom;
+    }
+}
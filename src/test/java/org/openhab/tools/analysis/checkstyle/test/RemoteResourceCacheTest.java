@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.checkstyle.api.RemoteResourceCache;
+
+/**
+ * Tests for {@link RemoteResourceCache}
+ *
+ * @author agent - Initial contribution
+ */
+public class RemoteResourceCacheTest {
+
+    private static final String CHECK_NAME = "RemoteResourceCacheTest";
+    private static final String BUNDLED_RESOURCE = "/reference/about.html";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testResourceIsDownloadedOnce() throws IOException {
+        File resource = folder.newFile("resource.html");
+        FileUtils.writeStringToFile(resource, "content", StandardCharsets.UTF_8);
+        String url = resource.toURI().toString();
+
+        assertEquals("content", RemoteResourceCache.getContent(CHECK_NAME, url, null));
+
+        FileUtils.writeStringToFile(resource, "changed content", StandardCharsets.UTF_8);
+        assertEquals("content", RemoteResourceCache.getContent(CHECK_NAME, url, null));
+    }
+
+    @Test
+    public void testBundledResourceIsUsedWhenTheResourceIsNotAvailable() throws IOException {
+        String url = new File(folder.getRoot(), "nonExistentBundled.html").toURI().toString();
+
+        String content = RemoteResourceCache.getContent(CHECK_NAME, url, BUNDLED_RESOURCE);
+        assertNotNull(content);
+        assertTrue(content.contains("<h3>License</h3>"));
+    }
+
+    @Test
+    public void testNotAvailableResource() throws IOException {
+        String url = new File(folder.getRoot(), "nonExistent.html").toURI().toString();
+
+        assertNull(RemoteResourceCache.getContent(CHECK_NAME, url, null));
+        assertNull(RemoteResourceCache.getContent(CHECK_NAME, "non.existent.url", null));
+    }
+
+    @Test(timeout = 10000)
+    public void testSlowResourceIsSkipped() throws IOException {
+        // The connection is accepted by the backlog of the socket, but no response is sent
+        try (ServerSocket server = new ServerSocket(0)) {
+            String url = "http://localhost:" + server.getLocalPort() + "/slow.html";
+
+            assertNull(RemoteResourceCache.getContent(CHECK_NAME, url, null, 200));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testSlowResourceDoesNotBlockOtherResources() throws Exception {
+        File resource = folder.newFile("fast.html");
+        FileUtils.writeStringToFile(resource, "fast content", StandardCharsets.UTF_8);
+
+        try (ServerSocket server = new ServerSocket(0)) {
+            String slowUrl = "http://localhost:" + server.getLocalPort() + "/blocking.html";
+            CountDownLatch slowDownloadCompleted = new CountDownLatch(1);
+            Thread slowDownload = new Thread(() -> {
+                RemoteResourceCache.getContent(CHECK_NAME, slowUrl, null, 3000);
+                slowDownloadCompleted.countDown();
+            });
+            slowDownload.start();
+
+            assertEquals("fast content",
+                    RemoteResourceCache.getContent(CHECK_NAME, resource.toURI().toString(), null, 3000));
+            assertFalse("The slow download must still be running",
+                    slowDownloadCompleted.await(0, TimeUnit.MILLISECONDS));
+
+            // A request for the same resource waits for the running download
+            assertNull(RemoteResourceCache.getContent(CHECK_NAME, slowUrl, null, 3000));
+            assertTrue(slowDownloadCompleted.await(1, TimeUnit.SECONDS));
+        }
+    }
+}
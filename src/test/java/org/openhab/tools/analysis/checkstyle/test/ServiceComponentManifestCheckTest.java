@@ -11,11 +11,16 @@ package org.openhab.tools.analysis.checkstyle.test;
 import static org.openhab.tools.analysis.checkstyle.api.CheckConstants.*;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.openhab.tools.analysis.checkstyle.ServiceComponentManifestCheck;
 import org.openhab.tools.analysis.checkstyle.api.AbstractStaticCheckTest;
 
@@ -52,8 +57,13 @@ public class ServiceComponentManifestCheckTest extends AbstractStaticCheckTest {
     private static final String MISSING_SERVICE_IN_BUILD_PROPERTIES = "The service component {0} isn`t included in the build.properties file."
             + " Good approach is to include all files by adding `OSGI-INF/` value to the bin.includes property.";
 
+    private static final int GENERATED_COMPONENTS_COUNT = 3000;
+
     private static DefaultConfiguration config;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @BeforeClass
     public static void createConfiguration() {
         config = createCheckConfig(ServiceComponentManifestCheck.class);
@@ -203,6 +213,40 @@ public class ServiceComponentManifestCheckTest extends AbstractStaticCheckTest {
         verifyBuildProperties("missing_all_services_in_build_properties", expectedMessages);
     }
 
+    @Test(timeout = 60000)
+    public void testThousandsOfServices() throws Exception {
+        File testDirectory = folder.newFolder("generated_services");
+        File osgiInfDirectory = new File(testDirectory, OSGI_INF_DIRECTORY_NAME);
+        osgiInfDirectory.mkdirs();
+
+        // Half of the services are declared with a wildcard and the other half explicitly
+        List<String> manifestLines = new ArrayList<>();
+        manifestLines.add("Manifest-Version: 1.0");
+        manifestLines.add("Bundle-ManifestVersion: 2");
+        manifestLines.add("Bundle-SymbolicName: org.openhab.binding.generated");
+        manifestLines.add("Service-Component: OSGI-INF/wildcard*.xml,");
+        for (int i = 0; i < GENERATED_COMPONENTS_COUNT; i++) {
+            new File(osgiInfDirectory, "wildcard" + i + ".xml").createNewFile();
+            new File(osgiInfDirectory, "explicit" + i + ".xml").createNewFile();
+            manifestLines.add(" OSGI-INF/explicit" + i + ".xml,");
+        }
+        manifestLines.add(" OSGI-INF/nonExistentService.xml");
+        new File(osgiInfDirectory, "notIncludedService.xml").createNewFile();
+
+        File manifest = new File(testDirectory, MANIFEST_RELATIVE_PATH);
+        FileUtils.writeLines(manifest, StandardCharsets.UTF_8.name(), manifestLines, "\n");
+        FileUtils.writeStringToFile(new File(testDirectory, BUILD_PROPERTIES_FILE_NAME),
+                "bin.includes = META-INF/,\\\n               OSGI-INF/\n", StandardCharsets.UTF_8);
+
+        int lineNumber = 4;
+        String[] expectedMessages = generateExpectedMessages(lineNumber, BEST_APPROACH_MESSAGE, lineNumber,
+                String.format(NOT_INCLUDED_SERVICE_MESSAGE, "notIncludedService.xml"), lineNumber,
+                String.format(NOT_EXISTING_SERVICE_MESSAGE, "nonExistentService.xml"));
+
+        File[] testFiles = FileUtils.listFiles(testDirectory, null, true).toArray(new File[] {});
+        verify(createChecker(config), testFiles, manifest.getPath(), expectedMessages);
+    }
+
     @Override
     protected DefaultConfiguration createCheckerConfig(Configuration config) {
         DefaultConfiguration configParent = new DefaultConfiguration("root");
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.checkstyle.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.checkstyle.api.XmlPath;
+import org.openhab.tools.analysis.checkstyle.api.XmlPathListener;
+import org.openhab.tools.analysis.checkstyle.api.XmlStreamDispatcher;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Tests for {@link XmlStreamDispatcher}
+ *
+ * @author agent - Initial contribution
+ */
+public class XmlStreamDispatcherTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<thing:thing-descriptions bindingId=\"example\" xmlns:thing=\"http://eclipse.org/smarthome/schemas\">\n"
+            + "  <bridge-type id=\"bridge\">\n"
+            + "    <label>Bridge</label>\n"
+            + "  </bridge-type>\n"
+            + "  <thing-type id=\"thing\">\n"
+            + "    <supported-bridge-type-refs>\n"
+            + "      <bridge-type-ref\n"
+            + "          id=\"bridge\" />\n"
+            + "    </supported-bridge-type-refs>\n"
+            + "    <label>Thing <![CDATA[&]]> Type</label>\n"
+            + "    <config-description uri=\"thing-type:example:thing\">\n"
+            + "      <parameter name=\"host\" required=\"true\" />\n"
+            + "      <parameter name=\"port\" required=\"false\" />\n"
+            + "    </config-description>\n"
+            + "  </thing-type>\n"
+            + "</thing:thing-descriptions>\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.newFile("thing-types.xml");
+        FileUtils.writeStringToFile(file, XML, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testAllPathsAreMatchedInOnePass() throws CheckstyleException {
+        List<String> bridgeTypes = new ArrayList<>();
+        List<String> bridgeRefs = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+
+        new XmlStreamDispatcher().subscribe("//bridge-type[@id]/@id", collect(bridgeTypes))
+                .subscribe("//supported-bridge-type-refs/bridge-type-ref/@id", collect(bridgeRefs))
+                .subscribe("/thing:thing-descriptions/*/label", collect(labels)).process(file);
+
+        assertEquals(Collections.singletonList("bridge@3"), bridgeTypes);
+        assertEquals(Collections.singletonList("bridge@9"), bridgeRefs);
+        assertEquals(Arrays.asList("Bridge@4", "Thing & Type@11"), labels);
+    }
+
+    @Test
+    public void testPredicates() throws CheckstyleException {
+        List<String> parameters = new ArrayList<>();
+
+        new XmlStreamDispatcher()
+                .subscribe("//config-description[@uri]/parameter[@name and @required='true']/@name",
+                        collect(parameters))
+                .process(file);
+
+        assertEquals(Collections.singletonList("host@13"), parameters);
+    }
+
+    @Test
+    public void testNoMatch() throws CheckstyleException {
+        List<String> values = new ArrayList<>();
+
+        new XmlStreamDispatcher().subscribe("/thing-descriptions/thing-type/@id", collect(values))
+                .subscribe("//bridge-type/@missing", collect(values)).process(file);
+
+        assertTrue(values.isEmpty());
+    }
+
+    @Test(expected = CheckstyleException.class)
+    public void testInvalidFile() throws IOException, CheckstyleException {
+        FileUtils.writeStringToFile(file, "<project><artifactId></project>", StandardCharsets.UTF_8);
+        new XmlStreamDispatcher().subscribe("/project/artifactId", collect(new ArrayList<>())).process(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedPath() {
+        XmlPath.compile("//config-description[parameter]");
+    }
+
+    private XmlPathListener collect(List<String> values) {
+        return (matchedFile, value, lineNumber) -> values.add(value + "@" + lineNumber);
+    }
+}
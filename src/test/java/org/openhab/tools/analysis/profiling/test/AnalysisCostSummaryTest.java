@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import javax.management.ObjectName;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.profiling.AnalysisCost;
+import org.openhab.tools.analysis.profiling.AnalysisCostRecorder;
+import org.openhab.tools.analysis.profiling.AnalysisCostSummary;
+
+/**
+ * Tests for the {@link AnalysisCostSummary}
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisCostSummaryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRecordsAreAggregatedByToolAndName() throws IOException {
+        File recordsFile = folder.newFile(AnalysisCostRecorder.RECORDS_FILE_NAME);
+        AnalysisCostRecorder.record(recordsFile, createCost("checkstyle", "PomXmlCheck", 100, 1, 10, 1000));
+        AnalysisCostRecorder.record(recordsFile, createCost("checkstyle", "PomXmlCheck", 200, 2, 20, 2000));
+        AnalysisCostRecorder.record(recordsFile, createCost("pmd", "WhileLoopsMustUseBracesRule", 50, 1, 5, -1));
+
+        AnalysisCostSummary summary = new AnalysisCostSummary();
+        summary.readRecords(recordsFile);
+
+        Iterator<AnalysisCost> costs = summary.getCosts().iterator();
+        assertCost(costs.next(), "checkstyle", "PomXmlCheck", 300, 3, 30, 3000);
+        assertCost(costs.next(), "pmd", "WhileLoopsMustUseBracesRule", 50, 1, 5, AnalysisCost.UNKNOWN);
+        assertFalse(costs.hasNext());
+    }
+
+    @Test
+    public void testSummaryIsWrittenAndRead() throws IOException {
+        AnalysisCostSummary summary = new AnalysisCostSummary();
+        summary.add(createCost("report", "create_html.xslt", 1000, 1, 4096, 8192));
+        summary.add(createCost("execution", "maven-pmd-plugin:pmd", 5000, 0, 0, -1));
+
+        File summaryFile = new File(folder.getRoot(), "analysis-cost.xml");
+        summary.write(summaryFile);
+
+        AnalysisCostSummary readSummary = new AnalysisCostSummary();
+        readSummary.read(summaryFile);
+        readSummary.read(summaryFile);
+
+        Iterator<AnalysisCost> costs = readSummary.getCosts().iterator();
+        assertCost(costs.next(), "execution", "maven-pmd-plugin:pmd", 10000, 0, 0, AnalysisCost.UNKNOWN);
+        assertCost(costs.next(), "report", "create_html.xslt", 2000, 2, 8192, 16384);
+        assertFalse(costs.hasNext());
+    }
+
+    @Test
+    public void testEmptyCostIsNotRecorded() throws IOException {
+        File recordsFile = new File(folder.getRoot(), AnalysisCostRecorder.RECORDS_FILE_NAME);
+        AnalysisCostRecorder.record(recordsFile, new AnalysisCost("checkstyle", "PomXmlCheck"));
+
+        assertFalse(recordsFile.exists());
+    }
+
+    @Test
+    public void testRecordedCostIsReset() throws IOException {
+        File recordsFile = new File(folder.getRoot(), AnalysisCostRecorder.RECORDS_FILE_NAME);
+        AnalysisCost cost = createCost("checkstyle", "PomXmlCheck", 100, 1, 10, 1000);
+        AnalysisCostRecorder.record(recordsFile, cost);
+        AnalysisCostRecorder.record(recordsFile, cost);
+
+        assertTrue(cost.isEmpty());
+        assertEquals(Arrays.asList("checkstyle,PomXmlCheck,100,1,10,1000"),
+                Files.readAllLines(recordsFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRegisteredCostIsWrittenOnceAfterTheTool() throws Exception {
+        File recordsFile = new File(folder.getRoot(), AnalysisCostRecorder.RECORDS_FILE_NAME);
+        AnalysisCost cost = createCost("pmd", "WhileLoopsMustUseBracesRule", 100, 1, 10, 1000);
+        AnalysisCostRecorder.register(recordsFile, cost);
+        cost.set(200, 2, 20, 2000);
+
+        assertFalse(recordsFile.exists());
+        AnalysisCostRecorder.flushAllRealms(recordsFile);
+        AnalysisCostRecorder.flushAllRealms(recordsFile);
+
+        assertEquals(Arrays.asList("pmd,WhileLoopsMustUseBracesRule,200,2,20,2000"),
+                Files.readAllLines(recordsFile.toPath(), StandardCharsets.UTF_8));
+        assertTrue(ManagementFactory.getPlatformMBeanServer()
+                .queryNames(new ObjectName(AnalysisCostRecorder.REGISTERED_COSTS_MBEAN_PATTERN), null).isEmpty());
+    }
+
+    @Test
+    public void testNestedMeasurementIsCountedOnce() {
+        AnalysisCost cost = new AnalysisCost("checkstyle", "EshInfXmlValidationCheck");
+        cost.begin();
+        cost.begin();
+        cost.end();
+        long nestedWallNanos = cost.getWallNanos();
+        cost.end();
+
+        assertEquals(0, nestedWallNanos);
+        assertTrue(cost.getWallNanos() > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndWithoutBegin() {
+        new AnalysisCost("checkstyle", "PomXmlCheck").end();
+    }
+
+    private AnalysisCost createCost(String tool, String name, long wallNanos, int files, long bytes,
+            long allocatedBytes) {
+        AnalysisCost cost = new AnalysisCost(tool, name);
+        cost.set(wallNanos, files, bytes, allocatedBytes);
+        return cost;
+    }
+
+    private void assertCost(AnalysisCost cost, String tool, String name, long wallNanos, int files, long bytes,
+            long allocatedBytes) {
+        assertEquals(tool, cost.getTool());
+        assertEquals(name, cost.getName());
+        assertEquals(wallNanos, cost.getWallNanos());
+        assertEquals(files, cost.getFiles());
+        assertEquals(bytes, cost.getBytes());
+        assertEquals(allocatedBytes, cost.getAllocatedBytes());
+    }
+}
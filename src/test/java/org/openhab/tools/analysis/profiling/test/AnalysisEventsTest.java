@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.profiling.AnalysisEvent;
+import org.openhab.tools.analysis.profiling.AnalysisEvents;
+
+/**
+ * Tests for the {@link AnalysisEvents}
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisEventsTest {
+
+    private static final String PROFILING_PACKAGE = AnalysisEvents.class.getPackage().getName() + ".";
+
+    @Test
+    public void testEventsAreFlightRecorderEvents() {
+        try (AnalysisEvent event = AnalysisEvents.fileCheck("PomXmlCheck", new File("pom.xml"))) {
+            event.setOutcome("Timeout");
+            assertTrue(event instanceof jdk.jfr.Event);
+        }
+    }
+
+    @Test
+    public void testEventsAreNoOpsWithoutFlightRecorder() throws Exception {
+        URL classes = AnalysisEvents.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new JfrHidingClassLoader(classes)) {
+            Class<?> events = loader.loadClass(AnalysisEvents.class.getName());
+            assertNotSame(AnalysisEvents.class, events);
+
+            Object event = events.getMethod("remoteFetch", String.class, String.class).invoke(null, "AboutHtmlCheck",
+                    "http://localhost/about.html");
+            events.getClassLoader().loadClass(AnalysisEvent.class.getName()).getMethod("setOutcome", String.class)
+                    .invoke(event, "200");
+            ((AutoCloseable) event).close();
+
+            assertEquals(Object.class, event.getClass().getSuperclass());
+            assertSame(event, events.getMethod("toolExecution", String.class, String.class, String.class).invoke(null,
+                    "module", "maven-pmd-plugin", "pmd"));
+        }
+    }
+
+    /**
+     * Loads the profiling classes again and hides the jdk.jfr API from them
+     */
+    private static class JfrHidingClassLoader extends URLClassLoader {
+
+        JfrHidingClassLoader(URL classes) {
+            super(new URL[] { classes }, AnalysisEventsTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("jdk.jfr.")) {
+                throw new ClassNotFoundException(name);
+            }
+            if (!name.startsWith(PROFILING_PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loadedClass = findLoadedClass(name);
+                return loadedClass != null ? loadedClass : findClass(name);
+            }
+        }
+    }
+}
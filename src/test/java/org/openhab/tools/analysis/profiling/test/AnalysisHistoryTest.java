@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.profiling.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.profiling.AnalysisHistory;
+
+/**
+ * Tests for the {@link AnalysisHistory}
+ *
+ * @author agent - Initial contribution
+ */
+public class AnalysisHistoryTest {
+
+    private static final String MODULE = "org.openhab:org.openhab.binding.foo";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDurationsAreSmoothedAndSummed() throws IOException {
+        File historyFile = new File(folder.getRoot(), "history/analysis-history.properties");
+        AnalysisHistory.record(historyFile, MODULE, "maven-pmd-plugin", 1000);
+        AnalysisHistory.record(historyFile, MODULE, "maven-pmd-plugin", 3000);
+        AnalysisHistory.record(historyFile, MODULE, "spotbugs-maven-plugin", 5000);
+        AnalysisHistory.record(historyFile, MODULE + ".test", "maven-pmd-plugin", 7000);
+
+        AnalysisHistory history = AnalysisHistory.read(historyFile);
+        assertEquals(2000, history.getDuration(MODULE, "maven-pmd-plugin"));
+        assertEquals(7000, history.getDuration(MODULE));
+        assertEquals(7000, history.getDuration(MODULE + ".test"));
+        assertEquals(0, history.getDuration("org.openhab:unknown"));
+    }
+
+    @Test
+    public void testMissingFileIsEmpty() throws IOException {
+        assertTrue(AnalysisHistory.read(new File(folder.getRoot(), "missing.properties")).isEmpty());
+    }
+}
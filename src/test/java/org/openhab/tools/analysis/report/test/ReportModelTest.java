@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.report.Finding;
+import org.openhab.tools.analysis.report.ReportModel;
+
+/**
+ * Tests for the {@link ReportModel}
+ *
+ * @author agent - Initial contribution
+ */
+public class ReportModelTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFindingsAreStoredWithoutChange() {
+        ReportModel model = new ReportModel();
+        model.add(new Finding("org.foo.Foo.java", "pmd", "12", "\nMessage\n", "3", "Rule",
+                "http://rules/Rule", "basic rules", null));
+        model.add(new Finding("org.foo.Bar.java", "findbugs", "", "Long message", "1", "Short (S)", null,
+                "correctness", "BUG_TYPE"));
+
+        Finding pmd = model.get(0);
+        assertEquals("org.foo.Foo.java", pmd.getFileName());
+        assertEquals("pmd", pmd.getTool());
+        assertEquals("12", pmd.getLine());
+        assertEquals("\nMessage\n", pmd.getMessage());
+        assertEquals("3", pmd.getPriority());
+        assertEquals("Rule", pmd.getRule());
+        assertEquals("http://rules/Rule", pmd.getRuleUrl());
+        assertEquals("basic rules", pmd.getCategory());
+        assertNull(pmd.getRuleId());
+
+        Finding findbugs = model.get(1);
+        assertEquals("", findbugs.getLine());
+        assertNull(findbugs.getRuleUrl());
+        assertEquals("BUG_TYPE", findbugs.getRuleId());
+
+        assertEquals(1, model.countPriority("1"));
+        assertEquals(0, model.countPriority("2"));
+        assertEquals(1, model.countPriority("3"));
+    }
+
+    @Test
+    public void testFindingsAreGroupedByFile() throws Exception {
+        ReportModel model = new ReportModel();
+        model.add(new Finding("A.java", "pmd", "1", "first", "3", "Rule", null, "style", null));
+        model.add(new Finding("B.java", "pmd", "2", "second", "3", "Rule", null, "style", null));
+        model.add(new Finding("A.java", "checkstyle", "3", "third", "1", "Check", null, "style", null));
+
+        File reportFile = folder.newFile("merge.xml");
+        model.write(reportFile);
+
+        String report = new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8);
+        assertEquals(2, report.split("<file ", -1).length - 1);
+        int fileA = report.indexOf("name=\"A.java\"");
+        int fileB = report.indexOf("name=\"B.java\"");
+        assertTrue(fileA < report.indexOf("first") && report.indexOf("first") < report.indexOf("third"));
+        assertTrue(report.indexOf("third") < fileB && fileB < report.indexOf("second"));
+    }
+
+    @Test
+    public void testMissingFindingsAreCounted() {
+        Finding first = new Finding("A.java", "pmd", "1", "first", "3", "Rule", null, "style", null);
+        Finding second = new Finding("B.java", "pmd", "2", "second", "2", "Rule", null, "style", null);
+        Finding third = new Finding("A.java", "checkstyle", "3", "third", "1", "Check", null, "style", null);
+
+        ReportModel summary = new ReportModel();
+        summary.add(first);
+        summary.add(second);
+        ReportModel module = new ReportModel();
+        module.add(second);
+        module.add(third);
+
+        assertEquals(1, summary.countMissing(module));
+        assertEquals(1, module.countMissing(summary));
+        summary.add(third);
+        assertEquals(0, summary.countMissing(module));
+    }
+
+    @Test
+    public void testRejectedFindingLeavesTheModelUnchanged() {
+        ReportModel model = new ReportModel();
+        for (int i = 0; i <= Byte.MAX_VALUE; i++) {
+            model.add(new Finding("A.java", "tool" + i, "1", "message", "3", "Rule", null, "style", null));
+        }
+        long bytes = model.estimateBytes();
+
+        try {
+            model.add(new Finding("B.java", "another tool", "2", "another message", "1", "Rule", null, "style", null));
+            fail("A finding of the 129th tool must be rejected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(Byte.MAX_VALUE + 1, model.size());
+        assertEquals(bytes, model.estimateBytes());
+        model.add(new Finding("B.java", "tool0", "2", "message", "1", "Rule", null, "style", null));
+        assertEquals("tool0", model.get(Byte.MAX_VALUE + 1).getTool());
+    }
+
+    @Test
+    public void testBytesPerFinding() {
+        // A reactor with 2000 files, 100 rules and 5000 distinct messages
+        ReportModel model = new ReportModel();
+        int findings = 200000;
+        for (int i = 0; i < findings; i++) {
+            String fileName = "org.openhab.binding.module" + (i % 2000 / 20) + ".internal.Handler" + (i % 2000)
+                    + ".java";
+            String rule = "Rule" + (i % 100);
+            model.add(new Finding(fileName, i % 2 == 0 ? "pmd" : "checkstyle", Integer.toString(i % 500),
+                    "The message number " + (i % 5000) + " describes the problem", Integer.toString(i % 3 + 1),
+                    rule, "http://rules/" + rule, "category " + (i % 10), null));
+        }
+
+        assertEquals(findings, model.size());
+        long bytesPerFinding = model.estimateBytes() / findings;
+        assertTrue("Estimated " + bytesPerFinding + " bytes per finding",
+                bytesPerFinding < ReportModel.MAX_BYTES_PER_FINDING);
+    }
+}
@@ -8,21 +8,37 @@
  */
 package org.openhab.tools.analysis.report.test;
 
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.openhab.tools.analysis.report.ReportRenderingQueue;
 import org.openhab.tools.analysis.report.ReportUtility;
+import org.openhab.tools.analysis.report.ScaFile;
 
 import java.io.File;
-
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for the {@link ReportUtility}
@@ -45,6 +61,7 @@ public class ReportUtilityTest {
     private ReportUtility subject;
 
     private File resultFile = new File(RESULT_FILE_PATH);
+    private File analysisCostFile = new File(TARGET_ABSOLUTE_DIR, ReportUtility.ANALYSIS_COST_FILE_NAME);
 
     @Before
     public void setUp() throws Exception {
@@ -54,6 +71,9 @@ public class ReportUtilityTest {
         if (resultFile.exists()) {
             resultFile.delete();
         }
+        if (analysisCostFile.exists()) {
+            analysisCostFile.delete();
+        }
     }
 
     @Test(expected = MojoFailureException.class)
@@ -82,6 +102,128 @@ public class ReportUtilityTest {
         subject.execute();
 
         assertTrue(resultFile.exists());
+        assertTrue(new File(TARGET_ABSOLUTE_DIR, ReportUtility.RESULT_DATA_FILE_NAME).exists());
+    }
+
+    @Test
+    public void assertReportIsRenderedInTheBackgroundAndBuildFails() throws Exception {
+        assertFalse(resultFile.exists());
+
+        subject.setFailOnError(true);
+        subject.setSummaryReport(null);
+        subject.setTargetDirectory(new File(TARGET_ABSOLUTE_DIR));
+        subject.setAsyncRendering(true);
+        subject.setRenderingThreads(1);
+        subject.setRenderingQueueCapacity(1);
+
+        try {
+            subject.execute();
+            fail("The verdict must not depend on the rendering of the report");
+        } catch (MojoFailureException e) {
+            // expected
+        }
+
+        ReportRenderingQueue.drain();
+        assertTrue(resultFile.exists());
+        verify(logger).info("Detailed report can be found at: file:///" + RESULT_FILE_PATH);
+    }
+
+    @Test
+    public void assertReportsAreRenderedWhenTheLastModuleHasNoResults() throws Exception {
+        // Maven executes every project of the reactor with its own clone of the session, they share the request
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        subject.setSummaryReport(null);
+        subject.setTargetDirectory(Files.createTempDirectory("no-results").toFile());
+        subject.setReactorProjects(Arrays.asList(new MavenProject(), new MavenProject(), new MavenProject()));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean rendered = new AtomicBoolean();
+        ReportRenderingQueue.submit(1, 1, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rendered.set(true);
+        });
+
+        try {
+            started.await();
+            subject.setSession(cloneSession(request));
+            subject.execute();
+            subject.setSession(cloneSession(request));
+            subject.execute();
+            assertFalse("The reports must be rendered in the background until the last module", rendered.get());
+        } finally {
+            release.countDown();
+        }
+
+        subject.setSession(cloneSession(request));
+        subject.execute();
+        assertTrue("The module without results must complete the reactor", rendered.get());
+    }
+
+    @Test
+    public void assertSummaryIsRenderedOnceAfterTheLastModule() throws Exception {
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        File reactor = Files.createTempDirectory("summary").toFile();
+        File summaryDirectory = new File(reactor, "summary");
+        File summaryReport = new File(summaryDirectory, ReportUtility.SUMMARY_REPORT_FILE_NAME);
+        File summaryResultData = new File(summaryDirectory, ReportUtility.SUMMARY_RESULT_DATA_FILE_NAME);
+        subject.setFailOnError(false);
+        subject.setSummaryReport(summaryDirectory);
+        subject.setReactorProjects(Arrays.asList(new MavenProject(), new MavenProject()));
+
+        subject.setTargetDirectory(createModule(reactor, "first"));
+        subject.setSession(cloneSession(request));
+        subject.execute();
+        int moduleFindings = ScaFile.open(summaryResultData).size();
+        assertTrue(moduleFindings > 0);
+        assertFalse("The summary must be rendered after the last module", summaryReport.exists());
+
+        subject.setTargetDirectory(createModule(reactor, "second"));
+        subject.setSession(cloneSession(request));
+        subject.execute();
+        assertTrue(summaryReport.exists());
+        assertEquals(2 * moduleFindings, ScaFile.open(summaryResultData).size());
+    }
+
+    private static File createModule(File reactor, String name) throws IOException {
+        File targetDirectory = new File(reactor, name + File.separator + "target" + File.separator + "code-analysis");
+        targetDirectory.mkdirs();
+        for (String resultFile : Arrays.asList("checkstyle-result.xml", "findbugsXml.xml", "pmd.xml")) {
+            Files.copy(new File(TARGET_ABSOLUTE_DIR, resultFile).toPath(),
+                    new File(targetDirectory, resultFile).toPath());
+        }
+        return targetDirectory;
+    }
+
+    private static MavenSession cloneSession(MavenExecutionRequest request) {
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRequest()).thenReturn(request);
+        return session;
+    }
+
+    @Test
+    public void assertAnalysisCostIsReported() throws MojoFailureException, IOException {
+        assertFalse(analysisCostFile.exists());
+
+        subject.setFailOnError(false);
+        subject.setSummaryReport(null);
+        subject.setTargetDirectory(new File(TARGET_ABSOLUTE_DIR));
+        subject.setAnalysisCost(true);
+
+        subject.execute();
+
+        assertTrue(analysisCostFile.exists());
+        String costs = new String(Files.readAllBytes(analysisCostFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(costs.contains("name=\"create_html.xslt\""));
+
+        String report = new String(Files.readAllBytes(resultFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(report.contains("Analysis cost"));
+        assertTrue(report.contains("collect_checkstyle"));
     }
 
     @Test
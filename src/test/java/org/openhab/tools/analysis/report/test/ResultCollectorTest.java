@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.report.Finding;
+import org.openhab.tools.analysis.report.ReportModel;
+import org.openhab.tools.analysis.report.ResultCollector;
+
+/**
+ * Tests for the {@link ResultCollector}
+ *
+ * @author agent - Initial contribution
+ */
+public class ResultCollectorTest {
+
+    @Test
+    public void testCheckstyleErrorsAreCollected() throws Exception {
+        List<Finding> findings = collect(ResultCollector.CHECKSTYLE);
+
+        assertEquals(2, findings.size());
+        Finding todo = findings.get(0);
+        assertEquals("org.eclipse.smarthome.auth.jaas.internal.JaasAuthenticationProvider.java", todo.getFileName());
+        assertEquals("checkstyle", todo.getTool());
+        assertEquals("69", todo.getLine());
+        assertEquals("1", todo.getPriority());
+        assertEquals("TodoCommentCheck", todo.getRule());
+        assertEquals("style", todo.getCategory());
+        assertNull(todo.getRuleUrl());
+
+        // Files outside of a source folder keep their path
+        String path = "\\ESH-INF\\automation\\moduletypes\\EventTriggersTypeDefinition.json";
+        assertTrue(findings.get(1).getFileName().startsWith("C:\\prj\\"));
+        assertTrue(findings.get(1).getFileName().endsWith(path));
+        assertEquals("3", findings.get(1).getPriority());
+        assertEquals("NewlineAtEndOfFileCheck", findings.get(1).getRule());
+    }
+
+    @Test
+    public void testPmdViolationsAreCollected() throws Exception {
+        List<Finding> findings = collect(ResultCollector.PMD);
+
+        assertEquals(2, findings.size());
+        Finding violation = findings.get(0);
+        assertEquals("org.sprunck.bee.Bee.java", violation.getFileName());
+        assertEquals("pmd", violation.getTool());
+        assertEquals("19", violation.getLine());
+        assertEquals("3", violation.getPriority());
+        assertEquals("UselessOperationOnImmutable", violation.getRule());
+        assertEquals("http://pmd.sourceforge.net/rules/basic.html#UselessOperationOnImmutable", violation.getRuleUrl());
+        assertEquals("basic rules", violation.getCategory());
+        assertEquals("An operation on an Immutable object (String, BigDecimal or BigInteger) "
+                + "won't change the object itself", violation.getMessage().trim());
+    }
+
+    @Test
+    public void testSpotBugsBugsAreCollected() throws Exception {
+        List<Finding> findings = collect(ResultCollector.FINDBUGS);
+
+        assertEquals(4, findings.size());
+        Finding bug = findings.get(2);
+        assertEquals("org.sprunck.bee.Bee.java", bug.getFileName());
+        assertEquals("findbugs", bug.getTool());
+        assertEquals("19", bug.getLine());
+        assertEquals("1", bug.getPriority());
+        assertEquals("Method ignores return value (RV)", bug.getRule());
+        assertEquals("correctness", bug.getCategory());
+        assertEquals("RV_RETURN_VALUE_IGNORED", bug.getRuleId());
+    }
+
+    @Test
+    public void testPrioritiesAreCounted() throws Exception {
+        ReportModel model = new ReportModel();
+        for (ResultCollector collector : ResultCollector.values()) {
+            collector.collect(getResultFile(collector), model);
+        }
+
+        assertEquals(8, model.size());
+        assertEquals(2, model.countPriority("1"));
+        assertEquals(3, model.countPriority("2"));
+        assertEquals(3, model.countPriority("3"));
+    }
+
+    @Test
+    public void testPrioritiesAreConverted() {
+        assertEquals(ResultCollector.HIGH_PRIORITY, ResultCollector.CHECKSTYLE.getPriority("error"));
+        assertEquals("2", ResultCollector.CHECKSTYLE.getPriority("warning"));
+        assertEquals("3", ResultCollector.CHECKSTYLE.getPriority("info"));
+        assertEquals("3", ResultCollector.CHECKSTYLE.getPriority(""));
+        assertEquals(ResultCollector.HIGH_PRIORITY, ResultCollector.PMD.getPriority("1"));
+        assertEquals("2", ResultCollector.FINDBUGS.getPriority("2"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingResultFile() throws IOException {
+        ResultCollector.PMD.collect(new File("missing", "pmd.xml"), new ReportModel());
+    }
+
+    private List<Finding> collect(ResultCollector collector) throws Exception {
+        ReportModel model = new ReportModel();
+        collector.collect(getResultFile(collector), model);
+        return model.getFindings();
+    }
+
+    private File getResultFile(ResultCollector collector) throws URISyntaxException {
+        return new File(getClass().getClassLoader().getResource("report/" + collector.getResultFileName()).toURI());
+    }
+}
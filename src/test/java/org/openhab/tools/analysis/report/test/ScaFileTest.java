@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.report.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.report.Finding;
+import org.openhab.tools.analysis.report.ReportModel;
+import org.openhab.tools.analysis.report.ScaFile;
+
+/**
+ * Tests for the {@link ScaFile}
+ *
+ * @author agent - Initial contribution
+ */
+public class ScaFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFindingsAreWrittenAndRead() throws IOException {
+        ReportModel model = new ReportModel();
+        Finding pmd = new Finding("org.foo.Foo.java", "pmd", "12", "\n\u00c4nderung n\u00f6tig\n", "3", "Rule",
+                "http://rules/Rule", "basic rules", null);
+        Finding findbugs = new Finding("org.foo.Foo.java", "findbugs", "", "Long message", "1", "Short (S)", null,
+                "correctness", "BUG_TYPE");
+        model.add(pmd);
+        model.add(findbugs);
+
+        File file = new File(folder.getRoot(), "report" + ScaFile.EXTENSION);
+        ScaFile.write(model, file);
+        ScaFile scaFile = ScaFile.open(file);
+
+        assertEquals(2, scaFile.size());
+        assertEquals(pmd, scaFile.get(0));
+        assertEquals(findbugs, scaFile.get(1));
+        assertEquals(1, scaFile.countPriority("1"));
+        assertEquals(0, scaFile.countPriority("2"));
+        assertEquals(1, scaFile.countPriority("3"));
+        assertEquals(model.getFindings(), scaFile.toModel().getFindings());
+    }
+
+    @Test
+    public void testExistingFileIsReplaced() throws IOException {
+        File file = new File(folder.getRoot(), "report" + ScaFile.EXTENSION);
+        ReportModel model = new ReportModel();
+        model.add(new Finding("A.java", "pmd", "1", "first", "3", "Rule", null, "style", null));
+        ScaFile.write(model, file);
+
+        model.add(new Finding("B.java", "pmd", "2", "second", "3", "Rule", null, "style", null));
+        ScaFile.write(model, file);
+
+        assertEquals(2, ScaFile.open(file).size());
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testOpenedFileIsRewritten() throws IOException {
+        File file = new File(folder.getRoot(), "report" + ScaFile.EXTENSION);
+        Finding first = new Finding("A.java", "pmd", "1", "first", "3", "Rule", null, "style", null);
+        Finding second = new Finding("B.java", "pmd", "2", "second", "1", "Rule", null, "style", null);
+        ScaFile.write(model(first), file);
+
+        // The same sequence as the report goal - the opened file is still reachable when it is replaced
+        ScaFile previous = ScaFile.open(file);
+        ReportModel current = previous.toModel();
+        current.add(second);
+        ScaFile.write(current, file);
+
+        assertEquals(1, previous.size());
+        assertEquals(first, previous.get(0));
+        ScaFile rewritten = ScaFile.open(file);
+        assertEquals(2, rewritten.size());
+        assertEquals(second, rewritten.get(1));
+        assertEquals(1, rewritten.countPriority("1"));
+    }
+
+    @Test
+    public void testAppendedBlockReplacesTheBlockWithTheSameKey() throws IOException {
+        Finding first = new Finding("A.java", "pmd", "1", "first", "3", "Rule", null, "style", null);
+        Finding second = new Finding("B.java", "checkstyle", "2", "second", "1", "Check", null, "style", null);
+        Finding fixed = new Finding("A.java", "pmd", "3", "fixed", "2", "Rule", null, "style", null);
+        File file = new File(folder.getRoot(), "summary" + ScaFile.EXTENSION);
+
+        ScaFile.append(model(first, fixed), "moduleA", file);
+        ScaFile.append(model(second), "moduleB", file);
+        ScaFile.append(new ReportModel(), "moduleC", file);
+        assertEquals(3, ScaFile.open(file).size());
+
+        // The next build of module A
+        ScaFile.append(model(first), "moduleA", file);
+        ScaFile summary = ScaFile.open(file);
+        assertEquals(2, summary.size());
+        assertEquals(second, summary.get(0));
+        assertEquals(first, summary.get(1));
+        assertEquals(1, summary.countPriority("1"));
+        assertEquals(0, summary.countPriority("2"));
+
+        long length = file.length();
+        ScaFile.compact(file);
+        assertTrue(file.length() < length);
+        assertEquals(summary.toModel().getFindings(), ScaFile.open(file).toModel().getFindings());
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testAppendReplacesDamagedFile() throws IOException {
+        Finding finding = new Finding("A.java", "pmd", "1", "first", "3", "Rule", null, "style", null);
+        File file = folder.newFile("summary" + ScaFile.EXTENSION);
+        Files.write(file.toPath(), "<sca></sca>".getBytes(StandardCharsets.UTF_8));
+
+        ScaFile.append(model(finding), "moduleA", file);
+
+        ScaFile summary = ScaFile.open(file);
+        assertEquals(1, summary.size());
+        assertEquals(finding, summary.get(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedVersion() throws IOException {
+        File file = new File(folder.getRoot(), "report" + ScaFile.EXTENSION);
+        ScaFile.write(new ReportModel(), file);
+        try (RandomAccessFile content = new RandomAccessFile(file, "rw")) {
+            content.seek(Integer.BYTES);
+            content.writeInt(ScaFile.VERSION + 1);
+        }
+
+        ScaFile.open(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testDamagedFile() throws IOException {
+        File file = folder.newFile("report" + ScaFile.EXTENSION);
+        Files.write(file.toPath(), "<sca></sca>".getBytes(StandardCharsets.UTF_8));
+
+        ScaFile.open(file);
+    }
+
+    private static ReportModel model(Finding... findings) {
+        ReportModel model = new ReportModel();
+        for (Finding finding : findings) {
+            model.add(finding);
+        }
+        return model;
+    }
+}
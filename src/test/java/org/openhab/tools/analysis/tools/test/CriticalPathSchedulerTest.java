@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.tools.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.tools.CriticalPathScheduler;
+
+/**
+ * Tests for the {@link CriticalPathScheduler}
+ *
+ * @author agent - Initial contribution
+ */
+public class CriticalPathSchedulerTest {
+
+    @Test
+    public void testIndependentModulesAreOrderedByDuration() {
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("small", 10L);
+        durations.put("large", 100L);
+        durations.put("medium", 50L);
+
+        List<String> scheduled = CriticalPathScheduler.schedule(Arrays.asList("small", "unknown", "large", "medium"),
+                module -> Collections.<String> emptyList(), module -> durations.getOrDefault(module, 0L), null);
+
+        assertEquals(Arrays.asList("large", "medium", "small", "unknown"), scheduled);
+    }
+
+    @Test
+    public void testDependenciesAreScheduledFirst() {
+        Map<String, List<String>> upstream = new HashMap<>();
+        upstream.put("core", Collections.emptyList());
+        upstream.put("large", Collections.emptyList());
+        upstream.put("binding", Arrays.asList("core"));
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("core", 10L);
+        durations.put("large", 100L);
+        durations.put("binding", 200L);
+        Map<String, Long> criticalPaths = new HashMap<>();
+
+        List<String> scheduled = CriticalPathScheduler.schedule(Arrays.asList("core", "large", "binding"),
+                upstream::get, durations::get, criticalPaths);
+
+        // The core module is short, but the long binding module waits for it
+        assertEquals(Arrays.asList("core", "binding", "large"), scheduled);
+        assertEquals(210L, (long) criticalPaths.get("core"));
+        assertEquals(100L, (long) criticalPaths.get("large"));
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.tools.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import org.junit.Test;
+import org.openhab.tools.analysis.tools.internal.ResultFormat;
+
+/**
+ * Tests for the {@link ResultFormat}
+ *
+ * @author agent - Initial contribution
+ */
+public class ResultFormatTest {
+
+    @Test
+    public void testCheckstyleErrorsAreCounted() throws Exception {
+        assertEquals(1, ResultFormat.CHECKSTYLE.countHighPriorityFindings(getResultFile("checkstyle-result.xml")));
+    }
+
+    @Test
+    public void testPmdWithoutHighPriorityViolations() throws Exception {
+        assertEquals(0, ResultFormat.PMD.countHighPriorityFindings(getResultFile("pmd.xml")));
+    }
+
+    @Test
+    public void testSpotBugsHighPriorityBugsAreCounted() throws Exception {
+        assertEquals(1, ResultFormat.SPOTBUGS.countHighPriorityFindings(getResultFile("findbugsXml.xml")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingResultFile() throws IOException {
+        ResultFormat.PMD.countHighPriorityFindings(new File("missing", "pmd.xml"));
+    }
+
+    private File getResultFile(String name) throws URISyntaxException {
+        return new File(getClass().getClassLoader().getResource("report/" + name).toURI());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.tools.analysis.utils.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.tools.analysis.utils.XmlParsers;
+import org.w3c.dom.Document;
+
+/**
+ * Tests for {@link XmlParsers}
+ *
+ * @author agent - Initial contribution
+ */
+public class XmlParsersTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testParsersAreReusedPerThread() throws Exception {
+        DocumentBuilder builder = XmlParsers.getDocumentBuilder();
+        assertSame(builder, XmlParsers.getDocumentBuilder());
+        assertSame(XmlParsers.getXPath(), XmlParsers.getXPath());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertNotSame(builder, executor.submit(() -> XmlParsers.getDocumentBuilder()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExternalEntitiesAreNotLoaded() throws Exception {
+        File secret = folder.newFile("secret.txt");
+        FileUtils.writeStringToFile(secret, "secret", StandardCharsets.UTF_8);
+        File xml = createFile("external.xml", "<?xml version=\"1.0\"?>\n"
+                + "<!DOCTYPE project [<!ENTITY secret SYSTEM \"" + secret.toURI() + "\">]>\n"
+                + "<project>&secret;</project>\n");
+
+        Document document = XmlParsers.getDocumentBuilder().parse(xml);
+
+        assertEquals("", document.getDocumentElement().getTextContent());
+    }
+
+    @Test
+    public void testXPath() throws Exception {
+        File xml = createFile("pom.xml", "<project><artifactId>example</artifactId></project>");
+
+        Document document = XmlParsers.getDocumentBuilder().parse(xml);
+
+        assertEquals("example", XmlParsers.getXPath().evaluate("/project/artifactId/text()", document));
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
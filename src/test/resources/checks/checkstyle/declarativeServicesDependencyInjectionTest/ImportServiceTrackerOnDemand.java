@@ -0,0 +1,10 @@
+import org.osgi.util.tracker.*;
+
+public class ImportServiceTrackerOnDemand implements Runnable, ServiceTrackerCustomizer<Object, Object> {
+
+  ServiceTracker<Object, Object>[] serviceTrackers;
+
+  @Override
+  public void run() {
+  }
+}
@@ -0,0 +1,9 @@
+import com.example.tracker.ServiceTracker;
+import com.example.tracker.ServiceTrackerCustomizer;
+import org.osgi.util.tracker.*;
+
+public class UseOtherServiceTracker implements ServiceTrackerCustomizer {
+
+  ServiceTracker serviceTracker;
+  com.example.tracker.ServiceTracker serviceTrackerFullName;
+}